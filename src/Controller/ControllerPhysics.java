@@ -1,13 +1,51 @@
 package Controller;
 
+import interfaces.own.WindInterface;
+import titan.math.Polynomial;
+import titan.wind.WindNoise;
+import titan.wind.WindTable;
+
 public class ControllerPhysics {
+    // Wind speed (m/s) as a function of the altitude (km), fitted on the Huygens wind data
+    private static final Polynomial WIND_PROFILE = new Polynomial(0.0773, -8.69, 8.69, -2.91, 0.482, -0.0443, 2.42E-03,
+            -8.1E-05, 1.62E-06, -1.8E-08, 8.46E-11);
+    // WIND_PROFILE sampled every 50 m from the surface up to 200 km (altitude in m), shared by all instances
+    private static final WindTable WIND_TABLE = WindTable.fromFunction(alt -> WIND_PROFILE.evaluate(alt / 1000),
+            0, 200000, 4001, WindTable.Interpolation.CUBIC);
+
     private double TitanRadius = 2574730;                   // radius of Titan (m)
     private double G = 6.67408 * Math.pow(10, -11);         // Gravitational Constant
     private double titanMass = 1.3452 * Math.pow(10, 23);   // Mass of Titan (kg)
     private double windAngle = 1;
     private double RCS_radius = 3.31/2;                     // Distance from the center of mass to the RCS thrusters (m)
+    private final WindNoise noise;                          // Random source of this simulation
+    private final WindInterface wind;                       // Wind speed (m/s) as a function of the altitude (m)
 
     public ControllerPhysics(){
+        this(new WindNoise());
+    }
+
+    /**
+     * @param seed      Seed of the random source of this simulation, the same seed gives the same wind
+     */
+    public ControllerPhysics(long seed){
+        this(new WindNoise(seed));
+    }
+
+    /**
+     * @param noise     Random source of this simulation, seed it to make the landing reproducible
+     */
+    public ControllerPhysics(WindNoise noise){
+        this(noise, WIND_TABLE);
+    }
+
+    /**
+     * @param noise     Random source of this simulation, seed it to make the landing reproducible
+     * @param wind      Wind speed (m/s) as a function of the altitude (m)
+     */
+    public ControllerPhysics(WindNoise noise, WindInterface wind){
+        this.noise = noise;
+        this.wind = wind;
         windAngle = getRandomDoubleBetweenRange(0, 2*Math.PI);
     }
 
@@ -33,7 +71,7 @@ public class ControllerPhysics {
      * @return              Force of wind acting on the lander (N)
      */
     public double windForce(double alt){
-        double windSpeed = windSpeed(alt);
+        double windSpeed = wind.windSpeed(alt);
 
         return 0.5 * airDensity(alt) * (3.31*4.22) * windSpeed * windSpeed;
     }
@@ -50,13 +88,12 @@ public class ControllerPhysics {
     }
 
     /**
+     * Evaluates the fitted wind profile exactly (Horner's method); windForce uses the precomputed table instead
      * @param alt           Current altitude of the lander (m)
      * @return              Wind speed at this altitude (m/s)
      */
     public double windSpeed(double alt) {
-        alt /= 1000;
-        return (0.0773 + -8.69*alt + 8.69*pow(alt,2) + -2.91*pow(alt,3) + 0.482*pow(alt,4) + -0.0443*pow(alt,5) + 2.42E-03*pow(alt,6)
-                + -8.1E-05*pow(alt,7) + 1.62E-06*pow(alt,8) + -1.8E-08*pow(alt, 9) + 8.46E-11*pow(alt,10));
+        return WIND_PROFILE.evaluate(alt / 1000);
     }
 
     public double pow(double x,double y){
@@ -64,11 +101,11 @@ public class ControllerPhysics {
     }
 
     public double getRandomDoubleBetweenRange(double min, double max) {
-        return (Math.random() * ((max - min) + 1)) + min;
+        return noise.between(min, max);
     }
 
     public int getRandomIntBetweenRange(int min, int max){
-        return (int) (Math.random()*((max-min)+1))+min;
+        return noise.intBetween(min, max);
     }
 
     /**
@@ -0,0 +1,35 @@
+package Controller;
+
+import interfaces.given.RateInterface;
+
+/**
+ * Rate of change of a ControllerState: the velocity, angular velocity, acceleration, angular acceleration and mass flow
+ * of the lander. Every quantity has its own primitive field.
+ */
+public class ControllerRate implements RateInterface {
+    private final double dx, dy, dtheta;                    // Velocity (m/s) and angular velocity (rad/s)
+    private final double dvx, dvy, domega;                  // Acceleration (m/s^2) and angular acceleration (rad/s^2)
+    private final double dmass;                             // Mass flow, negative while burning (kg/s)
+
+    public ControllerRate(double dx, double dy, double dtheta, double dvx, double dvy, double domega, double dmass) {
+        this.dx = dx;
+        this.dy = dy;
+        this.dtheta = dtheta;
+        this.dvx = dvx;
+        this.dvy = dvy;
+        this.domega = domega;
+        this.dmass = dmass;
+    }
+
+    public double getDx() { return dx; }
+    public double getDy() { return dy; }
+    public double getDtheta() { return dtheta; }
+    public double getDvx() { return dvx; }
+    public double getDvy() { return dvy; }
+    public double getDomega() { return domega; }
+    public double getDmass() { return dmass; }
+
+    public String toString() {
+        return "(dx=" + dx + ", dy=" + dy + ", dtheta=" + dtheta + ", dvx=" + dvx + ", dvy=" + dvy + ", domega=" + domega + ", dmass=" + dmass + ")";
+    }
+}
@@ -2,53 +2,61 @@ package Controller;
 
 import interfaces.given.RateInterface;
 import interfaces.given.StateInterface;
+import interfaces.own.AdaptiveStateInterface;
+import titan.math.Vector3d;
 
-public class ControllerState implements StateInterface {
-    private Vector3d position;
-    private Vector3d velocity;
-    private double mass;
-    private double radius = 2574730;
-    private boolean thrustX = false;
-    private boolean thrustY = false;
+/**
+ * Planar 3 degrees of freedom state of the lander: position (x, y), orientation theta and their rates,
+ * plus the mass. Every quantity has its own primitive field.
+ * Together with ControllerRate and LanderFunction it can be integrated by the solvers.
+ */
+public class ControllerState implements AdaptiveStateInterface {
+    private double radius = 2574730;                        // Radius of Titan (m)
+    private double x, y, theta;                             // Position (m) and orientation (rad)
+    private double vx, vy, omega;                           // Velocity (m/s) and angular velocity (rad/s)
+    private double mass;                                    // Mass of the lander (kg)
 
+    /**
+     * @param pos       x, y and theta
+     * @param vel       vx, vy and omega
+     */
     public ControllerState(double[] pos, double[] vel) {
-        this.position = new Vector3d(pos);
-        this.velocity = new Vector3d(vel);
+        this(pos[0], pos[1], pos[2], vel[0], vel[1], vel[2]);
     }
 
-    public ControllerState(double pX, double pY, double pZ, double vX, double vY, double vZ) {
-        this.position = new Vector3d(pX, pY, pZ);
-        this.velocity = new Vector3d(vX, vY, vZ);
+    public ControllerState(double x, double y, double theta, double vx, double vy, double omega) {
+        this(x, y, theta, vx, vy, omega, 0);
     }
 
-    public ControllerState(double pX, double pY, double pZ, double vX, double vY, double vZ, double mass) {
-        this.position = new Vector3d(pX, pY, pZ);
-        this.velocity = new Vector3d(vX, vY, vZ);
+    public ControllerState(double x, double y, double theta, double vx, double vy, double omega, double mass) {
+        this.x = x;
+        this.y = y;
+        this.theta = theta;
+        this.vx = vx;
+        this.vy = vy;
+        this.omega = omega;
         this.mass = mass;
     }
 
-    public void setThrustX(boolean thrust){
-        this.thrustX = thrust;
-    }
-
-    public void setThrustY(boolean thrust){
-        this.thrustY = thrust;
-    }
-
-    public boolean isThrustX(){
-        return thrustX;
-    }
-
-    public boolean isThrustY(){
-        return thrustY;
-    }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getTheta() { return theta; }
+    public double getVx() { return vx; }
+    public double getVy() { return vy; }
+    public double getOmega() { return omega; }
 
+    /**
+     * @return          Position of the lander in the plane of the landing (z = 0) (m)
+     */
     public Vector3d getPosition() {
-        return this.position;
+        return new Vector3d(x, y, 0);
     }
 
+    /**
+     * @return          Velocity of the lander in the plane of the landing (z = 0) (m/s)
+     */
     public Vector3d getVelocity() {
-        return this.velocity;
+        return new Vector3d(vx, vy, 0);
     }
 
     public double getMass(){
@@ -56,14 +64,46 @@ public class ControllerState implements StateInterface {
     }
 
     public double getAltitude() {
-        return Math.sqrt(position.getX()*position.getX() + position.getY()*position.getY()) - radius;
+        return Math.sqrt(x*x + y*y) - radius;
     }
 
     public double getR(){
-        return Math.sqrt(position.getX()*position.getX() + position.getY()*position.getY());
+        return Math.sqrt(x*x + y*y);
     }
 
+    /**
+     * @param step      Time step of the update (s)
+     * @param rate      ControllerRate of the lander over the time step
+     * @return          New state this + step * rate
+     */
     public StateInterface addMul(double step, RateInterface rate) {
-        return null;
+        ControllerRate r = (ControllerRate) rate;
+        return new ControllerState(x + step * r.getDx(), y + step * r.getDy(), theta + step * r.getDtheta(),
+                vx + step * r.getDvx(), vy + step * r.getDvy(), omega + step * r.getDomega(), mass + step * r.getDmass());
+    }
+
+    /**
+     * @param other                 ControllerState to compare with
+     * @param absoluteTolerance     Absolute tolerance of every component
+     * @param relativeTolerance     Relative tolerance of every component
+     * @return                      Largest difference of the components, each scaled by its tolerance
+     */
+    public double errorNorm(StateInterface other, double absoluteTolerance, double relativeTolerance) {
+        ControllerState o = (ControllerState) other;
+        double error = scaled(x, o.x, absoluteTolerance, relativeTolerance);
+        error = Math.max(error, scaled(y, o.y, absoluteTolerance, relativeTolerance));
+        error = Math.max(error, scaled(theta, o.theta, absoluteTolerance, relativeTolerance));
+        error = Math.max(error, scaled(vx, o.vx, absoluteTolerance, relativeTolerance));
+        error = Math.max(error, scaled(vy, o.vy, absoluteTolerance, relativeTolerance));
+        error = Math.max(error, scaled(omega, o.omega, absoluteTolerance, relativeTolerance));
+        return Math.max(error, scaled(mass, o.mass, absoluteTolerance, relativeTolerance));
+    }
+
+    private static double scaled(double a, double b, double absoluteTolerance, double relativeTolerance) {
+        return Math.abs(a - b) / (absoluteTolerance + relativeTolerance * Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    public String toString() {
+        return "(x=" + x + ", y=" + y + ", theta=" + theta + ", vx=" + vx + ", vy=" + vy + ", omega=" + omega + ", mass=" + mass + ")";
     }
 }
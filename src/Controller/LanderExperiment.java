@@ -0,0 +1,82 @@
+package Controller;
+
+import interfaces.given.StateInterface;
+import titan.solvers.DormandPrince;
+import titan.solvers.Kutta;
+import titan.solvers.Trajectory;
+
+import java.util.Locale;
+
+/**
+ * Compares the cost and accuracy of integrating a descent of the lander (LanderFunction) with fixed 1 s Kutta steps,
+ * the step ClosedLoop used to integrate with by hand, against DormandPrince with touchdown as an event, which ClosedLoop uses now.
+ * The reference is DormandPrince with very tight tolerances.
+ */
+public class LanderExperiment {
+    private static final double TITAN_RADIUS = 2574730;     // radius of Titan (m)
+    private static final long SEED = 42;
+    private static final double FINAL_TIME = 1e6;           // time without touchdown after which a descent is given up (s)
+
+    public static void main(String[] args) {
+        double thrust = args.length > 0 ? Double.parseDouble(args[0]) : 0;
+        ControllerState start = new ControllerState(0, TITAN_RADIUS + 50000, 0, 5, -10, 0, 6000 + 8845);
+        System.out.printf(Locale.ROOT, "Descent from 50 km with %.0f N of thrust%n", thrust);
+        System.out.printf(Locale.ROOT, "%-28s %8s %8s %12s %14s %12s %12s%n", "Solver", "Steps", "Rejected", "Evaluations",
+                "Touchdown (s)", "Speed (m/s)", "Error (m/s)");
+
+        DormandPrince reference = new DormandPrince(1e-10, 1e-13);
+        LanderFunction referenceFunction = function(thrust);
+        Trajectory exact;
+        try {
+            exact = reference.integrate(referenceFunction, start, 0, FINAL_TIME, 0, LanderFunction.TOUCHDOWN);
+        } catch (ArithmeticException e) {
+            System.out.println("The descent can not be integrated: " + e.getMessage());
+            return;
+        }
+        double exactSpeed = speed(exact.getLast());
+        print("Dormand-Prince 1e-10/1e-13", exact.size() - 1, reference.getRejected(), referenceFunction.getEvaluations(),
+                exact.getLastTime(), exactSpeed, 0);
+        if (!exact.hasEvent()) {
+            System.out.printf(Locale.ROOT, "No touchdown within %.0f s, the thrust holds the lander up%n", FINAL_TIME);
+            return;
+        }
+
+        for (double h : new double[]{1, 0.1}) {
+            LanderFunction f = function(thrust);
+            Kutta kutta = new Kutta();
+            StateInterface y = start;
+            double t = 0;
+            long steps = 0;
+            while (((ControllerState) y).getAltitude() > 0 && t < FINAL_TIME) {
+                y = kutta.step(f, t, y, h);
+                t += h;
+                steps++;
+            }
+            print("Kutta h = " + h + " s", steps, 0, f.getEvaluations(), t, speed(y), speed(y) - exactSpeed);
+        }
+
+        for (double tolerance : new double[]{1e-3, 1e-6, 1e-9}) {
+            LanderFunction f = function(thrust);
+            DormandPrince solver = new DormandPrince(tolerance, tolerance * 1e-3);
+            Trajectory trajectory = solver.integrate(f, start, 0, FINAL_TIME, 0, LanderFunction.TOUCHDOWN);
+            double speed = speed(trajectory.getLast());
+            print(String.format(Locale.ROOT, "Dormand-Prince %.0e/%.0e", tolerance, tolerance * 1e-3), trajectory.size() - 1, solver.getRejected(),
+                    f.getEvaluations(), trajectory.getLastTime(), speed, speed - exactSpeed);
+        }
+    }
+
+    private static LanderFunction function(double thrust) {
+        LanderFunction f = new LanderFunction(new ControllerPhysics(SEED));
+        f.setThrust(thrust);
+        return f;
+    }
+
+    private static double speed(StateInterface y) {
+        ControllerState s = (ControllerState) y;
+        return Math.sqrt(s.getVx() * s.getVx() + s.getVy() * s.getVy());
+    }
+
+    private static void print(String name, long steps, long rejected, long evaluations, double time, double speed, double error) {
+        System.out.printf(Locale.ROOT, "%-28s %8d %8d %12d %14.6f %12.6f %12.3e%n", name, steps, rejected, evaluations, time, speed, error);
+    }
+}
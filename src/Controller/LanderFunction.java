@@ -0,0 +1,151 @@
+package Controller;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+import interfaces.own.EventInterface;
+
+import java.util.Arrays;
+
+/**
+ * Equations of motion of the lander as a differential equation dy/dt = f(t, y) on ControllerStates,
+ * so Kutta or DormandPrince can integrate the landing instead of assuming constant forces over a segment.
+ * Gravity, drag, wind, thrust and the mass flow are recomputed from the state at every evaluation.
+ *
+ * The controls (main thrust and RCS torque) are held constant until they are set again, so a controller
+ * integrates from one decision to the next with the controls it chose.
+ * The wind direction is drawn from ControllerPhysics once per wind interval and kept for the whole interval,
+ * in interval order, so it does not depend on how often or in which order the solver evaluates the function.
+ * An instance holds the controls and the wind of one landing, so it is not meant to be shared between threads.
+ */
+public class LanderFunction implements ODEFunctionInterface {
+    public static final double MAX_THRUST = 42923;          // Lander max thrust (N)
+    public static final double RCS_THRUST = 2000;           // Thrust of the lander's RCS thrusters (N)
+    public static final double RCS_RADIUS = 3.31/2;         // Distance from the center of mass to the RCS thrusters (m)
+    private static final double TITAN_RADIUS = 2574730;     // Radius of Titan (m)
+
+    /**
+     * Touchdown: the altitude of the lander, which reaches 0 when it hits the surface
+     */
+    public static final EventInterface TOUCHDOWN = (t, y) -> ((ControllerState) y).getAltitude();
+
+    private final ControllerPhysics phy;
+    private final double maxTorque;                         // Torque of both RCS thrusters together (Nm)
+    private double thrust;                                  // Main thrust along the axis of the lander (N)
+    private double torque;                                  // RCS torque, positive turns counterclockwise (Nm)
+    private double windInterval = 1;                        // Time the wind keeps its direction (s)
+    private double[] windAngles = new double[256];          // Wind direction of every interval drawn so far (rad)
+    private int windAngleCount;
+    private long evaluations;
+    private final double[] rate = new double[7];            // Scratch of call
+
+    /**
+     * @param phy       Physics (and random wind source) of this landing
+     */
+    public LanderFunction(ControllerPhysics phy) {
+        this.phy = phy;
+        maxTorque = phy.torque(2*RCS_THRUST, RCS_RADIUS);
+    }
+
+    /**
+     * @param thrust    Main thrust (N), clamped between 0 and MAX_THRUST
+     */
+    public void setThrust(double thrust) { this.thrust = Math.max(0, Math.min(MAX_THRUST, thrust)); }
+
+    /**
+     * @param torque    RCS torque (Nm), positive turns counterclockwise, clamped to the torque of both thrusters
+     */
+    public void setTorque(double torque) { this.torque = Math.max(-maxTorque, Math.min(maxTorque, torque)); }
+
+    /**
+     * @param windInterval  Time the wind keeps its direction (s), only to be changed before the first evaluation
+     */
+    public void setWindInterval(double windInterval) {
+        if (windInterval <= 0) throw new IllegalArgumentException("The wind interval has to be positive");
+        this.windInterval = windInterval;
+    }
+
+    public double getThrust() { return thrust; }
+    public double getTorque() { return torque; }
+    public double getMaxTorque() { return maxTorque; }
+
+    /**
+     * @return          Number of times the function has been evaluated
+     */
+    public long getEvaluations() { return evaluations; }
+
+    /**
+     * The axis of the lander points along (-sin theta, cos theta), so theta = 0 is upright above (0, radius).
+     * The state needs a positive mass.
+     *
+     * @param t         Time since the start of the landing (s)
+     * @param y         ControllerState of the lander
+     * @return          ControllerRate of the lander at that time and state
+     */
+    public RateInterface call(double t, StateInterface y) {
+        evaluations++;
+        ControllerState s = (ControllerState) y;
+        rates(s.getX(), s.getY(), s.getTheta(), s.getVx(), s.getVy(), s.getOmega(), s.getMass(), thrust, torque, windAngle(t), rate);
+        return new ControllerRate(rate[0], rate[1], rate[2], rate[3], rate[4], rate[5], rate[6]);
+    }
+
+    /**
+     * Equations of motion on primitives, shared by call and the allocation free rollouts of RolloutEngine.
+     * Only reads the physics, so it may be called from several threads at once.
+     *
+     * @param x             Position along the x axis (m)
+     * @param y             Position along the y axis (m)
+     * @param theta         Orientation of the lander (rad)
+     * @param vx            Velocity along the x axis (m/s)
+     * @param vy            Velocity along the y axis (m/s)
+     * @param omega         Angular velocity (rad/s)
+     * @param mass          Mass of the lander, positive (kg)
+     * @param thrust        Main thrust (N), not clamped
+     * @param torque        RCS torque (Nm), not clamped
+     * @param windAngle     Direction the wind blows from (rad)
+     * @param out           Receives dx, dy, dtheta, dvx, dvy, domega and dmass, at least 7 long
+     */
+    public void rates(double x, double y, double theta, double vx, double vy, double omega, double mass,
+                      double thrust, double torque, double windAngle, double[] out) {
+        double r = Math.sqrt(x*x + y*y);
+        double alt = r - TITAN_RADIUS;
+
+        // Gravity towards the centre of Titan, per kg of lander
+        double g = phy.gravity(r, 1) / r;
+        double ax = -g * x;
+        double ay = -g * y;
+
+        // Drag opposes the velocity along each axis
+        ax -= Math.signum(vx) * phy.drag(vx, alt, true) / mass;
+        ay -= Math.signum(vy) * phy.drag(vy, alt, false) / mass;
+
+        // Wind blows from its direction, so the force points the opposite way
+        double windForce = phy.windForce(alt);
+        ax -= windForce * Math.cos(windAngle) / mass;
+        ay -= windForce * Math.sin(windAngle) / mass;
+
+        ax -= thrust * Math.sin(theta) / mass;
+        ay += thrust * Math.cos(theta) / mass;
+
+        out[0] = vx;
+        out[1] = vy;
+        out[2] = omega;
+        out[3] = ax;
+        out[4] = ay;
+        out[5] = torque / phy.inertiaMoment(mass, RCS_RADIUS);
+        out[6] = -(thrust / MAX_THRUST) * phy.updateFuelMassMT(1) - (Math.abs(torque) / maxTorque) * phy.updateFuelMassRCS(1);
+    }
+
+    /**
+     * @param t         Time since the start of the landing (s)
+     * @return          Direction the wind blows from during the interval containing t (rad)
+     */
+    private double windAngle(double t) {
+        int interval = (int) Math.max(0, Math.floor(t / windInterval));
+        while (windAngleCount <= interval) {
+            if (windAngleCount == windAngles.length) windAngles = Arrays.copyOf(windAngles, 2 * windAngles.length);
+            windAngles[windAngleCount++] = phy.windAngle();
+        }
+        return windAngles[interval];
+    }
+}
@@ -0,0 +1,228 @@
+package Controller;
+
+import titan.wind.WindNoise;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lands the closed loop controller from every combination of a grid of initial altitudes, angles and velocities,
+ * each with a number of wind seeds, and reports the distributions of the landing velocity, fuel used and angle error.
+ *
+ * Every landing has its own ClosedLoop and ControllerPhysics, with its own random stream split off one root stream,
+ * so the landings run in parallel without sharing state and the whole sweep is reproducible from a single seed.
+ * The streams are split in landing order before the landings start, so the result does not depend on the number of threads.
+ */
+public class LandingSweep {
+    private static final double TITAN_RADIUS = 2574730;     // radius of Titan (m)
+
+    private final double[] altitudes, angles, velocitiesX, velocitiesY;
+    private final int seeds;
+    private final long seed;
+    private double maxTime = 24 * 3600;                     // Landings that take longer count as not landed (s)
+
+    // Initial conditions and results, indexed by landing
+    private double[] startAltitude, startAngle, startVelX, startVelY;
+    private double[] velX, velY, speed, fuelUsed, angleError, time;
+    private boolean[] landed;
+
+    public static void main(String[] args) throws Exception {
+        double[] altitudes = {5000, 10000, 20000, 35000, 50000};
+        double[] angles = {0, Math.PI / 4, Math.PI / 2, Math.PI, 3 * Math.PI / 2, 7 * Math.PI / 4};
+        double[] velocitiesX = {-20, -5, 5, 20};
+        double[] velocitiesY = {-50, -10, -1, 0};
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        LandingSweep sweep = new LandingSweep(altitudes, angles, velocitiesX, velocitiesY, seeds, 42);
+        long startTime = System.nanoTime();
+        sweep.run(Runtime.getRuntime().availableProcessors());
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%d landings in %.2f s (%.0f landings/s), %d did not land%n",
+                sweep.size(), seconds, sweep.size() / seconds, sweep.size() - sweep.landedCount());
+        System.out.println(sweep.summary());
+
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+        try(PrintWriter writer = new PrintWriter(new File("src/experiments/" + fileName + " landing sweep.csv"))){
+            sweep.write(writer);
+        }
+        catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * @param altitudes     Initial altitudes above the surface (m)
+     * @param angles        Initial orientations of the lander (rad)
+     * @param velocitiesX   Initial velocities along the x axis (m/s)
+     * @param velocitiesY   Initial velocities along the y axis (m/s)
+     * @param seeds         Number of wind seeds every initial condition is landed with
+     * @param seed          Seed of the root random stream the streams of all landings are split off
+     */
+    public LandingSweep(double[] altitudes, double[] angles, double[] velocitiesX, double[] velocitiesY, int seeds, long seed) {
+        if (seeds < 1) throw new IllegalArgumentException("Every initial condition needs at least 1 seed");
+        this.altitudes = altitudes.clone();
+        this.angles = angles.clone();
+        this.velocitiesX = velocitiesX.clone();
+        this.velocitiesY = velocitiesY.clone();
+        this.seeds = seeds;
+        this.seed = seed;
+    }
+
+    /**
+     * @param maxTime       Simulated time after which a landing is stopped and counted as not landed (s)
+     */
+    public void setMaxTime(double maxTime) { this.maxTime = maxTime; }
+
+    /**
+     * @return              Total number of landings in the sweep
+     */
+    public int size() { return altitudes.length * angles.length * velocitiesX.length * velocitiesY.length * seeds; }
+
+    /**
+     * Runs all landings
+     * @param threads       Number of landings run in parallel
+     */
+    public void run(int threads) throws InterruptedException {
+        int n = size();
+        startAltitude = new double[n];
+        startAngle = new double[n];
+        startVelX = new double[n];
+        startVelY = new double[n];
+        velX = new double[n];
+        velY = new double[n];
+        speed = new double[n];
+        fuelUsed = new double[n];
+        angleError = new double[n];
+        time = new double[n];
+        landed = new boolean[n];
+
+        WindNoise root = new WindNoise(seed);
+        WindNoise[] noise = new WindNoise[n];
+        for (int i = 0; i < n; i++) noise[i] = root.split();
+
+        // Every task lands a contiguous block of landings and writes only to its own indices
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int block = Math.max(1, n / (threads * 8));
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int start = 0; start < n; start += block) {
+                int from = start, to = Math.min(n, start + block);
+                tasks.add(pool.submit(() -> { for (int i = from; i < to; i++) land(i, noise[i]); }));
+            }
+            for (Future<?> task : tasks) task.get();
+        }
+        catch (ExecutionException e) { throw new IllegalStateException("Landing failed", e.getCause()); }
+        finally { pool.shutdownNow(); }
+    }
+
+    /**
+     * Lands landing i of the grid with the given random stream and stores its results
+     */
+    private void land(int i, WindNoise noise) {
+        int rest = i / seeds;
+        double vy = velocitiesY[rest % velocitiesY.length];
+        rest /= velocitiesY.length;
+        double vx = velocitiesX[rest % velocitiesX.length];
+        rest /= velocitiesX.length;
+        double angle = angles[rest % angles.length];
+        double altitude = altitudes[rest / angles.length];
+        startAltitude[i] = altitude;
+        startAngle[i] = angle;
+        startVelX[i] = vx;
+        startVelY[i] = vy;
+
+        ClosedLoop loop = new ClosedLoop(new ControllerPhysics(noise), null);
+        loop.setMaxTime(maxTime);
+        loop.land(0, TITAN_RADIUS + altitude, angle, vx, vy, 0);
+
+        velX[i] = loop.getVelX();
+        velY[i] = loop.getVelY();
+        speed[i] = Math.sqrt(velX[i] * velX[i] + velY[i] * velY[i]);
+        fuelUsed[i] = loop.getFuelUsed();
+        angleError[i] = angleError(loop.getAngle());
+        time[i] = loop.getTime();
+        landed[i] = loop.hasLanded();
+    }
+
+    /**
+     * @param angle         Orientation of the lander (rad)
+     * @return              Absolute difference with the upright orientation (0 rad), between 0 and pi (rad)
+     */
+    private static double angleError(double angle) {
+        double error = Math.abs(Math.IEEEremainder(angle, 2 * Math.PI));
+        return Double.isNaN(error) ? Math.PI : error;
+    }
+
+    /**
+     * @return              Number of landings that reached the surface within the maximum time
+     */
+    public int landedCount() {
+        int count = 0;
+        for (boolean b : landed) if (b) count++;
+        return count;
+    }
+
+    /**
+     * @return              Table with the distribution (min, percentiles, mean, max) of every result over the landed landings
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-22s %12s %12s %12s %12s %12s %12s%n", "", "min", "p5", "median", "mean", "p95", "max"));
+        String[] names = {"Landing speed (m/s)", "Landing vx (m/s)", "Landing vy (m/s)", "Fuel used (kg)", "Angle error (rad)", "Landing time (s)"};
+        double[][] columns = {speed, velX, velY, fuelUsed, angleError, time};
+        for (int c = 0; c < columns.length; c++) {
+            double[] d = distribution(columns[c]);
+            sb.append(String.format(Locale.ROOT, "%-22s %12.4g %12.4g %12.4g %12.4g %12.4g %12.4g%n", names[c], d[0], d[1], d[2], d[3], d[4], d[5]));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return              min, 5th percentile, median, mean, 95th percentile and max of the landed landings
+     */
+    private double[] distribution(double[] values) {
+        double[] sorted = new double[values.length];
+        int n = 0;
+        double sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (!landed[i]) continue;
+            sorted[n++] = values[i];
+            sum += values[i];
+        }
+        if (n == 0) return new double[]{Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+        Arrays.sort(sorted, 0, n);
+        return new double[]{sorted[0], sorted[(int) (0.05 * (n - 1))], sorted[(n - 1) / 2], sum / n, sorted[(int) (0.95 * (n - 1))], sorted[n - 1]};
+    }
+
+    /**
+     * Writes every landing of the last run to a CSV file
+     *
+     * Current file format/design:
+     * Altitude, Angle, Vx, Vy, Landing, Landed, Landing vx, Landing vy, Landing speed, Fuel used, Angle error, Time
+     */
+    public void write(PrintWriter writer) {
+        String columnSeparator = ",";
+        writer.println(String.join(columnSeparator, "Altitude", "Angle", "Vx", "Vy", "Landing", "Landed",
+                "Landing vx", "Landing vy", "Landing speed", "Fuel used", "Angle error", "Time"));
+        for (int i = 0; i < landed.length; i++) {
+            writer.println(startAltitude[i] + columnSeparator + startAngle[i] + columnSeparator
+                    + startVelX[i] + columnSeparator + startVelY[i] + columnSeparator + i + columnSeparator + landed[i] + columnSeparator
+                    + velX[i] + columnSeparator + velY[i] + columnSeparator + speed[i] + columnSeparator
+                    + fuelUsed[i] + columnSeparator + angleError[i] + columnSeparator + time[i]);
+        }
+    }
+
+    public double[] getLandingSpeeds() { return speed; }
+    public double[] getFuelUsed() { return fuelUsed; }
+    public double[] getAngleErrors() { return angleError; }
+    public boolean[] getLanded() { return landed; }
+}
@@ -0,0 +1,157 @@
+package Controller;
+
+import titan.solvers.DormandPrince;
+import titan.solvers.Trajectory;
+import titan.wind.WindNoise;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Model predictive landing controller: every control tick it simulates a set of candidate thrust/RCS schedules
+ * over a short horizon with the RolloutEngine and applies the first segment of the cheapest one.
+ *
+ * The candidates are the best schedule of the previous tick shifted by one segment (warm start), a few constant
+ * schedules, and random perturbations of the warm start. The lander itself (the plant) is integrated with
+ * LanderFunction and DormandPrince, including the random wind the rollouts do not know, and stops at touchdown.
+ */
+public class ModelPredictiveController {
+    private static final double TITAN_RADIUS = 2574730;     // radius of Titan (m)
+    private static final double SURFACE_GRAVITY = 1.352;    // Gravitational acceleration at the surface of Titan (m/s^2)
+
+    private final LanderFunction plant;
+    private final RolloutEngine engine;
+    private final WindNoise noise;                          // Source of the random candidates
+    private final DormandPrince solver = new DormandPrince(1e-6, 1e-9);
+    private final int candidates;
+    private final int segments;
+    private double perturbation = 0.3;                      // Largest random change of a schedule value
+    private double maxTime = 24 * 3600;                     // Landings that take longer are stopped (s)
+
+    private final double[] schedules;                       // Candidates of the current tick, back to back
+    private final double[] costs;
+    private final double[] best;                            // Cheapest schedule of the last tick
+    private final double[] start = new double[RolloutEngine.STATE_SIZE];
+
+    private ControllerState state;
+    private double time;
+    private long ticks;
+    private boolean landed;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        ControllerPhysics phy = new ControllerPhysics(42);
+        LanderFunction plant = new LanderFunction(phy);
+        RolloutEngine engine = new RolloutEngine(new LanderFunction(phy), 16, 1, 1, threads);
+        ModelPredictiveController controller = new ModelPredictiveController(plant, engine, 256, new WindNoise(7));
+
+        long startTime = System.nanoTime();
+        controller.land(new ControllerState(0, TITAN_RADIUS + 50000, 0.3, 20, -10, 0, 6000 + 8845));
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        engine.shutdown();
+
+        ControllerState s = controller.getState();
+        System.out.printf(Locale.ROOT, "Landed: %b after %.1f s in %d ticks, %d rollouts in %.2f s (%.0f rollouts/s)%n",
+                controller.hasLanded(), controller.getTime(), controller.getTicks(), engine.getRollouts(), seconds, engine.getRollouts() / seconds);
+        System.out.printf(Locale.ROOT, "Touchdown velocity (%.3f, %.3f) m/s, angle %.4f rad, fuel used %.1f kg%n",
+                s.getVx(), s.getVy(), s.getTheta(), 6000 + 8845 - s.getMass());
+    }
+
+    /**
+     * @param plant         Equations of motion of the lander being landed, its controls are set by this controller
+     * @param engine        Rollout engine scoring the candidates
+     * @param candidates    Number of candidate schedules per tick, at least 4
+     * @param noise         Random source of the perturbed candidates, seed it to make the landing reproducible
+     */
+    public ModelPredictiveController(LanderFunction plant, RolloutEngine engine, int candidates, WindNoise noise) {
+        if (candidates < 4) throw new IllegalArgumentException("The controller needs at least 4 candidates");
+        this.plant = plant;
+        this.engine = engine;
+        this.candidates = candidates;
+        this.noise = noise;
+        segments = engine.getSegments();
+        schedules = new double[candidates * 2 * segments];
+        costs = new double[candidates];
+        best = new double[2 * segments];
+    }
+
+    /**
+     * @param perturbation  Largest random change of a throttle or torque value of the warm start
+     */
+    public void setPerturbation(double perturbation) { this.perturbation = perturbation; }
+
+    /**
+     * @param maxTime       Simulated time after which a landing is stopped and counted as not landed (s)
+     */
+    public void setMaxTime(double maxTime) { this.maxTime = maxTime; }
+
+    /**
+     * Lands the lander from the given state, one control tick (segment) at a time
+     *
+     * @param initial       Initial state of the lander, with a positive mass
+     */
+    public void land(ControllerState initial) throws InterruptedException {
+        state = initial;
+        time = 0;
+        ticks = 0;
+        landed = initial.getAltitude() <= 0;
+        Arrays.fill(best, 0);
+        double tick = engine.getSegmentTime();
+
+        while (!landed && time < maxTime) {
+            control();
+            Trajectory trajectory = solver.integrate(plant, state, time, time + tick, tick, LanderFunction.TOUCHDOWN);
+            state = (ControllerState) trajectory.getLast();
+            time = trajectory.getLastTime();
+            landed = trajectory.hasEvent();
+            ticks++;
+        }
+    }
+
+    /**
+     * Chooses the controls for the next tick and sets them on the plant
+     */
+    public void control() throws InterruptedException {
+        start[0] = state.getX();
+        start[1] = state.getY();
+        start[2] = state.getTheta();
+        start[3] = state.getVx();
+        start[4] = state.getVy();
+        start[5] = state.getOmega();
+        start[6] = state.getMass();
+
+        int n = 2 * segments;
+        // Warm start: last tick's best shifted by one segment, the last segment repeated
+        System.arraycopy(best, 2, schedules, 0, n - 2);
+        schedules[n - 2] = best[n - 2];
+        schedules[n - 1] = best[n - 1];
+        // Constant schedules: engines off, hover, full thrust
+        double hover = start[6] * SURFACE_GRAVITY / LanderFunction.MAX_THRUST;
+        double[] throttles = {0, hover, 1};
+        for (int c = 1; c <= throttles.length; c++) {
+            for (int s = 0; s < segments; s++) {
+                schedules[c * n + 2 * s] = throttles[c - 1];
+                schedules[c * n + 2 * s + 1] = 0;
+            }
+        }
+        for (int c = throttles.length + 1; c < candidates; c++) {
+            for (int i = 0; i < n; i++) {
+                double value = schedules[i] + perturbation * (2 * noise.nextDouble() - 1);
+                schedules[c * n + i] = i % 2 == 0 ? Math.max(0, Math.min(1, value)) : Math.max(-1, Math.min(1, value));
+            }
+        }
+
+        engine.evaluate(start, schedules, candidates, costs);
+        int cheapest = 0;
+        for (int c = 1; c < candidates; c++) if (costs[c] < costs[cheapest]) cheapest = c;
+        System.arraycopy(schedules, cheapest * n, best, 0, n);
+
+        plant.setThrust(best[0] * LanderFunction.MAX_THRUST);
+        plant.setTorque(best[1] * plant.getMaxTorque());
+    }
+
+    public ControllerState getState() { return state; }
+    public double getTime() { return time; }
+    public long getTicks() { return ticks; }
+    public boolean hasLanded() { return landed; }
+}
@@ -0,0 +1,50 @@
+package Controller;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * Measures the rollouts per second of the RolloutEngine for 1 thread up to the number of processors,
+ * after a warmup, and the bytes allocated per rollout on the calling thread.
+ */
+public class RolloutBenchmark {
+    private static final double TITAN_RADIUS = 2574730;     // radius of Titan (m)
+
+    public static void main(String[] args) throws InterruptedException {
+        int candidates = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        LanderFunction model = new LanderFunction(new ControllerPhysics(42));
+        double[] start = {0, TITAN_RADIUS + 10000, 0.1, 5, -50, 0, 14845};
+        double[] schedules = new double[candidates * 2 * 16];
+        for (int i = 0; i < schedules.length; i++) schedules[i] = i % 2 == 0 ? (i % 7) / 6.0 : (i % 5) / 2.0 - 1;
+        double[] costs = new double[candidates];
+
+        System.out.printf(Locale.ROOT, "%d candidates of 16 segments, 1 RK4 step each%n", candidates);
+        System.out.printf(Locale.ROOT, "%-8s %16s %14s%n", "Threads", "Rollouts/s", "Batch (ms)");
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(processors, threads * 2)) {
+            RolloutEngine engine = new RolloutEngine(model, 16, 1, 1, threads);
+            for (int i = 0; i < rounds; i++) engine.evaluate(start, schedules, candidates, costs);
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < rounds; i++) engine.evaluate(start, schedules, candidates, costs);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            engine.shutdown();
+            System.out.printf(Locale.ROOT, "%-8d %16.0f %14.3f%n", threads, rounds * candidates / seconds, 1000 * seconds / rounds);
+            if (threads == processors) break;
+        }
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+            RolloutEngine engine = new RolloutEngine(model, 16, 1, 1, 1);
+            for (int i = 0; i < candidates; i++) engine.rollout(start, schedules, i);
+            long id = Thread.currentThread().getId();
+            long before = threadBean.getThreadAllocatedBytes(id);
+            for (int r = 0; r < rounds; r++) for (int i = 0; i < candidates; i++) engine.rollout(start, schedules, i);
+            long allocated = threadBean.getThreadAllocatedBytes(id) - before;
+            System.out.printf(Locale.ROOT, "Allocated per rollout: %.2f bytes%n", allocated / (double) (rounds * candidates));
+        }
+    }
+}
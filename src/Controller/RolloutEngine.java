@@ -0,0 +1,213 @@
+package Controller;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Simulates candidate control schedules of the lander forward over a short horizon and scores them,
+ * for the ModelPredictiveController.
+ *
+ * A schedule holds a (throttle, torque) pair per segment of the horizon: throttle from 0 to 1 of MAX_THRUST,
+ * torque from -1 to 1 of the torque of both RCS thrusters. The schedules of a batch are stored back to back
+ * in one array. Every rollout integrates LanderFunction.rates with fixed RK4 steps on preallocated primitive
+ * scratch arrays of its worker, so a rollout does not allocate.
+ * With more than 1 thread the batch is split in one contiguous block per worker; the costs do not depend on the number of threads.
+ *
+ * Cost of a rollout, integrated over the horizon: squared deviation of the vertical speed from a braking profile
+ * that slows down towards the surface, squared horizontal speed, squared tilt from upright, squared angular velocity,
+ * and fuel used. Reaching the surface ends the rollout with a cost on the squared touchdown speed.
+ */
+public class RolloutEngine {
+    public static final int STATE_SIZE = 7;                 // x, y, theta, vx, vy, omega, mass
+    private static final double TITAN_RADIUS = 2574730;     // Radius of Titan (m)
+
+    // Braking profile: descend at 1 m/s at the surface, at most at MAX_DESCENT, braking with BRAKING
+    private static final double BRAKING = 0.8;              // Planned deceleration (m/s^2)
+    private static final double MAX_DESCENT = 100;          // Fastest planned descent (m/s)
+
+    // Weights of the cost
+    private static final double VERTICAL_WEIGHT = 1;
+    private static final double HORIZONTAL_WEIGHT = 1;
+    private static final double TILT_WEIGHT = 100;
+    private static final double SPIN_WEIGHT = 1000;
+    private static final double FUEL_WEIGHT = 0.1;
+    private static final double TOUCHDOWN_WEIGHT = 100;
+
+    private final LanderFunction model;
+    private final int segments;
+    private final double segmentTime;
+    private final int stepsPerSegment;
+    private final Worker[] workers;
+    private final ExecutorService pool;
+    private final Future<?>[] tasks;
+    private double windAngle;
+    private long rollouts;
+
+    /**
+     * @param model             Equations of motion the rollouts integrate, only its physics is used
+     * @param segments          Number of segments of a schedule
+     * @param segmentTime       Duration of a segment (s)
+     * @param stepsPerSegment   Number of RK4 steps per segment
+     * @param threads           Number of rollouts run in parallel, 1 runs them on the calling thread
+     */
+    public RolloutEngine(LanderFunction model, int segments, double segmentTime, int stepsPerSegment, int threads) {
+        if (segments < 1 || stepsPerSegment < 1 || threads < 1) throw new IllegalArgumentException("Segments, steps and threads have to be at least 1");
+        this.model = model;
+        this.segments = segments;
+        this.segmentTime = segmentTime;
+        this.stepsPerSegment = stepsPerSegment;
+        workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) workers[i] = new Worker();
+        pool = threads > 1 ? Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "rollout");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        tasks = new Future<?>[threads];
+    }
+
+    /**
+     * @param windAngle     Direction the rollouts assume the wind blows from (rad)
+     */
+    public void setWindAngle(double windAngle) { this.windAngle = windAngle; }
+
+    public int getSegments() { return segments; }
+    public double getSegmentTime() { return segmentTime; }
+    public int getThreads() { return workers.length; }
+
+    /**
+     * @return              Number of rollouts simulated so far
+     */
+    public long getRollouts() { return rollouts; }
+
+    /**
+     * Scores a batch of schedules from the same start
+     *
+     * @param start         x, y, theta, vx, vy, omega and mass of the lander
+     * @param schedules     count schedules of 2 * segments values, back to back
+     * @param count         Number of schedules
+     * @param costs         Receives the cost of every schedule, at least count long
+     */
+    public void evaluate(double[] start, double[] schedules, int count, double[] costs) throws InterruptedException {
+        rollouts += count;
+        if (pool == null || count < 2 * workers.length) {
+            for (int i = 0; i < count; i++) costs[i] = workers[0].rollout(start, schedules, i);
+            return;
+        }
+        int block = (count + workers.length - 1) / workers.length;
+        for (int w = 0; w < workers.length; w++) {
+            workers[w].batch(start, schedules, costs, w * block, Math.min(count, (w + 1) * block));
+            tasks[w] = pool.submit(workers[w]);
+        }
+        try {
+            for (Future<?> task : tasks) task.get();
+        }
+        catch (ExecutionException e) { throw new IllegalStateException("Rollout failed", e.getCause()); }
+    }
+
+    /**
+     * Scores a single schedule on the calling thread
+     *
+     * @param start         x, y, theta, vx, vy, omega and mass of the lander
+     * @param schedules     Schedules of 2 * segments values, back to back
+     * @param index         Index of the schedule to score
+     * @return              Cost of the schedule
+     */
+    public double rollout(double[] start, double[] schedules, int index) {
+        rollouts++;
+        return workers[0].rollout(start, schedules, index);
+    }
+
+    /**
+     * Stops the worker threads, the engine can not evaluate batches in parallel afterwards
+     */
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    /**
+     * @param alt           Altitude (m)
+     * @return              Vertical speed of the braking profile at that altitude, negative (m/s)
+     */
+    public static double targetVerticalSpeed(double alt) {
+        return -(1 + Math.min(MAX_DESCENT, Math.sqrt(2 * BRAKING * Math.max(0, alt))));
+    }
+
+    /**
+     * Scratch and batch of one thread
+     */
+    private final class Worker implements Runnable {
+        private final double[] y = new double[STATE_SIZE];
+        private final double[] tmp = new double[STATE_SIZE];
+        private final double[] k1 = new double[STATE_SIZE];
+        private final double[] k2 = new double[STATE_SIZE];
+        private final double[] k3 = new double[STATE_SIZE];
+        private final double[] k4 = new double[STATE_SIZE];
+        private double[] start, schedules, costs;
+        private int from, to;
+
+        void batch(double[] start, double[] schedules, double[] costs, int from, int to) {
+            this.start = start;
+            this.schedules = schedules;
+            this.costs = costs;
+            this.from = from;
+            this.to = to;
+        }
+
+        public void run() {
+            for (int i = from; i < to; i++) costs[i] = rollout(start, schedules, i);
+        }
+
+        double rollout(double[] start, double[] schedules, int index) {
+            System.arraycopy(start, 0, y, 0, STATE_SIZE);
+            double h = segmentTime / stepsPerSegment;
+            double maxTorque = model.getMaxTorque();
+            double cost = 0;
+            int offset = index * 2 * segments;
+            for (int s = 0; s < segments; s++) {
+                double thrust = LanderFunction.MAX_THRUST * Math.max(0, Math.min(1, schedules[offset + 2 * s]));
+                double torque = maxTorque * Math.max(-1, Math.min(1, schedules[offset + 2 * s + 1]));
+                for (int k = 0; k < stepsPerSegment; k++) {
+                    double mass = y[6];
+                    step(h, thrust, torque);
+
+                    double r = Math.sqrt(y[0] * y[0] + y[1] * y[1]);
+                    double alt = r - TITAN_RADIUS;
+                    double vertical = (y[0] * y[3] + y[1] * y[4]) / r;
+                    if (alt <= 0) return cost + TOUCHDOWN_WEIGHT * (y[3] * y[3] + y[4] * y[4]);
+
+                    double horizontal = (y[1] * y[3] - y[0] * y[4]) / r;
+                    double tilt = Math.IEEEremainder(y[2] - Math.atan2(-y[0], y[1]), 2 * Math.PI);
+                    double dv = vertical - targetVerticalSpeed(alt);
+                    cost += h * (VERTICAL_WEIGHT * dv * dv + HORIZONTAL_WEIGHT * horizontal * horizontal
+                            + TILT_WEIGHT * tilt * tilt + SPIN_WEIGHT * y[5] * y[5]) + FUEL_WEIGHT * (mass - y[6]);
+                }
+            }
+            return cost;
+        }
+
+        /**
+         * One classical RK4 step of y in place
+         */
+        private void step(double h, double thrust, double torque) {
+            rates(y, thrust, torque, k1);
+            combine(h / 2, k1);
+            rates(tmp, thrust, torque, k2);
+            combine(h / 2, k2);
+            rates(tmp, thrust, torque, k3);
+            combine(h, k3);
+            rates(tmp, thrust, torque, k4);
+            for (int i = 0; i < STATE_SIZE; i++) y[i] += h / 6 * (k1[i] + 2 * k2[i] + 2 * k3[i] + k4[i]);
+        }
+
+        private void combine(double h, double[] k) {
+            for (int i = 0; i < STATE_SIZE; i++) tmp[i] = y[i] + h * k[i];
+        }
+
+        private void rates(double[] s, double thrust, double torque, double[] out) {
+            model.rates(s[0], s[1], s[2], s[3], s[4], s[5], s[6], thrust, torque, windAngle, out);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Controller;
+
+import interfaces.own.TelemetryInterface;
+
+import java.util.ArrayList;
+
+/**
+ * Preallocated ring buffer holding the most recent steps of a landing in primitive arrays.
+ * Once full, every new step overwrites the oldest one, so recording never allocates.
+ */
+public class TelemetryBuffer implements TelemetryInterface {
+    private final double[] time, x, y, angle, vx, vy, angularVelocity, mass;
+    private int next;
+    private int size;
+    private long total;
+
+    /**
+     * @param capacity      Maximum number of steps kept
+     */
+    public TelemetryBuffer(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Telemetry buffer needs a capacity of at least 1");
+        time = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        angle = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        angularVelocity = new double[capacity];
+        mass = new double[capacity];
+    }
+
+    public void record(double time, double x, double y, double angle, double vx, double vy, double angularVelocity, double mass) {
+        this.time[next] = time;
+        this.x[next] = x;
+        this.y[next] = y;
+        this.angle[next] = angle;
+        this.vx[next] = vx;
+        this.vy[next] = vy;
+        this.angularVelocity[next] = angularVelocity;
+        this.mass[next] = mass;
+        next = (next + 1) % this.time.length;
+        if (size < this.time.length) size++;
+        total++;
+    }
+
+    /**
+     * Removes all steps
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * @param i         Index of the step, 0 is the oldest step still in the buffer
+     * @return          Index of that step in the arrays
+     */
+    private int index(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("Step " + i + " is not in the buffer (size " + size + ")");
+        return (next - size + i + time.length) % time.length;
+    }
+
+    public double getTime(int i) { return time[index(i)]; }
+    public double getX(int i) { return x[index(i)]; }
+    public double getY(int i) { return y[index(i)]; }
+    public double getAngle(int i) { return angle[index(i)]; }
+    public double getVx(int i) { return vx[index(i)]; }
+    public double getVy(int i) { return vy[index(i)]; }
+    public double getAngularVelocity(int i) { return angularVelocity[index(i)]; }
+    public double getMass(int i) { return mass[index(i)]; }
+
+    /**
+     * @return          Number of steps in the buffer
+     */
+    public int size() { return size; }
+
+    /**
+     * @return          Number of steps recorded since the last clear, including overwritten ones
+     */
+    public long getTotal() { return total; }
+
+    public int capacity() { return time.length; }
+
+    /**
+     * Converts the steps in the buffer into states, e.g. for plotting. Allocates, so not meant for the simulation loop.
+     * @return          States of the lander, oldest first
+     */
+    public ArrayList<ControllerState> toStates() {
+        ArrayList<ControllerState> states = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int j = index(i);
+            states.add(new ControllerState(x[j], y[j], angle[j], vx[j], vy[j], angularVelocity[j], mass[j]));
+        }
+        return states;
+    }
+}
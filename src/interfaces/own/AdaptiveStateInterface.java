@@ -0,0 +1,21 @@
+package interfaces.own;
+
+import interfaces.given.StateInterface;
+
+/**
+ * Base structure to represent a state that an adaptive solver can control the step size on:
+ * besides addMul it can measure how far it is from another state of the same class
+ */
+public interface AdaptiveStateInterface extends StateInterface {
+
+    /**
+     * Computes the largest difference over all components of the two states, each scaled by its own tolerance
+     * absoluteTolerance + relativeTolerance * max(|this component|, |other component|)
+     *
+     * @param other - a state of the same class
+     * @param absoluteTolerance - the absolute tolerance of every component
+     * @param relativeTolerance - the relative tolerance of every component
+     * @return The scaled difference, at most 1 when the states agree within the tolerances
+     */
+    public double errorNorm(StateInterface other, double absoluteTolerance, double relativeTolerance);
+}
@@ -0,0 +1,17 @@
+package interfaces.own;
+
+import interfaces.given.StateInterface;
+
+/**
+ * Base structure to represent an event during an integration: a scalar function of the time and state
+ * that is positive before the event and reaches 0 at the moment of the event (e.g. the altitude at touchdown)
+ */
+public interface EventInterface {
+
+    /**
+     * @param t - the time
+     * @param y - the state at that time
+     * @return The value of the event function, positive as long as the event has not occurred
+     */
+    public double value(double t, StateInterface y);
+}
@@ -0,0 +1,15 @@
+package interfaces.own;
+
+import titan.metrics.SolverMetrics;
+
+/**
+ * Base structure to represent a destination of the solver metrics, e.g. a log or a monitoring system
+ */
+public interface MetricsReporterInterface {
+
+    /**
+     * @param name - the name the metrics are registered under
+     * @param metrics - the metrics, still being updated by the run they belong to
+     */
+    public void report(String name, SolverMetrics metrics);
+}
@@ -5,6 +5,7 @@ import interfaces.given.StateInterface;
 import interfaces.own.DataInterface;
 import interfaces.given.Vector3dInterface;
 import titan.math.Vector3d;
+import titan.physics.BodyArrays;
 import titan.physics.State;
 import titan.utility.Rate;
 
@@ -41,4 +42,14 @@ public interface NewtonInterface {
      * @return The acceleration obtained by dividing (calculated) net gravity with the target object's mass
      */
     Vector3dInterface acceleration(DataInterface[] environment, int i);
+
+    /**
+     * Calculates the acceleration of every body in a set of primitive bodies, the mass of a body including its fuel
+     *
+     * @param bodies - the bodies currently in the simulation
+     * @param ax - array to store the accelerations on the x-axis in
+     * @param ay - array to store the accelerations on the y-axis in
+     * @param az - array to store the accelerations on the z-axis in
+     */
+    void acceleration(BodyArrays bodies, double[] ax, double[] ay, double[] az);
 }
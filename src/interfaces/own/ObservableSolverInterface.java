@@ -0,0 +1,15 @@
+package interfaces.own;
+
+import interfaces.given.ODESolverInterface;
+
+/**
+ * Base structure to represent a solver that tells an observer about every step its solve takes,
+ * so the steps can be measured without running other code than the solver's own
+ */
+public interface ObservableSolverInterface extends ODESolverInterface {
+
+    /**
+     * @param listener - the observer of every step solve takes (an adaptive solver: tries), null for none
+     */
+    public void setStepListener(StepListenerInterface listener);
+}
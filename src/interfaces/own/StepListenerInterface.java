@@ -0,0 +1,16 @@
+package interfaces.own;
+
+/**
+ * Base structure to represent an observer of the steps a solver tries (ObservableSolverInterface)
+ */
+public interface StepListenerInterface {
+
+    /**
+     * Called after every step the solver tried, accepted or not
+     *
+     * @param t - the time at the start of the step
+     * @param h - the size of the step
+     * @param accepted - true if the step was accepted, false if an adaptive solver retries it with a smaller size
+     */
+    public void step(double t, double h, boolean accepted);
+}
@@ -0,0 +1,22 @@
+package interfaces.own;
+
+/**
+ * Base structure to represent a receiver of the per-step telemetry of a landing simulation.
+ * Values are passed as primitives, so recording a step does not have to allocate.
+ */
+public interface TelemetryInterface {
+
+    /**
+     * Records one step of the landing
+     *
+     * @param time - simulated time since the start of the landing (s)
+     * @param x - x position of the lander (m)
+     * @param y - y position of the lander (m)
+     * @param angle - orientation of the lander (rad)
+     * @param vx - velocity along the x axis (m/s)
+     * @param vy - velocity along the y axis (m/s)
+     * @param angularVelocity - angular velocity (rad/s)
+     * @param mass - mass of the lander (kg)
+     */
+    public void record(double time, double x, double y, double angle, double vx, double vy, double angularVelocity, double mass);
+}
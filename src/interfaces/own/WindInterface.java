@@ -1,4 +1,13 @@
 package interfaces.own;
 
+/**
+ * Base structure to represent a wind profile: the wind speed as a function of the altitude
+ */
 public interface WindInterface {
+
+    /**
+     * @param altitude - the altitude, in the units the profile was built with
+     * @return The wind speed at this altitude (m/s)
+     */
+    public double windSpeed(double altitude);
 }
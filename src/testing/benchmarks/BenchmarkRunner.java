@@ -0,0 +1,31 @@
+package testing.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks of this package with the GC profiler, so every benchmark also reports its allocation rate
+ * (gc.alloc.rate.norm is the number of bytes allocated per operation), and writes the results to a CSV file.
+ * The first argument is an optional regular expression selecting the benchmarks, e.g. "ForceBenchmark.call".
+ * Needs jmh-core and jmh-generator-annprocess on the classpath, like JUnit for the blackbox tests.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result("src/experiments/" + fileName + " benchmarks.csv")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,34 @@
+package testing.benchmarks;
+
+import interfaces.own.DataInterface;
+import titan.math.Vector3d;
+import titan.utility.InitialState;
+import titan.utility.Planet;
+
+import java.util.Random;
+
+/**
+ * Reproducible sets of bodies for the benchmarks
+ */
+final class Bodies {
+    private Bodies(){ }
+
+    /**
+     * The solar system (first 11 bodies) followed by small massive bodies on random positions, always the same for the same size
+     *
+     * @param size - the number of bodies, at least 11
+     * @return The bodies
+     */
+    static DataInterface[] solarSystem(int size){
+        DataInterface[] initial = InitialState.getInitialState();
+        DataInterface[] objects = new DataInterface[size];
+        System.arraycopy(initial, 0, objects, 0, Math.min(size, initial.length));
+        Random random = new Random(42);
+        for(int i = initial.length; i < size; i++){
+            objects[i] = new Planet("Body" + i, random.nextDouble() * 1e18, random.nextDouble() * 1e5,
+                    new Vector3d(random.nextGaussian() * 5e11, random.nextGaussian() * 5e11, random.nextGaussian() * 1e10),
+                    new Vector3d(random.nextGaussian() * 2e4, random.nextGaussian() * 2e4, random.nextGaussian() * 1e3));
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,54 @@
+package testing.benchmarks;
+
+import interfaces.given.ODESolverInterface;
+import interfaces.given.StateInterface;
+import org.openjdk.jmh.annotations.*;
+import titan.math.FlatFunction;
+import titan.math.Function;
+import titan.physics.FlatState;
+import titan.solvers.Euler;
+import titan.solvers.Kutta;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One step of a day on the same bodies stored as objects (State and Function) and as flat arrays (FlatState and FlatFunction)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class FlatStateBenchmark {
+    private static final double STEP = 86400;
+
+    @Param({"Euler", "Kutta"})
+    public String solverName;
+
+    @Param({"11", "100"})
+    public int size;
+
+    private ODESolverInterface solver;
+    private titan.physics.State objects;
+    private FlatState flat;
+    private final Function function = new Function();
+    private final FlatFunction flatFunction = new FlatFunction();
+
+    @Setup
+    public void setup(){
+        switch(solverName){
+            case "Euler": solver = new Euler(); break;
+            case "Kutta": solver = new Kutta(); break;
+            default: throw new IllegalArgumentException("Unknown solver: " + solverName);
+        }
+        objects = new titan.physics.State(Bodies.solarSystem(size));
+        flat = FlatState.fromState(objects);
+    }
+
+    @Benchmark
+    public StateInterface objects(){ return solver.step(function, STEP, objects, STEP); }
+
+    @Benchmark
+    public StateInterface flat(){ return solver.step(flatFunction, STEP, flat, STEP); }
+}
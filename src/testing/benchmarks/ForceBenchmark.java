@@ -0,0 +1,65 @@
+package testing.benchmarks;
+
+import interfaces.given.RateInterface;
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+import org.openjdk.jmh.annotations.*;
+import titan.math.Function;
+import titan.physics.BodyArrays;
+import titan.physics.Newton;
+import titan.physics.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravity kernel at 11 (the solar system) up to 10000 bodies: Newton.acceleration of a single body,
+ * Function.call for the whole state, and the primitive Newton.acceleration(BodyArrays, ...) for comparison
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class ForceBenchmark {
+    @Param({"11", "100", "1000", "10000"})
+    public int bodies;
+
+    private DataInterface[] objects;
+    private State state;
+    private BodyArrays arrays;
+    private double[] ax, ay, az;
+    private final Newton newton = new Newton();
+    private final Function function = new Function();
+
+    @Setup
+    public void setup(){
+        objects = Bodies.solarSystem(bodies);
+        state = new State(objects);
+        arrays = BodyArrays.fromState(state);
+        ax = new double[bodies];
+        ay = new double[bodies];
+        az = new double[bodies];
+    }
+
+    /**
+     * Acceleration of Earth (index 3), O(n)
+     */
+    @Benchmark
+    public Vector3dInterface acceleration(){ return newton.acceleration(objects, 3); }
+
+    /**
+     * Rate of change of the whole state, O(n^2)
+     */
+    @Benchmark
+    public RateInterface call(){ return function.call(0, state); }
+
+    /**
+     * Accelerations of all bodies on primitive arrays, O(n^2)
+     */
+    @Benchmark
+    public double[] accelerationArrays(){
+        newton.acceleration(arrays, ax, ay, az);
+        return ax;
+    }
+}
@@ -0,0 +1,37 @@
+package testing.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import titan.math.LinearAlgebra;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinearAlgebra.inverse (cofactor expansion) of random n x n matrices
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinearAlgebraBenchmark {
+    @Param({"3", "5", "7"})
+    public int size;
+
+    private double[][] matrix;
+    private final LinearAlgebra linearAlgebra = new LinearAlgebra();
+
+    @Setup
+    public void setup(){
+        Random random = new Random(42);
+        matrix = new double[size][size];
+        for(int i = 0; i < size; i++){
+            for(int j = 0; j < size; j++){ matrix[i][j] = random.nextDouble(); }
+            matrix[i][i] += size;   // diagonally dominant, so always invertible
+        }
+    }
+
+    @Benchmark
+    public double[][] inverse(){ return linearAlgebra.inverse(matrix); }
+}
@@ -0,0 +1,54 @@
+package testing.benchmarks;
+
+import interfaces.own.DataInterface;
+import org.openjdk.jmh.annotations.*;
+import titan.fileIO.PlanetReader;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlanetReader.read of a data file with the solar system and generated bodies
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReaderBenchmark {
+    @Param({"11", "10000"})
+    public int lines;
+
+    private Path file;
+    private PlanetReader reader;
+
+    @Setup
+    public void setup() throws Exception {
+        file = Files.createTempFile("bodies", ".txt");
+        try(BufferedWriter writer = Files.newBufferedWriter(file)){
+            for(DataInterface d : Bodies.solarSystem(lines)){
+                writer.write(String.format(Locale.ROOT, "%s: { mass=%.6e,   x=%.15e,  y=%.15e,  z=%.15e,  vx=%.15e, vy=%.15e, vz=%.15e }",
+                        d.getName(), d.getMass(),
+                        d.getPosition().getX(), d.getPosition().getY(), d.getPosition().getZ(),
+                        d.getVelocity().getX(), d.getVelocity().getY(), d.getVelocity().getZ()));
+                writer.newLine();
+            }
+        }
+        reader = new PlanetReader();
+        reader.setFilePath(file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception { Files.deleteIfExists(file); }
+
+    @Benchmark
+    public List<DataInterface> read(){
+        reader.read();
+        return reader.getList();
+    }
+}
@@ -0,0 +1,48 @@
+package testing.benchmarks;
+
+import interfaces.given.ODESolverInterface;
+import interfaces.given.StateInterface;
+import org.openjdk.jmh.annotations.*;
+import titan.math.Function;
+import titan.physics.State;
+import titan.solvers.Euler;
+import titan.solvers.Kutta;
+import titan.solvers.Verlet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One step of a day of Euler, Kutta and Verlet on the solar system
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class SolverBenchmark {
+    private static final double STEP = 86400;
+
+    @Param({"Euler", "Kutta", "Verlet"})
+    public String solverName;
+
+    private ODESolverInterface solver;
+    private StateInterface state;
+    private final Function function = new Function();
+
+    @Setup
+    public void setup(){
+        switch(solverName){
+            case "Euler": solver = new Euler(); break;
+            case "Kutta": solver = new Kutta(); break;
+            case "Verlet": solver = new Verlet(); break;
+            default: throw new IllegalArgumentException("Unknown solver: " + solverName);
+        }
+        // Verlet needs a previous state, so the measured step starts from the state after one Euler step
+        StateInterface y0 = new State(Bodies.solarSystem(11));
+        state = new Euler().step(function, 0, y0, STEP);
+    }
+
+    @Benchmark
+    public StateInterface step(){ return solver.step(function, STEP, state, STEP); }
+}
@@ -0,0 +1,52 @@
+package testing.benchmarks;
+
+import interfaces.given.Vector3dInterface;
+import org.openjdk.jmh.annotations.*;
+import titan.math.Vector3d;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector3d operations: the allocating operations of Vector3dInterface against their in place versions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorBenchmark {
+    private Vector3d a;
+    private Vector3d b;
+    private Vector3d accumulator;
+    private double scalar;
+
+    @Setup
+    public void setup(){
+        a = new Vector3d(1.471922101663588e+11, -2.860995816266412e+10, 8.278183193596080e+06);
+        b = new Vector3d(5.427193405797901e+03, -2.931056622265021e+04, 6.575428158157592e-01);
+        accumulator = new Vector3d();
+        scalar = 86400;
+    }
+
+    @Benchmark
+    public Vector3dInterface add(){ return a.add(b); }
+
+    @Benchmark
+    public Vector3dInterface sub(){ return a.sub(b); }
+
+    @Benchmark
+    public Vector3dInterface mul(){ return a.mul(scalar); }
+
+    @Benchmark
+    public Vector3dInterface addMul(){ return a.addMul(scalar, b); }
+
+    @Benchmark
+    public Vector3d addMulInPlace(){ return accumulator.set(a).addMulInPlace(scalar, b); }
+
+    @Benchmark
+    public double norm(){ return a.norm(); }
+
+    @Benchmark
+    public double dist(){ return a.dist(b); }
+}
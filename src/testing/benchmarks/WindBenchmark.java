@@ -0,0 +1,31 @@
+package testing.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import titan.wind.WindFunction;
+import titan.wind.WindModel;
+import titan.wind.WindNoise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WindFunction.windForce over the altitudes of a landing, with the default (cached) wind model
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WindBenchmark {
+    private WindFunction wind;
+    private double altitude;
+
+    @Setup
+    public void setup(){ wind = new WindFunction(WindModel.getDefault(), new WindNoise(42)); }
+
+    @Benchmark
+    public double windForce(){
+        altitude = altitude >= 150000 ? 0 : altitude + 10;
+        return wind.windForce(altitude);
+    }
+}
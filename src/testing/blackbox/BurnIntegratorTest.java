@@ -0,0 +1,64 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.math.PoweredFunction;
+import titan.physics.BodyArrays;
+import titan.physics.FlatState;
+import titan.solvers.BurnIntegrator;
+import titan.solvers.DormandPrince;
+import titan.solvers.Trajectory;
+import titan.utility.BurnSchedule;
+import titan.utility.ThrustArc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BurnIntegratorTest {
+    private static final double DRY_MASS = 1000, THRUST = 2000, EXHAUST_VELOCITY = 3000;
+
+    /**
+     * Tests that a burn of a rocket without gravity gains the velocity of the rocket equation, v_exhaust * ln(m0 / m1),
+     * uses thrust / v_exhaust of fuel per second and that the integration passes through the start and end of the burn
+     */
+    @Test public void testBurn(){
+        Trajectory trajectory = integrate(500, new BurnSchedule(ThrustArc.prograde(10, 110, THRUST, EXHAUST_VELOCITY)));
+        FlatState last = (FlatState) trajectory.getLast();
+        double burned = THRUST / EXHAUST_VELOCITY * 100;
+        assertEquals(100 + EXHAUST_VELOCITY * Math.log((DRY_MASS + 500) / (DRY_MASS + 500 - burned)), last.getVelocity(0).getX(), 1e-6);
+        assertEquals(500 - burned, last.getFuelMass(0), 1e-6);
+        assertEquals(200, trajectory.getLastTime());
+        assertTrue(contains(trajectory.getTimes(), 10));
+        assertTrue(contains(trajectory.getTimes(), 110));
+    }
+
+    /**
+     * Tests that a burn stops when the fuel runs out, having burned exactly all fuel
+     */
+    @Test public void testFuelRunsOut(){
+        Trajectory trajectory = integrate(50, new BurnSchedule(ThrustArc.prograde(10, 110, THRUST, EXHAUST_VELOCITY)));
+        FlatState last = (FlatState) trajectory.getLast();
+        assertEquals(100 + EXHAUST_VELOCITY * Math.log((DRY_MASS + 50) / DRY_MASS), last.getVelocity(0).getX(), 1e-6);
+        assertEquals(0, last.getFuelMass(0), 1e-6);
+    }
+
+    /**
+     * Tests that overlapping burns are refused
+     */
+    @Test public void testOverlap(){
+        assertThrows(IllegalArgumentException.class, () -> new BurnSchedule(
+                ThrustArc.prograde(0, 20, THRUST, EXHAUST_VELOCITY), ThrustArc.retrograde(10, 30, THRUST, EXHAUST_VELOCITY)));
+    }
+
+    private static Trajectory integrate(double fuel, BurnSchedule schedule){
+        BodyArrays rocket = new BodyArrays(1);
+        rocket.addRocket("Rocket", DRY_MASS, fuel, 0, 0, 0, 100, 0, 0);
+        FlatState y0 = new FlatState(rocket);
+        return new BurnIntegrator(new DormandPrince(1e-9, 1e-12)).integrate(new PoweredFunction(0), schedule, y0, 0, 200, 0);
+    }
+
+    private static boolean contains(double[] times, double t){
+        for(double time : times){ if (time == t){ return true; } }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import titan.fileIO.CatalogueReader;
+import titan.physics.BodyArrays;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CatalogueReaderTest {
+    private static final int BODIES = 200;
+
+    /**
+     * Tests that every body is read once and in order for chunks that cut the file anywhere:
+     * smaller than a line, in the middle of lines, around comments, blank lines and \r\n line ends,
+     * and larger than the file
+     */
+    @Test public void testChunkBoundaries(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("catalogue.txt");
+        Files.write(file, catalogue().getBytes(StandardCharsets.US_ASCII));
+
+        for(int chunkSize : new int[]{ 1, 7, 64, 150, 151, 1000, 1 << 20 }){
+            BodyArrays bodies = new CatalogueReader(chunkSize, 4, true).read(file.toString());
+            assertEquals(BODIES, bodies.size(), "chunk size " + chunkSize);
+            for(int i = 0; i < BODIES; i++){
+                assertEquals("Body" + i, bodies.getName(i), "chunk size " + chunkSize);
+                assertEquals(i + 1.5, bodies.getMass()[i]);
+                assertEquals(-i * 1e3, bodies.getX()[i]);
+                assertEquals(i * 2e-3, bodies.getVz()[i]);
+            }
+        }
+    }
+
+    /**
+     * Tests that the last body is read when the file does not end with a line break
+     */
+    @Test public void testNoFinalLineBreak(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("catalogue.txt");
+        String text = line(0) + "\n" + line(1);
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+
+        BodyArrays bodies = new CatalogueReader(16, 2, true).read(file.toString());
+        assertEquals(2, bodies.size());
+        assertEquals("Body1", bodies.getName(1));
+    }
+
+    private static String catalogue(){
+        StringBuilder text = new StringBuilder("// Test catalogue\n\n");
+        for(int i = 0; i < BODIES; i++){
+            text.append(line(i)).append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 17 == 0){ text.append("// comment between bodies\n\n"); }
+        }
+        return text.toString();
+    }
+
+    private static String line(int i){
+        return "Body" + i + ": { mass=" + (i + 1.5) + ", radius=" + (i * 10.0) + ", x=" + (-i * 1e3) + ", y=" + (i * 2.0)
+                + ", z=0, vx=" + (i * 0.5) + ", vy=" + (-i * 0.25) + ", vz=" + (i * 2e-3) + " }";
+    }
+}
@@ -0,0 +1,62 @@
+package testing.blackbox;
+
+import interfaces.given.StateInterface;
+import interfaces.own.DataInterface;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import titan.fileIO.CheckpointManager;
+import titan.physics.State;
+import titan.simulators.RocketSimulator;
+import titan.solvers.Euler;
+import titan.solvers.Verlet;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CheckpointTest {
+    private static final double TF = 86400;
+    private static final double H = 3600;
+
+    /**
+     * Tests that a run restarted from the last checkpoint of an earlier run continues exactly like the earlier run,
+     * with Verlet so that the previous state saved in the checkpoint is needed for the next step
+     */
+    @Test public void testRestart(@TempDir Path directory){
+        RocketSimulator simulator = new RocketSimulator();
+        CheckpointManager checkpoints = new CheckpointManager(directory.toString(), 10);
+        StateInterface[] uninterrupted = simulator.simulate(new Verlet(), TF, H, checkpoints);
+        StateInterface[] restarted = simulator.simulate(new Verlet(), TF, H, checkpoints);
+        checkpoints.close();
+
+        // The last checkpoint of the 24 steps is at step 20
+        assertEquals(uninterrupted.length - 20, restarted.length);
+        for(int i = 0; i < restarted.length; i++){ assertSameState(uninterrupted[20 + i], restarted[i]); }
+    }
+
+    /**
+     * Tests that a checkpoint of a run with another final time or another solver is not restarted from
+     */
+    @Test public void testOtherRun(@TempDir Path directory){
+        RocketSimulator simulator = new RocketSimulator();
+        CheckpointManager checkpoints = new CheckpointManager(directory.toString(), 10);
+        StateInterface[] uninterrupted = simulator.simulate(new Verlet(), TF, H, checkpoints);
+
+        assertEquals(2 * uninterrupted.length - 1, simulator.simulate(new Verlet(), 2 * TF, H, checkpoints).length);
+        checkpoints.clear();
+        simulator.simulate(new Verlet(), TF, H, checkpoints);
+        assertEquals(uninterrupted.length, simulator.simulate(new Euler(), TF, H, checkpoints).length);
+        checkpoints.close();
+    }
+
+    private static void assertSameState(StateInterface expected, StateInterface actual){
+        DataInterface[] a = ((State) expected).getObjects();
+        DataInterface[] b = ((State) actual).getObjects();
+        assertEquals(a.length, b.length);
+        for(int i = 0; i < a.length; i++){
+            assertEquals(0.0, a[i].getPosition().dist(b[i].getPosition()));
+            assertEquals(0.0, a[i].getVelocity().dist(b[i].getVelocity()));
+            assertEquals(a[i].getMass(), b[i].getMass());
+        }
+    }
+}
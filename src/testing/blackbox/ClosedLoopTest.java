@@ -0,0 +1,29 @@
+package testing.blackbox;
+
+import Controller.ClosedLoop;
+import Controller.ControllerPhysics;
+import Controller.TelemetryBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClosedLoopTest {
+    private static final double TITAN_RADIUS = 2574730;
+
+    /**
+     * Tests that a landing stops at touchdown, with the last recorded step on the surface and the lander turned upright
+     */
+    @Test public void testTouchdown() {
+        TelemetryBuffer buffer = new TelemetryBuffer(1 << 16);
+        ClosedLoop loop = new ClosedLoop(new ControllerPhysics(3), buffer);
+        loop.land(0, TITAN_RADIUS + 5000, Math.PI / 2, 5, -10, 0);
+
+        assertTrue(loop.hasLanded());
+        assertEquals(0, loop.getAltitude(), 1e-3);
+        assertEquals(0, Math.IEEEremainder(loop.getAngle(), 2 * Math.PI), 1e-3);
+        assertEquals(loop.getSteps(), buffer.getTotal());
+        assertEquals(loop.getTime(), buffer.getTime(buffer.size() - 1));
+        for (int i = 1; i < buffer.size(); i++) assertTrue(buffer.getTime(i) > buffer.getTime(i - 1));
+    }
+}
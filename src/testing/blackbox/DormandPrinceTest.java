@@ -0,0 +1,76 @@
+package testing.blackbox;
+
+import Controller.ControllerPhysics;
+import Controller.ControllerState;
+import Controller.LanderFunction;
+import interfaces.own.DataInterface;
+import org.junit.jupiter.api.Test;
+import titan.math.Vector3d;
+import titan.math.equations.Equation1;
+import titan.physics.State;
+import titan.solvers.DormandPrince;
+import titan.solvers.Trajectory;
+import titan.utility.Planet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DormandPrinceTest {
+
+    /**
+     * Tests the adaptive solver on the differential equation dy/dt = y with y(0) = 1 over [0, 1], output every 0.5
+     * Assumes that x value of the position vector of an object in the state is y for this function.
+     */
+    @Test public void testSolve(){
+        Planet p = new Planet();
+        p.setPosition(new Vector3d(1, 0, 0));
+        p.setVelocity(new Vector3d());
+
+        DormandPrince solver = new DormandPrince(1e-10, 1e-10);
+        State[] results = (State[]) solver.solve(new Equation1(), new State(new DataInterface[]{ p }), 1, 0.5);
+
+        assertEquals(3, results.length);
+        assertEquals(Math.exp(0.5), results[1].getObjects()[0].getPosition().getX(), 1e-8);
+        assertEquals(Math.E, results[2].getObjects()[0].getPosition().getX(), 1e-8);
+    }
+
+    /**
+     * Tests that a descent of the lander stops at touchdown, with the lander on the surface
+     */
+    @Test public void testTouchdown(){
+        ControllerState start = new ControllerState(0, 2574730 + 1000, 0, 0, -10, 0, 14845);
+        DormandPrince solver = new DormandPrince(1e-6, 1e-9);
+        Trajectory trajectory = solver.integrate(new LanderFunction(new ControllerPhysics(1)), start, 0, 1e4, 0, LanderFunction.TOUCHDOWN);
+
+        assertTrue(trajectory.hasEvent());
+        assertTrue(trajectory.getLastTime() < 1e4);
+        assertEquals(0, ((ControllerState) trajectory.getLast()).getAltitude(), 1e-3);
+    }
+
+    /**
+     * Tests that a state whose error stays NaN stops the integration at the smallest step size instead of stepping on
+     */
+    @Test public void testNaN(){
+        Planet p = new Planet();
+        p.setPosition(new Vector3d(Double.NaN, 0, 0));
+        p.setVelocity(new Vector3d());
+
+        DormandPrince solver = new DormandPrince(1e-10, 1e-10);
+        assertThrows(ArithmeticException.class, () -> solver.integrate(new Equation1(), new State(new DataInterface[]{ p }), 0, 1, 0, null));
+    }
+
+    /**
+     * Tests that steps too small to advance the time (a step of 1e-9 at a year) stop the integration instead of looping
+     */
+    @Test public void testNoProgress(){
+        Planet p = new Planet();
+        p.setPosition(new Vector3d(1, 0, 0));
+        p.setVelocity(new Vector3d());
+
+        DormandPrince solver = new DormandPrince(1e-10, 1e-10);
+        solver.setMaxStep(1e-9);
+        double year = 365 * 86400;
+        assertThrows(ArithmeticException.class, () -> solver.integrate(new Equation1(), new State(new DataInterface[]{ p }), year, year + 1, 0, null));
+    }
+}
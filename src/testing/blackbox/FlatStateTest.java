@@ -0,0 +1,81 @@
+package testing.blackbox;
+
+import interfaces.given.StateInterface;
+import interfaces.own.DataInterface;
+import interfaces.own.NewtonInterface;
+import org.junit.jupiter.api.Test;
+import titan.math.FlatFunction;
+import titan.math.Function;
+import titan.math.Vector3d;
+import titan.physics.BodyArrays;
+import titan.physics.FlatState;
+import titan.physics.State;
+import titan.solvers.Kutta;
+import titan.utility.FlatRate;
+import titan.utility.InitialState;
+import titan.utility.Rocket;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FlatStateTest {
+
+    /**
+     * Tests that the bodies keep their name, mass, position, velocity and fuel when converted to flat arrays and back
+     */
+    @Test public void testConversion(){
+        State state = universe();
+        State back = FlatState.fromState(state).toState();
+        DataInterface[] before = state.getObjects();
+        DataInterface[] after = back.getObjects();
+        for(int i = 0; i < before.length; i++){
+            assertEquals(before[i].getName(), after[i].getName());
+            assertEquals(before[i].getMass(), after[i].getMass(), 1e-9);
+            assertEquals(0.0, before[i].getPosition().dist(after[i].getPosition()));
+            assertEquals(0.0, before[i].getVelocity().dist(after[i].getVelocity()));
+        }
+        assertTrue(after[after.length - 1] instanceof Rocket);
+    }
+
+    /**
+     * Tests that a day of Kutta steps on flat arrays gives the states of the same steps on objects,
+     * and that the stepped states share the unchanging properties of the bodies
+     */
+    @Test public void testSteps(){
+        State objects = universe();
+        FlatState flat = FlatState.fromState(objects);
+        StateInterface y = objects, fy = flat;
+        for(int i = 0; i < 24; i++){
+            y = new Kutta().step(new Function(), i * 3600, y, 3600);
+            fy = new Kutta().step(new FlatFunction(), i * 3600, fy, 3600);
+        }
+        assertSame(flat.getBodies().getMass(), ((FlatState) fy).getBodies().getMass());
+        DataInterface[] expected = ((State) y).getObjects();
+        for(int i = 0; i < expected.length; i++){
+            Vector3d position = ((FlatState) fy).getPosition(i);
+            assertEquals(0.0, expected[i].getPosition().dist(position) / expected[i].getPosition().norm(), 1e-12);
+        }
+    }
+
+    /**
+     * Tests that a body without mass is accelerated by the others, and that the fuel of a rocket exerts gravity
+     */
+    @Test public void testMassAndFuel(){
+        BodyArrays bodies = new BodyArrays(2);
+        bodies.add("Dust", 0, 0, 1e6, 0, 0, 0, 0, 0);
+        bodies.addRocket("Rocket", 1e3, 2e3, 0, 0, 0, 0, 0, 0);
+        FlatRate rate = (FlatRate) new FlatFunction().call(0, new FlatState(bodies));
+        assertEquals(-NewtonInterface.G * 3e3 / 1e12, rate.getVx()[0], 1e-30);
+        assertEquals(0.0, rate.getVx()[1]);
+    }
+
+    private static State universe(){
+        DataInterface[] planets = InitialState.getInitialState();
+        DataInterface[] objects = Arrays.copyOf(planets, planets.length + 1);
+        objects[planets.length] = new Rocket(7e5, planets[3].getPosition().add(new Vector3d(7e6, 0, 0)), new Vector3d(5e3, 2e3, -1e3));
+        return new State(objects);
+    }
+}
@@ -0,0 +1,54 @@
+package testing.blackbox;
+
+import interfaces.own.DataInterface;
+import org.junit.jupiter.api.Test;
+import titan.math.Vector3d;
+import titan.math.equations.Equation1;
+import titan.physics.State;
+import titan.simulators.FrameProducer;
+import titan.solvers.Euler;
+import titan.utility.Planet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameProducerTest {
+
+    /**
+     * Tests that the frames are every decimation-th state of solve, followed by the final state.
+     * Assumes that x value of the position vector of an object in the state is y for dy/dt = y.
+     */
+    @Test public void testFrames() throws InterruptedException {
+        State[] solved = (State[]) new Euler().solve(new Equation1(), initial(), 1.05, 0.1);
+        FrameProducer producer = new FrameProducer(new Euler(), new Equation1(), initial(), 1.05, 0.1, 4, 2).start("test");
+
+        int[] expected = { 0, 4, 8, 11 };
+        for(int i : expected){
+            State frame = (State) producer.take();
+            assertEquals(x(solved[i]), x(frame), 1e-12);
+        }
+        assertNull(producer.take());
+        assertTrue(producer.isFinished());
+    }
+
+    /**
+     * Tests that a cancelled producer ends its frames instead of leaving the consumer waiting
+     */
+    @Test public void testCancel() throws InterruptedException {
+        FrameProducer producer = new FrameProducer(new Euler(), new Equation1(), initial(), 1e6, 0.1, 1, 1).start("test");
+        producer.take();
+        producer.cancel();
+        while (producer.take() != null){ }
+        assertTrue(producer.isFinished());
+    }
+
+    private static State initial(){
+        Planet p = new Planet();
+        p.setPosition(new Vector3d(1, 0, 0));
+        p.setVelocity(new Vector3d());
+        return new State(new DataInterface[]{ p });
+    }
+
+    private static double x(State s){ return s.getObjects()[0].getPosition().getX(); }
+}
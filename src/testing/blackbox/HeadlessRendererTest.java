@@ -0,0 +1,46 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import titan.gui.HeadlessRenderer;
+import titan.simulators.StateSimulator;
+import titan.solvers.Euler;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HeadlessRendererTest {
+
+    /**
+     * Tests that every state of a 3 day run at 1 day steps becomes a numbered PNG of the requested size
+     */
+    @Test public void testPng(@TempDir File directory) throws Exception {
+        HeadlessRenderer renderer = new HeadlessRenderer(64, 48, 2);
+        int count = renderer.renderPng(new StateSimulator().produce(new Euler(), 3 * 86400, 86400, 1, 2), directory);
+        renderer.shutdown();
+
+        assertEquals(4, count);
+        for(int i = 0; i < count; i++){
+            BufferedImage image = ImageIO.read(new File(directory, String.format("frame_%06d.png", i)));
+            assertEquals(64, image.getWidth());
+            assertEquals(48, image.getHeight());
+        }
+    }
+
+    /**
+     * Tests that the raw stream holds 3 bytes per pixel of every frame
+     */
+    @Test public void testRaw() throws Exception {
+        HeadlessRenderer renderer = new HeadlessRenderer(64, 48, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = renderer.renderRaw(new StateSimulator().produce(new Euler(), 3 * 86400, 86400, 1, 2), out);
+        renderer.shutdown();
+
+        assertEquals(4, count);
+        assertEquals(4 * 64 * 48 * 3, out.size());
+    }
+}
@@ -0,0 +1,64 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.fileIO.KeyValueParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KeyValueParserTest {
+
+    /**
+     * Tests whether a line from the solar system data file is parsed into the right fields
+     */
+    @Test public void testParseLine(){
+        String line = "Earth: { mass=5.97219e24,   radius=6371e3,   x=-1.471922101663588e+11,  y=-2.860995816266412e+10,  z= 8.278183193596080e+06,  vx= 5.427193405797901e+03, vy=-2.931056622265021e+04, vz= 6.575428158157592e-01 }";
+        ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        double[] values = new double[KeyValueParser.FIELDS];
+
+        int colon = KeyValueParser.parseLine(buf, 0, buf.limit(), values);
+
+        assertEquals("Earth", KeyValueParser.name(buf, 0, colon));
+        assertEquals(5.97219e24,                values[KeyValueParser.MASS]);
+        assertEquals(6371e3,                    values[KeyValueParser.RADIUS]);
+        assertEquals(-1.471922101663588e+11,    values[KeyValueParser.X]);
+        assertEquals(-2.860995816266412e+10,    values[KeyValueParser.Y]);
+        assertEquals(8.278183193596080e+06,     values[KeyValueParser.Z]);
+        assertEquals(5.427193405797901e+03,     values[KeyValueParser.VX]);
+        assertEquals(-2.931056622265021e+04,    values[KeyValueParser.VY]);
+        assertEquals(6.575428158157592e-01,     values[KeyValueParser.VZ]);
+    }
+
+    /**
+     * Tests whether a missing radius is parsed as 0.0
+     */
+    @Test public void testMissingRadius(){
+        String line = "Sun: { mass=1.988500e30,   x=-6.806783239281648e+08,  y= 1.080005533878725e+09,  z= 6.564012751690170e+06,  vx=-1.420511669610689e+01, vy=-4.954714716629277e+00, vz= 3.994237625449041e-01 }";
+        ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        double[] values = new double[KeyValueParser.FIELDS];
+        values[KeyValueParser.RADIUS] = 1.0;
+
+        KeyValueParser.parseLine(buf, 0, buf.limit(), values);
+        assertEquals(0.0, values[KeyValueParser.RADIUS]);
+        assertEquals(1.9885e30, values[KeyValueParser.MASS]);
+    }
+
+    /**
+     * Tests whether numbers are converted to the same double as Double.parseDouble() would,
+     * including mantissas of 19 and 20 digits which do not fit in a long
+     */
+    @Test public void testParseDouble(){
+        String[] numbers = {
+                "0", "-0.0", "1e3", "+2575.5e3", "000.00100", "5.741783385280979e-04",
+                "-9.435345478592035e+10", "1.7976931348623157e308", "4.9e-324", "123456789012345678901234567890",
+                "9999999999999999999", "-9999999999999999999", "99999999999999999999", "9223372036854775808",
+                "12345678901234567890", "0.9999999999999999999", "99999999999999999.99"
+        };
+        for(String n : numbers){
+            ByteBuffer buf = ByteBuffer.wrap(n.getBytes(StandardCharsets.US_ASCII));
+            assertEquals(Double.parseDouble(n), KeyValueParser.parseDouble(buf, 0, buf.limit()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package testing.blackbox;
+
+import interfaces.own.DataInterface;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import titan.math.Vector3d;
+import titan.math.equations.Equation1;
+import titan.physics.State;
+import titan.simulators.KeyframeTimeline;
+import titan.solvers.Euler;
+import titan.utility.Planet;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyframeTimelineTest {
+
+    /**
+     * Tests that the states computed again from the keyframes, in any order, are the states of solve,
+     * while the keyframes have been thinned to stay within their maximum.
+     * Assumes that x value of the position vector of an object in the state is y for dy/dt = y.
+     */
+    @Test public void testStateAt(){
+        State[] solved = (State[]) new Euler().solve(new Equation1(), initial(), 4.05, 0.1);
+        KeyframeTimeline timeline = new KeyframeTimeline(new Euler(), new Equation1(), initial(), 4.05, 0.1, 1, 4);
+        timeline.fill();
+
+        assertEquals(solved.length - 1, timeline.getSteps());
+        assertEquals(timeline.getSteps(), timeline.getFilled());
+        assertTrue(timeline.getInterval() >= 8);
+        int[] order = { 17, 3, 40, 41, 0, 18, 19, 29, 41 };
+        for(int i : order){ assertEquals(x(solved[i]), x(timeline.stateAt(i)), 1e-12); }
+    }
+
+    /**
+     * Tests that saved keyframes give the same states when loaded with fewer keyframes
+     */
+    @Test public void testSaveLoad(@TempDir Path directory) throws IOException {
+        KeyframeTimeline timeline = new KeyframeTimeline(new Euler(), new Equation1(), initial(), 4.05, 0.1, 1, 16);
+        timeline.fill();
+        Path file = directory.resolve("test.keyframes");
+        timeline.save(file);
+
+        KeyframeTimeline loaded = KeyframeTimeline.load(file, new Euler(), new Equation1(), 4);
+        assertEquals(timeline.getSteps(), loaded.getSteps());
+        loaded.fill();
+        for(int i = 0; i <= timeline.getSteps(); i += 5){ assertEquals(x(timeline.stateAt(i)), x(loaded.stateAt(i)), 1e-12); }
+    }
+
+    private static State initial(){
+        Planet p = new Planet();
+        p.setPosition(new Vector3d(1, 0, 0));
+        p.setVelocity(new Vector3d());
+        return new State(new DataInterface[]{ p });
+    }
+
+    private static double x(State s){ return s.getObjects()[0].getPosition().getX(); }
+}
@@ -32,7 +32,7 @@ public class KuttaTest {
         ODESolverInterface solver = new Kutta();
 
         State step = (State) solver.step(function, 0, new State(objects), 0.2);
-        assertEquals(1.04428, step.getObjects()[0].getPosition().getX());
+        assertEquals(1.2214, step.getObjects()[0].getPosition().getX(), 1e-12);   // 1 + h + h^2/2 + h^3/6 + h^4/24
     }
 
     /**
@@ -54,9 +54,8 @@ public class KuttaTest {
         State[] results = (State[]) solver.solve(function, new State(objects), 0.4, 0.2);
 
         assertEquals(1,      results[0].getObjects()[0].getPosition().getX());   // t = 0
-        assertEquals(1.04428,results[1].getObjects()[0].getPosition().getX());   // t = 0.2
+        assertEquals(1.2214, results[1].getObjects()[0].getPosition().getX(), 1e-12);     // t = 0.2
 
-        /* Can not hold true due to roundoff error */
-        assertEquals(1.090520718, results[2].getObjects()[0].getPosition().getX());// t = 0.4
+        assertEquals(1.49181796, results[2].getObjects()[0].getPosition().getX(), 1e-12); // t = 0.4
     }
 }
@@ -0,0 +1,69 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.wind.LinearRegression;
+import titan.wind.RegressionAccumulator;
+import titan.wind.WindowedRegression;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LinearRegressionTest {
+
+    /**
+     * Tests the fit on points that lie exactly on y = 2x + 1, asking for the intercept before the slope
+     */
+    @Test public void testExactLine(){
+        LinearRegression slr = new LinearRegression(Arrays.asList(1.0, 2.0, 3.0, 4.0), Arrays.asList(3.0, 5.0, 7.0, 9.0));
+        assertEquals(1.0, slr.getIntercept(), 1e-12);
+        assertEquals(2.0, slr.getSlope(), 1e-12);
+    }
+
+    /**
+     * Tests whether merging two halves gives the same fit as adding all samples to one accumulator
+     */
+    @Test public void testMerge(){
+        RegressionAccumulator all = new RegressionAccumulator();
+        RegressionAccumulator first = new RegressionAccumulator();
+        RegressionAccumulator second = new RegressionAccumulator();
+        for(int i = 0; i < 100; i++){
+            double x = i * 0.37;
+            double y = Math.sin(i) + 0.5 * x;
+            all.add(x, y);
+            (i < 40 ? first : second).add(x, y);
+        }
+        first.merge(second);
+        assertEquals(all.slope(), first.slope(), 1e-12);
+        assertEquals(all.intercept(), first.intercept(), 1e-12);
+        assertEquals(100, first.getCount());
+    }
+
+    /**
+     * Tests whether a weight of 2 is the same as adding the sample twice
+     */
+    @Test public void testWeighted(){
+        RegressionAccumulator weighted = new RegressionAccumulator();
+        RegressionAccumulator repeated = new RegressionAccumulator();
+        weighted.add(0, 1);
+        weighted.add(1, 2, 2);
+        weighted.add(3, 2);
+        repeated.add(0, 1);
+        repeated.add(1, 2);
+        repeated.add(1, 2);
+        repeated.add(3, 2);
+        assertEquals(repeated.slope(), weighted.slope(), 1e-12);
+        assertEquals(repeated.intercept(), weighted.intercept(), 1e-12);
+    }
+
+    /**
+     * Tests whether a window only fits the most recent samples
+     */
+    @Test public void testWindow(){
+        WindowedRegression window = new WindowedRegression(10);
+        for(int i = 0; i < 50; i++){ window.add(i, i < 40 ? -i : 3 * i + 4); }
+        assertEquals(10, window.size());
+        assertEquals(3.0, window.slope(), 1e-9);
+        assertEquals(4.0, window.intercept(), 1e-7);
+    }
+}
@@ -0,0 +1,47 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.fileIO.MappedWindDataReader;
+import titan.wind.WindDataset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class MappedWindDataReaderTest {
+
+    /**
+     * Tests the conversion of a timestamp from the wind data file into epoch nanoseconds
+     */
+    @Test public void testTimestamp(){
+        String time = "2005-01-14T09:12:20.596";
+        ByteBuffer buf = ByteBuffer.wrap(time.getBytes(StandardCharsets.US_ASCII));
+        LocalDateTime expected = LocalDateTime.parse(time);
+        assertEquals(expected.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + expected.getNano(),
+                MappedWindDataReader.parseTimestamp(buf, 0, buf.limit()));
+    }
+
+    /**
+     * Tests whether only the requested columns are read, and read correctly
+     */
+    @Test public void testColumns() throws Exception {
+        Path file = Files.createTempFile("wind", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, ("2005-01-14T09:12:20.596           144.03633            98.00738             0.77428\n"
+                + "2005-01-14T09:12:22.596           143.92933            98.12268             0.77481\n\n").getBytes(StandardCharsets.US_ASCII));
+
+        WindDataset data = new MappedWindDataReader().read(file.toString(), WindDataset.Column.ALTITUDE, WindDataset.Column.WIND_SPEED);
+        assertEquals(2, data.size());
+        assertArrayEquals(new double[]{144.03633, 143.92933}, data.getAltitude());
+        assertArrayEquals(new double[]{98.00738, 98.12268}, data.getWindSpeed());
+        assertNull(data.getTime());
+        assertNull(data.getWindError());
+    }
+}
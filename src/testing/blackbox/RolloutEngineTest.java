@@ -0,0 +1,49 @@
+package testing.blackbox;
+
+import Controller.ControllerPhysics;
+import Controller.LanderFunction;
+import Controller.RolloutEngine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RolloutEngineTest {
+    private static final double[] START = {0, 2574730 + 10000, 0.1, 5, -50, 0, 14845};
+
+    private static double[] schedules(int count) {
+        double[] schedules = new double[count * 2 * 8];
+        for (int i = 0; i < schedules.length; i++) schedules[i] = i % 2 == 0 ? (i % 7) / 6.0 : (i % 5) / 2.0 - 1;
+        return schedules;
+    }
+
+    /**
+     * Tests that a parallel batch gives exactly the same costs as rolling out every schedule on its own
+     */
+    @Test public void testParallelMatchesSequential() throws InterruptedException {
+        LanderFunction model = new LanderFunction(new ControllerPhysics(1));
+        double[] schedules = schedules(64);
+        RolloutEngine sequential = new RolloutEngine(model, 8, 1, 2, 1);
+        RolloutEngine parallel = new RolloutEngine(model, 8, 1, 2, 4);
+
+        double[] expected = new double[64];
+        for (int i = 0; i < 64; i++) expected[i] = sequential.rollout(START, schedules, i);
+        double[] costs = new double[64];
+        parallel.evaluate(START, schedules, 64, costs);
+        parallel.shutdown();
+
+        assertArrayEquals(expected, costs);
+    }
+
+    /**
+     * Tests that braking is cheaper than falling freely when the lander descends much faster than the braking profile
+     */
+    @Test public void testBrakingIsCheaper() {
+        RolloutEngine engine = new RolloutEngine(new LanderFunction(new ControllerPhysics(1)), 8, 1, 2, 1);
+        double[] start = {0, 2574730 + 500, 0, 0, -60, 0, 14845};
+        double[] schedules = new double[2 * 2 * 8];
+        for (int s = 0; s < 8; s++) schedules[2 * 8 + 2 * s] = 1;
+
+        assertTrue(engine.rollout(start, schedules, 1) < engine.rollout(start, schedules, 0));
+    }
+}
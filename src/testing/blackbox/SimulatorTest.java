@@ -0,0 +1,62 @@
+package testing.blackbox;
+
+import interfaces.given.StateInterface;
+import interfaces.own.DataInterface;
+import org.junit.jupiter.api.Test;
+import titan.physics.State;
+import titan.simulators.ProbeSimulator;
+import titan.simulators.RocketSimulator;
+import titan.solvers.Euler;
+import titan.solvers.Kutta;
+import titan.utility.Planet;
+import titan.utility.Rocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulatorTest {
+
+    /**
+     * Tests that the probe starts on the surface of earth and that its simulation stays finite,
+     * with steps of a day as in the GUIs and with small steps
+     */
+    @Test public void testProbe(){
+        ProbeSimulator simulator = new ProbeSimulator();
+        assertOnSurface(simulator.simulate(new Euler(), 86400, 86400)[0]);
+        assertFinite(simulator.simulate(new Euler(), 86400 * 10, 86400));
+        assertFinite(simulator.simulate(new Kutta(), 86400, 60));
+    }
+
+    /**
+     * Tests that the rocket starts on the surface of earth with the fuel that is left after paying for the launch,
+     * and that its simulation stays finite, with steps of a day as in the GUIs and with small steps
+     */
+    @Test public void testRocket(){
+        RocketSimulator simulator = new RocketSimulator();
+        StateInterface start = simulator.simulate(new Euler(), 86400, 86400)[0];
+        assertOnSurface(start);
+        DataInterface[] objects = ((State) start).getObjects();
+        assertEquals(7e5, ((Rocket) objects[objects.length - 1]).getFuelMass(), 1);
+        assertFinite(simulator.simulate(new Euler(), 86400 * 10, 86400));
+        assertFinite(simulator.simulate(new Kutta(), 86400, 60));
+    }
+
+    private static void assertOnSurface(StateInterface state){
+        DataInterface[] objects = ((State) state).getObjects();
+        Planet earth = (Planet) objects[3];
+        double distance = objects[objects.length - 1].getPosition().dist(earth.getPosition());
+        assertEquals(earth.getRadius(), distance, 1e-3);
+    }
+
+    private static void assertFinite(StateInterface[] states){
+        for(StateInterface state : states){
+            for(DataInterface object : ((State) state).getObjects()){
+                double[] values = {
+                        object.getPosition().getX(), object.getPosition().getY(), object.getPosition().getZ(),
+                        object.getVelocity().getX(), object.getVelocity().getY(), object.getVelocity().getZ()
+                };
+                for(double value : values){ assertTrue(Double.isFinite(value), object.getName() + " is not finite"); }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.gui.TrailBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrailBufferTest {
+
+    /**
+     * Tests that a straight path keeps only its start and the current position
+     */
+    @Test public void testStraightLine(){
+        TrailBuffer trails = new TrailBuffer(1, 16, 1e-9);
+        for(int i = 0; i <= 1000; i++){ trails.add(0, i, 2 * i, 0); }
+
+        double[] out = new double[3 * 17];
+        assertEquals(2, trails.copy(0, out));
+        assertEquals(0, out[0]);
+        assertEquals(1000, out[3]);
+        assertEquals(2000, out[4]);
+    }
+
+    /**
+     * Tests that every position of one orbit lies within the tolerance of the trail, however small the steps,
+     * and that the trail does not collapse to a few points
+     */
+    @Test public void testFineSteps(){
+        for(int steps : new int[]{ 365, 3650, 36500 }){
+            TrailBuffer trails = new TrailBuffer(1, 512, 0.5);
+            for(int i = 0; i < steps; i++){ trails.add(0, 50 * Math.cos(2 * Math.PI * i / steps), 50 * Math.sin(2 * Math.PI * i / steps), 0); }
+
+            double[] out = new double[3 * 513];
+            int n = trails.copy(0, out);
+            assertTrue(n > 20, steps + " steps");
+            assertTrue(deviation(out, n, 50, steps, steps) <= 0.5, steps + " steps");
+        }
+    }
+
+    /**
+     * Tests that a trail of many revolutions stays within its capacity, within its grown tolerance of the path
+     * and ends at the current position
+     */
+    @Test public void testBoundedCircle(){
+        TrailBuffer trails = new TrailBuffer(1, 64, 1e-3);
+        int steps = 628;
+        double angle = 0;
+        for(int i = 0; i < 100000; i++){
+            angle = 2 * Math.PI * i / steps;
+            trails.add(0, Math.cos(angle), Math.sin(angle), 0);
+        }
+
+        double[] out = new double[3 * 65];
+        int n = trails.copy(0, out);
+        assertTrue(n <= 65);
+        assertTrue(n > 8);
+        assertTrue(deviation(out, n, 1, steps, 100000) <= trails.getTolerance(0));
+        assertEquals(Math.cos(angle), out[3 * (n - 1)], 1e-12);
+        assertEquals(Math.sin(angle), out[3 * (n - 1) + 1], 1e-12);
+    }
+
+    /**
+     * @return The largest distance of the positions of a circle in the plane z = 0, taken in steps per revolution,
+     *         from the polyline
+     */
+    private static double deviation(double[] polyline, int n, double radius, int steps, int count){
+        double max = 0;
+        for(int i = 0; i < count; i++){
+            double px = radius * Math.cos(2 * Math.PI * i / steps), py = radius * Math.sin(2 * Math.PI * i / steps);
+            double min = Double.POSITIVE_INFINITY;
+            for(int k = 0; k + 1 < n; k++){
+                double ax = polyline[3 * k], ay = polyline[3 * k + 1];
+                double dx = polyline[3 * k + 3] - ax, dy = polyline[3 * k + 4] - ay;
+                double lengthSquared = dx * dx + dy * dy;
+                double u = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+                min = Math.min(min, Math.hypot(ax + u * dx - px, ay + u * dy - py));
+            }
+            max = Math.max(max, min);
+        }
+        return max;
+    }
+}
@@ -85,6 +85,23 @@ class Vector3dTest {
         assertEquals(8.75, a.dist(b));
     }
 
+    @Test void testAddMulInPlace() {
+        Vector3d a = new Vector3d( 0.6, 0.7, 0.8);
+        Vector3dInterface b = new Vector3d(-1.1, 0.1, 1.1);
+        Vector3d ab = a.addMulInPlace(0.5, b);
+        assertSame(a, ab);
+        assertEquals(0.6 + 0.5*(-1.1), a.getX());
+        assertEquals(0.7 + 0.5*0.1,    a.getY());
+        assertEquals(0.8 + 0.5*1.1,    a.getZ());
+    }
+
+    @Test void testArrayIsCopied() {
+        double[] values = {1.0, 2.0, 3.0};
+        Vector3dInterface v = new Vector3d(values);
+        values[0] = 5.0;
+        assertEquals(1.0, v.getX());
+    }
+
     @Test void testToString() {
         Vector3dInterface v = new Vector3d(-1.1, 2.1, -3.1);
         String stringV = "(-1.1,2.1,-3.1)";
@@ -0,0 +1,62 @@
+package testing.blackbox;
+
+import org.junit.jupiter.api.Test;
+import titan.math.Polynomial;
+import titan.wind.WindFunction;
+import titan.wind.WindNoise;
+import titan.wind.WindTable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WindTableTest {
+
+    /**
+     * Tests Horner's method against the polynomial written out term by term
+     */
+    @Test public void testPolynomial(){
+        Polynomial p = new Polynomial(1, -2, 0.5, 3);
+        double x = 1.7;
+        assertEquals(1 - 2*x + 0.5*x*x + 3*x*x*x, p.evaluate(x), 1e-12);
+        assertEquals(3, p.degree());
+    }
+
+    /**
+     * Tests whether linear interpolation is exact for a linear profile and clamps outside the table
+     */
+    @Test public void testLinear(){
+        WindTable table = WindTable.fromFunction(alt -> 2 * alt + 1, 0, 10, 11, WindTable.Interpolation.LINEAR);
+        assertEquals(8.0, table.windSpeed(3.5), 1e-12);
+        assertEquals(1.0, table.windSpeed(-4));
+        assertEquals(21.0, table.windSpeed(12));
+    }
+
+    /**
+     * Tests whether cubic interpolation reproduces a quadratic profile away from the edges of the table
+     */
+    @Test public void testCubic(){
+        WindTable table = WindTable.fromFunction(alt -> alt * alt, 0, 10, 101, WindTable.Interpolation.CUBIC);
+        assertEquals(5.25 * 5.25, table.windSpeed(5.25), 1e-12);
+    }
+
+    /**
+     * Tests whether samples are averaged per node and empty nodes are filled in from their neighbours
+     */
+    @Test public void testFromData(){
+        double[] altitude = {0, 0, 4};
+        double[] speed = {1, 3, 6};
+        WindTable table = WindTable.fromData(altitude, speed, 0, 4, 5, WindTable.Interpolation.LINEAR);
+        assertEquals(2.0, table.windSpeed(0));
+        assertEquals(3.0, table.windSpeed(1));
+        assertEquals(6.0, table.windSpeed(4));
+    }
+
+    /**
+     * Tests whether the same seed gives the same wind
+     */
+    @Test public void testSeededWind(){
+        WindTable table = WindTable.fromFunction(alt -> 100, 0, 10, 2, WindTable.Interpolation.LINEAR);
+        WindFunction a = new WindFunction(table, new WindNoise(42));
+        WindFunction b = new WindFunction(table, new WindNoise(42));
+        for(int i = 0; i < 10; i++){ assertEquals(a.windForce(i), b.windForce(i)); }
+    }
+}
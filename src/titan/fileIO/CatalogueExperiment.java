@@ -0,0 +1,95 @@
+package titan.fileIO;
+
+import titan.physics.BodyArrays;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures the throughput (lines per second) of PlanetReader and CatalogueReader on a generated body catalogue
+ */
+public class CatalogueExperiment {
+    public static void main(String[] args) throws Exception {
+        // Number of bodies in the generated catalogue
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+        // Runs that are thrown away to let the JIT compile the parsers, followed by the measured runs
+        int warmups = 3;
+        int runs = 5;
+
+        Path catalogue = Files.createTempFile("catalogue", ".txt");
+        catalogue.toFile().deleteOnExit();
+        generate(catalogue, lines);
+
+        PlanetReader planetReader = new PlanetReader();
+        planetReader.setFilePath(catalogue.toString());
+        CatalogueReader catalogueReader = new CatalogueReader();
+
+        for(int i = 0; i < warmups; i++){
+            planetReader.read();
+            catalogueReader.read(catalogue.toString());
+        }
+
+        long planetTime = 0, catalogueTime = 0;
+        int read = 0;
+        for(int i = 0; i < runs; i++){
+            long startTime = System.nanoTime();
+            planetReader.read();
+            planetTime += System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            BodyArrays bodies = catalogueReader.read(catalogue.toString());
+            catalogueTime += System.nanoTime() - startTime;
+            read = bodies.size();
+        }
+
+        double planetRate = lines / (planetTime / 1e9 / runs);
+        double catalogueRate = lines / (catalogueTime / 1e9 / runs);
+
+        System.out.println("Bodies read: " + read + " of " + lines);
+        System.out.printf(Locale.ROOT, "PlanetReader:    %.0f lines/s (%.1f ms per read)%n", planetRate, planetTime / 1e6 / runs);
+        System.out.printf(Locale.ROOT, "CatalogueReader: %.0f lines/s (%.1f ms per read)%n", catalogueRate, catalogueTime / 1e6 / runs);
+
+        /*
+         * Current file format/design:
+         * Reader,           Lines, Lines per second
+         * PlanetReader,     n,     r1
+         * CatalogueReader,  n,     r2
+         */
+        String columnSeparator = ",";
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+        try(PrintWriter writer = new PrintWriter(new File("src/experiments/" + fileName + " catalogue.csv"))){
+            writer.println("Reader" + columnSeparator + "Lines" + columnSeparator + "Lines per second");
+            writer.println("PlanetReader" + columnSeparator + lines + columnSeparator + planetRate);
+            writer.println("CatalogueReader" + columnSeparator + lines + columnSeparator + catalogueRate);
+        }
+        catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * Writes a catalogue of small bodies on random positions in the same format as the solar system data file
+     *
+     * @param file - the file to write to
+     * @param lines - the number of bodies to write
+     */
+    private static void generate(Path file, int lines) throws Exception {
+        Random random = new Random(42);
+        try(BufferedWriter writer = Files.newBufferedWriter(file)){
+            for(int i = 0; i < lines; i++){
+                writer.write(String.format(Locale.ROOT,
+                        "Body%d: { mass=%.6e,   radius=%.4e,   x=%.15e,  y=%.15e,  z=%.15e,  vx=%.15e, vy=%.15e, vz=%.15e }",
+                        i, random.nextDouble() * 1e18, random.nextDouble() * 1e5,
+                        random.nextGaussian() * 5e11, random.nextGaussian() * 5e11, random.nextGaussian() * 1e10,
+                        random.nextGaussian() * 2e4, random.nextGaussian() * 2e4, random.nextGaussian() * 1e3));
+                writer.newLine();
+            }
+        }
+    }
+}
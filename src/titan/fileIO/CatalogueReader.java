@@ -0,0 +1,134 @@
+package titan.fileIO;
+
+import titan.physics.BodyArrays;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reader for large body catalogues (tens of thousands of asteroids or other small bodies) that use the same
+ * line format as the solar system data file.
+ *
+ * The file is memory-mapped chunk by chunk, every chunk ends at a line boundary and is parsed on its own thread
+ * straight into primitive arrays. No Planet or vector objects are created while reading;
+ * use BodyArrays.toState() if the bodies are needed as a State.
+ */
+public class CatalogueReader {
+    private static final int DEFAULT_CHUNK_SIZE = 4 << 20; // 4 MB
+
+    private final int chunkSize;
+    private final int threads;
+    private final boolean keepNames;
+
+    /**
+     * Constructs a reader with 4 MB chunks, one thread per processor, that keeps the names of the bodies
+     */
+    public CatalogueReader(){ this(DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors(), true); }
+
+    /**
+     * Constructs a reader
+     *
+     * @param chunkSize - the number of bytes that are mapped and parsed at a time (a chunk grows if a line does not fit)
+     * @param threads - the number of threads parsing chunks in parallel
+     * @param keepNames - if false, names are not read which saves 1 String per body
+     */
+    public CatalogueReader(int chunkSize, int threads, boolean keepNames){
+        if (chunkSize < 1 || threads < 1){ throw new IllegalArgumentException("Chunk size and thread count have to be positive"); }
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.keepNames = keepNames;
+    }
+
+    /**
+     * Reads all bodies in the catalogue
+     *
+     * @param fileLocation - entire path to the catalogue file
+     * @return The bodies in the order they appear in the file
+     * @throws IOException if the file can not be read
+     */
+    public BodyArrays read(String fileLocation) throws IOException {
+        Path path = Paths.get(fileLocation);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<BodyArrays>> chunks = new ArrayList<>();
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            long size = channel.size();
+            long position = 0;
+            while(position < size){
+                MappedByteBuffer chunk = mapChunk(channel, position, size);
+                position += chunk.limit();
+                chunks.add(pool.submit(() -> parse(chunk)));
+            }
+
+            BodyArrays bodies = new BodyArrays(0);
+            for(Future<BodyArrays> f : chunks){ bodies.addAll(f.get()); }
+            bodies.trim();
+            return bodies;
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("Reading the catalogue was interrupted", e);
+        }
+        catch(ExecutionException e){ throw new IOException("Catalogue could not be parsed | Location: " + fileLocation, e.getCause()); }
+        finally { pool.shutdownNow(); }
+    }
+
+    /**
+     * Maps the next chunk of the file, cut off after the last complete line
+     */
+    private MappedByteBuffer mapChunk(FileChannel channel, long position, long size) throws IOException {
+        long length = Math.min(chunkSize, size - position);
+        while(true){
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (position + length == size){ return chunk; }
+
+            for(int i = (int) length - 1; i >= 0; i--){
+                if (chunk.get(i) == '\n'){
+                    chunk.limit(i + 1);
+                    return chunk;
+                }
+            }
+            // Line is longer than the chunk, try again with a bigger chunk
+            length = Math.min(length * 2, size - position);
+        }
+    }
+
+    /**
+     * Parses all body lines in a chunk. Runs on a worker thread.
+     */
+    private BodyArrays parse(ByteBuffer chunk){
+        int limit = chunk.limit();
+        BodyArrays bodies = new BodyArrays(limit / 128);
+        double[] d = new double[KeyValueParser.FIELDS];
+
+        int start = 0;
+        while(start < limit){
+            int end = KeyValueParser.lineEnd(chunk, start, limit);
+            int lineStart = start;
+            start = end + 1;
+
+            if (end > lineStart && chunk.get(end - 1) == '\r'){ end--; }
+            if (!KeyValueParser.isBodyLine(chunk, lineStart, end)){ continue; }
+
+            int colon = KeyValueParser.parseLine(chunk, lineStart, end, d);
+            if (colon < 0){ continue; }
+
+            String name = keepNames ? KeyValueParser.name(chunk, lineStart, colon) : null;
+            bodies.add(name, d[KeyValueParser.MASS], d[KeyValueParser.RADIUS],
+                    d[KeyValueParser.X], d[KeyValueParser.Y], d[KeyValueParser.Z],
+                    d[KeyValueParser.VX], d[KeyValueParser.VY], d[KeyValueParser.VZ]);
+        }
+        return bodies;
+    }
+}
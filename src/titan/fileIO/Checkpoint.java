@@ -0,0 +1,242 @@
+package titan.fileIO;
+
+import interfaces.given.ODESolverInterface;
+import interfaces.own.DataInterface;
+import titan.math.Vector3d;
+import titan.physics.State;
+import titan.utility.Planet;
+import titan.utility.Rocket;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Snapshot of a running simulation that can be written to and read from disk.
+ *
+ * The snapshot holds the step index, the run it belongs to (solver, final time and step size), the current state
+ * and the solver history (i.e. the previous state that Verlet needs to take its next step).
+ * All values are copied into primitive arrays when the snapshot is taken, so the integration thread
+ * can carry on while the snapshot is written by another thread.
+ */
+public class Checkpoint {
+    private static final int MAGIC = 0x5449544E; // "TITN"
+    private static final int VERSION = 2;
+
+    private static final byte PLANET = 0;
+    private static final byte ROCKET = 1;
+
+    private static final int FIELDS = 8; // mass, radius, x, y, z, vx, vy, vz
+
+    private final int step;
+    private final String solver;
+    private final double tf;
+    private final double h;
+    private final Snapshot current;
+    private final Snapshot previous;
+
+    private Checkpoint(int step, String solver, double tf, double h, Snapshot current, Snapshot previous){
+        this.step = step;
+        this.solver = solver;
+        this.tf = tf;
+        this.h = h;
+        this.current = current;
+        this.previous = previous;
+    }
+
+    /**
+     * Copies the state and its previous state into a checkpoint
+     *
+     * @param step - the index of the state within the simulation (i.e. number of steps taken so far)
+     * @param solver - the solver the simulation is running with
+     * @param tf - the final time of the simulation
+     * @param h - the step size the simulation is running with
+     * @param state - the state that needs to be saved
+     * @return A checkpoint that no longer refers to the state or any of its objects
+     */
+    public static Checkpoint capture(int step, ODESolverInterface solver, double tf, double h, State state){
+        Snapshot previous = state.getPrevious() == null ? null : new Snapshot(state.getPrevious());
+        return new Checkpoint(step, solver.getClass().getName(), tf, h, new Snapshot(state), previous);
+    }
+
+    /**
+     * Checks whether the checkpoint was taken in a run of the same simulation, so that run can restart from it
+     *
+     * @param solver - the solver of the run
+     * @param tf - the final time of the run
+     * @param h - the step size of the run
+     * @return True if the checkpoint was taken with the same kind of solver, final time and step size
+     */
+    public boolean matches(ODESolverInterface solver, double tf, double h){
+        return this.solver.equals(solver.getClass().getName()) && this.tf == tf && this.h == h;
+    }
+
+    /**
+     * Accesses the step index the checkpoint was taken at
+     *
+     * @return The number of steps that were taken when the checkpoint was captured
+     */
+    public int getStep(){ return step; }
+
+    /**
+     * Accesses the solver the simulation was running with
+     *
+     * @return String representing the class name of the solver
+     */
+    public String getSolver(){ return solver; }
+
+    /**
+     * Accesses the final time of the simulation
+     *
+     * @return Double representing the final time tf
+     */
+    public double getFinalTime(){ return tf; }
+
+    /**
+     * Accesses the step size the simulation was running with
+     *
+     * @return Double representing the step size h
+     */
+    public double getStepSize(){ return h; }
+
+    /**
+     * Rebuilds the saved state including its previous state if one was saved
+     *
+     * @return A new state equal to the state that was captured
+     */
+    public State restore(){
+        State state = current.restore();
+        if (previous != null){ state.setPrevious(previous.restore()); }
+        return state;
+    }
+
+    /**
+     * Writes the checkpoint in binary format
+     *
+     * @param out - the stream to write to
+     * @throws IOException if the stream could not be written to
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(step);
+        out.writeUTF(solver);
+        out.writeDouble(tf);
+        out.writeDouble(h);
+        current.write(out);
+        out.writeBoolean(previous != null);
+        if (previous != null){ previous.write(out); }
+    }
+
+    /**
+     * Reads a checkpoint that has been written with write()
+     *
+     * @param in - the stream to read from
+     * @return The checkpoint stored in the stream
+     * @throws IOException if the stream could not be read or does not contain a checkpoint
+     */
+    public static Checkpoint read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC){ throw new IOException("Not a checkpoint file"); }
+        int version = in.readInt();
+        if (version != VERSION){ throw new IOException("Unsupported checkpoint version: " + version); }
+
+        int step = in.readInt();
+        String solver = in.readUTF();
+        double tf = in.readDouble();
+        double h = in.readDouble();
+        Snapshot current = Snapshot.read(in);
+        Snapshot previous = in.readBoolean() ? Snapshot.read(in) : null;
+        return new Checkpoint(step, solver, tf, h, current, previous);
+    }
+
+    /**
+     * Primitive copy of a single state
+     */
+    private static class Snapshot {
+        private final double period;
+        private final String[] names;
+        private final byte[] kinds;
+        private final double[] values;
+
+        Snapshot(State state){
+            DataInterface[] objects = state.getObjects();
+            period = state.getPeriod();
+            names = new String[objects.length];
+            kinds = new byte[objects.length];
+            values = new double[objects.length * FIELDS];
+
+            for(int i = 0; i < objects.length; i++){
+                DataInterface obj = objects[i];
+                int offset = i * FIELDS;
+                names[i] = obj.getName();
+
+                if (obj instanceof Rocket){
+                    kinds[i] = ROCKET;
+                    values[offset] = ((Rocket) obj).getFuelMass();
+                }
+                else {
+                    kinds[i] = PLANET;
+                    values[offset] = obj.getMass();
+                    if (obj instanceof Planet){ values[offset + 1] = ((Planet) obj).getRadius(); }
+                }
+                values[offset + 2] = obj.getPosition().getX();
+                values[offset + 3] = obj.getPosition().getY();
+                values[offset + 4] = obj.getPosition().getZ();
+                values[offset + 5] = obj.getVelocity().getX();
+                values[offset + 6] = obj.getVelocity().getY();
+                values[offset + 7] = obj.getVelocity().getZ();
+            }
+        }
+
+        private Snapshot(double period, String[] names, byte[] kinds, double[] values){
+            this.period = period;
+            this.names = names;
+            this.kinds = kinds;
+            this.values = values;
+        }
+
+        State restore(){
+            DataInterface[] objects = new DataInterface[names.length];
+            for(int i = 0; i < objects.length; i++){
+                int offset = i * FIELDS;
+                Vector3d x = new Vector3d(values[offset + 2], values[offset + 3], values[offset + 4]);
+                Vector3d v = new Vector3d(values[offset + 5], values[offset + 6], values[offset + 7]);
+
+                if (kinds[i] == ROCKET){
+                    Rocket rocket = new Rocket(x, v);
+                    rocket.setName(names[i]);
+                    rocket.setMass(values[offset]);
+                    objects[i] = rocket;
+                }
+                else { objects[i] = new Planet(names[i], values[offset], values[offset + 1], x, v); }
+            }
+            State state = new State(objects);
+            state.setPeriod(period);
+            return state;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeDouble(period);
+            out.writeInt(names.length);
+            for(int i = 0; i < names.length; i++){
+                out.writeUTF(names[i] == null ? "" : names[i]);
+                out.writeByte(kinds[i]);
+            }
+            for(double d : values){ out.writeDouble(d); }
+        }
+
+        static Snapshot read(DataInputStream in) throws IOException {
+            double period = in.readDouble();
+            int length = in.readInt();
+            String[] names = new String[length];
+            byte[] kinds = new byte[length];
+            for(int i = 0; i < length; i++){
+                names[i] = in.readUTF();
+                kinds[i] = in.readByte();
+            }
+            double[] values = new double[length * FIELDS];
+            for(int i = 0; i < values.length; i++){ values[i] = in.readDouble(); }
+            return new Snapshot(period, names, kinds, values);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package titan.fileIO;
+
+import interfaces.given.ODESolverInterface;
+import titan.physics.State;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Periodically saves the state of a long simulation to disk so that it can be restarted later on.
+ *
+ * Checkpoints are written by a background thread: the integration thread only copies the state into a
+ * checkpoint and hands it over. If the writer is still busy when the next checkpoint arrives, the older
+ * pending checkpoint is dropped, so the integration thread never has to wait on the disk.
+ * Every checkpoint is first written to a temporary file that is then atomically moved over the previous one,
+ * meaning a crash during a write always leaves the last complete checkpoint behind.
+ */
+public class CheckpointManager {
+    private static final String FILE_NAME = "checkpoint.bin";
+    private static final String TEMP_NAME = "checkpoint.tmp";
+
+    private final Path directory;
+    private final int interval;
+
+    private final AtomicReference<Checkpoint> pending = new AtomicReference<>();
+    private final ExecutorService writer;
+
+    /**
+     * Constructs a checkpoint manager
+     *
+     * @param directory - the directory the checkpoint file should be stored in
+     * @param interval - the number of steps between 2 checkpoints
+     */
+    public CheckpointManager(String directory, int interval){
+        if (interval < 1){ throw new IllegalArgumentException("Checkpoint interval has to be at least 1 step"); }
+        this.directory = Paths.get(directory);
+        this.interval = interval;
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Accesses the number of steps between 2 checkpoints
+     *
+     * @return Integer representing the checkpoint interval
+     */
+    public int getInterval(){ return interval; }
+
+    /**
+     * Saves the state if the step is a multiple of the checkpoint interval
+     *
+     * @param step - the index of the state within the simulation
+     * @param solver - the solver the simulation is running with
+     * @param tf - the final time of the simulation
+     * @param h - the step size the simulation is running with
+     * @param state - the state that was just computed
+     */
+    public void offer(int step, ODESolverInterface solver, double tf, double h, State state){
+        if (step % interval == 0){ save(step, solver, tf, h, state); }
+    }
+
+    /**
+     * Saves the state in the background regardless of the checkpoint interval
+     *
+     * @param step - the index of the state within the simulation
+     * @param solver - the solver the simulation is running with
+     * @param tf - the final time of the simulation
+     * @param h - the step size the simulation is running with
+     * @param state - the state that needs to be saved
+     */
+    public void save(int step, ODESolverInterface solver, double tf, double h, State state){
+        if (pending.getAndSet(Checkpoint.capture(step, solver, tf, h, state)) == null){
+            writer.execute(this::writePending);
+        }
+    }
+
+    /**
+     * Reads the latest complete checkpoint from disk
+     *
+     * @return The latest checkpoint or null if there is no (readable) checkpoint
+     */
+    public Checkpoint loadLatest(){
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)){ return null; }
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            return Checkpoint.read(in);
+        }
+        catch(IOException e){
+            System.out.println("Checkpoint could not be read, starting from the initial state | Location: " + file);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the checkpoint file, e.g. after a simulation has completed
+     */
+    public void clear(){
+        flush();
+        try{ Files.deleteIfExists(directory.resolve(FILE_NAME)); }
+        catch(IOException e){ e.printStackTrace(); }
+    }
+
+    /**
+     * Waits until all handed over checkpoints have been written to disk
+     */
+    public void flush(){
+        try{ writer.submit(() -> { }).get(); }
+        catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * Writes any remaining checkpoint and stops the background writer
+     */
+    public void close(){
+        writer.shutdown();
+        try{ writer.awaitTermination(1, TimeUnit.MINUTES); }
+        catch(InterruptedException e){ Thread.currentThread().interrupt(); }
+    }
+
+    /**
+     * Writes the most recent checkpoint that has been handed over. Runs on the writer thread.
+     */
+    private void writePending(){
+        Checkpoint checkpoint = pending.getAndSet(null);
+        if (checkpoint == null){ return; }
+
+        try{
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(TEMP_NAME);
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))){
+                checkpoint.write(out);
+            }
+            Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(IOException e){ e.printStackTrace(); }
+    }
+}
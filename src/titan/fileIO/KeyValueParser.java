@@ -0,0 +1,243 @@
+package titan.fileIO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser for the body lines used in the solar system data file, for example:
+ *      Earth: { mass=5.97219e24,   radius=6371e3,   x=-1.47e+11,  y=-2.86e+10,  z= 8.27e+06,  vx= 5.42e+03, vy=-2.93e+04, vz= 6.57e-01 }
+ *
+ * The parser works directly on the bytes of a buffer and writes the values into a caller supplied array,
+ * so parsing a line does not create any String or StringBuilder objects.
+ * Numbers are converted with an exact fast path whenever the mantissa fits in 53 bits and the decimal exponent
+ * lies within [-22, 22], which covers all values in the data files. Anything else falls back to Double.parseDouble().
+ */
+public class KeyValueParser {
+    public static final int MASS    = 0;
+    public static final int RADIUS  = 1;
+    public static final int X       = 2;
+    public static final int Y       = 3;
+    public static final int Z       = 4;
+    public static final int VX      = 5;
+    public static final int VY      = 6;
+    public static final int VZ      = 7;
+
+    /**
+     * Number of values parseLine() writes into the values array
+     */
+    public static final int FIELDS  = 8;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final int MAX_DIGITS = 18;          // Any 18 digits fit in a long, 19 nines do not
+
+    /**
+     * Parses a body line within [start, end) of the buffer.
+     * Values that are not present in the line are set to 0.0, unknown keys are skipped.
+     *
+     * @param buf - the buffer containing the line
+     * @param start - index of the first byte of the line
+     * @param end - index after the last byte of the line
+     * @param values - array of at least FIELDS doubles to store the values in, ordered by the field constants
+     * @return The index of the ':' ending the name of the body, or -1 if the line is not a body line
+     */
+    public static int parseLine(ByteBuffer buf, int start, int end, double[] values){
+        int colon = indexOf(buf, start, end, (byte) ':');
+        if (colon < 0){ return -1; }
+        int i = indexOf(buf, colon + 1, end, (byte) '{');
+        if (i < 0){ return -1; }
+
+        for(int f = 0; f < FIELDS; f++){ values[f] = 0.0; }
+
+        i++;
+        while(i < end){
+            byte b = buf.get(i);
+            if (b == '}'){ break; }
+            if (b == ' ' || b == ',' || b == '\t'){ i++; continue; }
+
+            int keyStart = i;
+            while(i < end && buf.get(i) != '='){ i++; }
+            if (i >= end){ break; }
+            int field = field(buf, keyStart, i);
+
+            i++;
+            while(i < end && buf.get(i) == ' '){ i++; }
+            int valueStart = i;
+            while(i < end){
+                b = buf.get(i);
+                if (b == ',' || b == '}' || b == ' ' || b == '\t'){ break; }
+                i++;
+            }
+            if (field >= 0){ values[field] = parseDouble(buf, valueStart, i); }
+        }
+        return colon;
+    }
+
+    /**
+     * Checks whether a line should be parsed at all.
+     * Empty lines, lines starting with a space and lines containing a "//" comment are skipped.
+     *
+     * @param buf - the buffer containing the line
+     * @param start - index of the first byte of the line
+     * @param end - index after the last byte of the line (excluding line feed)
+     * @return True if and only if the line may contain a body
+     */
+    public static boolean isBodyLine(ByteBuffer buf, int start, int end){
+        if (end <= start || buf.get(start) == ' '){ return false; }
+        for(int i = start + 1; i < end; i++){
+            if (buf.get(i) == '/' && buf.get(i - 1) == '/'){ return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the name of a body line
+     *
+     * @param buf - the buffer containing the line
+     * @param start - index of the first byte of the line
+     * @param colon - the index returned by parseLine()
+     * @return String containing the name in front of the ':'
+     */
+    public static String name(ByteBuffer buf, int start, int colon){
+        byte[] bytes = new byte[colon - start];
+        for(int i = 0; i < bytes.length; i++){ bytes[i] = buf.get(start + i); }
+        return new String(bytes, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Finds the end of the line starting at the given index
+     *
+     * @param buf - the buffer to search in
+     * @param start - index of the first byte of the line
+     * @param limit - index after the last byte that may be searched
+     * @return The index of the line feed ending the line, or limit if the line is not terminated
+     */
+    public static int lineEnd(ByteBuffer buf, int start, int limit){
+        for(int i = start; i < limit; i++){
+            if (buf.get(i) == '\n'){ return i; }
+        }
+        return limit;
+    }
+
+    /**
+     * Converts the bytes within [start, end) into a double
+     *
+     * @param buf - the buffer containing the number
+     * @param start - index of the first byte of the number
+     * @param end - index after the last byte of the number
+     * @return The double represented by the bytes
+     * @throws NumberFormatException if the bytes do not represent a number
+     */
+    public static double parseDouble(ByteBuffer buf, int start, int end){
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')){
+            negative = buf.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, significant = 0, exponent = 0;
+        boolean exact = true;
+
+        // Integer part: digits that no longer fit in the mantissa only shift the exponent
+        int d;
+        while(i < end && (d = buf.get(i) - '0') >= 0 && d <= 9){
+            if (mantissa == 0 && d == 0){ /* leading zero */ }
+            else if (significant < MAX_DIGITS){ mantissa = mantissa * 10 + d; significant++; }
+            else { exponent++; if (d != 0){ exact = false; } }
+            digits++;
+            i++;
+        }
+        // Fraction part: every digit that is taken into the mantissa lowers the exponent
+        if (i < end && buf.get(i) == '.'){
+            i++;
+            while(i < end && (d = buf.get(i) - '0') >= 0 && d <= 9){
+                if (mantissa == 0 && d == 0){ exponent--; }
+                else if (significant < MAX_DIGITS){ mantissa = mantissa * 10 + d; significant++; exponent--; }
+                else if (d != 0){ exact = false; }
+                digits++;
+                i++;
+            }
+        }
+        if (digits > 0 && i < end && (buf.get(i) == 'e' || buf.get(i) == 'E')){
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')){
+                negativeExponent = buf.get(i) == '-';
+                i++;
+            }
+            int e = 0, exponentDigits = 0;
+            while(i < end && (d = buf.get(i) - '0') >= 0 && d <= 9){
+                if (e < 10000){ e = e * 10 + d; }
+                exponentDigits++;
+                i++;
+            }
+            if (exponentDigits == 0){ return slowParse(buf, start, end); }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        if (digits == 0 || i != end){ return slowParse(buf, start, end); }
+        if (mantissa == 0){ return negative ? -0.0 : 0.0; }
+        if (!exact){ return slowParse(buf, start, end); }
+
+        while(mantissa % 10 == 0){ mantissa /= 10; exponent++; }
+
+        // Move surplus powers of ten into the mantissa as long as it stays exactly representable
+        while(exponent > 22 && mantissa < MAX_EXACT_MANTISSA / 10){ mantissa *= 10; exponent--; }
+
+        if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22){ return slowParse(buf, start, end); }
+
+        double result = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -result : result;
+    }
+
+    /**
+     * Maps a key within [start, end) to its field constant
+     *
+     * @return The field constant of the key or -1 if the key is unknown
+     */
+    private static int field(ByteBuffer buf, int start, int end){
+        while(end > start && buf.get(end - 1) == ' '){ end--; }
+        int length = end - start;
+        if (length == 1){
+            byte b = buf.get(start);
+            if (b == 'x'){ return X; }
+            if (b == 'y'){ return Y; }
+            if (b == 'z'){ return Z; }
+            if (b == 'r'){ return RADIUS; }
+        }
+        else if (length == 2 && buf.get(start) == 'v'){
+            byte b = buf.get(start + 1);
+            if (b == 'x'){ return VX; }
+            if (b == 'y'){ return VY; }
+            if (b == 'z'){ return VZ; }
+        }
+        else if (length == 4 && matches(buf, start, "mass")){ return MASS; }
+        else if (length == 6 && matches(buf, start, "radius")){ return RADIUS; }
+        return -1;
+    }
+
+    private static boolean matches(ByteBuffer buf, int start, String key){
+        for(int i = 0; i < key.length(); i++){
+            if (buf.get(start + i) != key.charAt(i)){ return false; }
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buf, int start, int end, byte target){
+        for(int i = start; i < end; i++){
+            if (buf.get(i) == target){ return i; }
+        }
+        return -1;
+    }
+
+    private static double slowParse(ByteBuffer buf, int start, int end){
+        byte[] bytes = new byte[end - start];
+        for(int i = 0; i < bytes.length; i++){ bytes[i] = buf.get(start + i); }
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,177 @@
+package titan.fileIO;
+
+import titan.wind.WindDataset;
+import titan.wind.WindDataset.Column;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Reader for wind data files in the format of WindData.txt: one measurement per line, with the whitespace separated
+ * columns time (ISO-8601, UTC), altitude (km), wind speed (m/s) and wind speed error (m/s).
+ *
+ * The file is memory-mapped and parsed straight into primitive arrays; only the requested columns are converted.
+ * Unlike WindDataReader no Scanner, boxed doubles or date strings are involved.
+ */
+public class MappedWindDataReader {
+    public static final String DEFAULT_LOCATION = "src/titan/fileIO/WindData.txt";
+
+    private static final Column[] FILE_COLUMNS = {Column.TIME, Column.ALTITUDE, Column.WIND_SPEED, Column.WIND_ERROR};
+
+    /**
+     * Reads all columns of the default wind data file
+     *
+     * @return The dataset
+     * @throws IOException if the file can not be read
+     */
+    public WindDataset read() throws IOException { return read(DEFAULT_LOCATION); }
+
+    /**
+     * Reads the requested columns of a wind data file
+     *
+     * @param fileLocation - entire path to the wind data file
+     * @param columns - the columns to read, all columns if none are given
+     * @return The dataset, columns that were not requested are null
+     * @throws IOException if the file can not be read or contains a malformed value
+     */
+    public WindDataset read(String fileLocation, Column... columns) throws IOException {
+        EnumSet<Column> selected = columns.length == 0 ? EnumSet.allOf(Column.class) : EnumSet.noneOf(Column.class);
+        for(Column c : columns){ selected.add(c); }
+
+        ByteBuffer buf;
+        try(FileChannel channel = FileChannel.open(Paths.get(fileLocation), StandardOpenOption.READ)){
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int limit = buf.limit();
+        int lines = countLines(buf, limit);
+        long[] time = selected.contains(Column.TIME) ? new long[lines] : null;
+        double[][] values = new double[FILE_COLUMNS.length][];
+        for(int c = 1; c < FILE_COLUMNS.length; c++){
+            if (selected.contains(FILE_COLUMNS[c])){ values[c] = new double[lines]; }
+        }
+
+        int row = 0;
+        int start = 0;
+        while(start < limit){
+            int end = KeyValueParser.lineEnd(buf, start, limit);
+            int lineStart = start;
+            start = end + 1;
+
+            int column = 0;
+            int i = lineStart;
+            while(column < FILE_COLUMNS.length){
+                while(i < end && isSpace(buf.get(i))){ i++; }
+                if (i == end){ break; }
+                int tokenStart = i;
+                while(i < end && !isSpace(buf.get(i))){ i++; }
+
+                try{
+                    if (column == 0){ if (time != null){ time[row] = parseTimestamp(buf, tokenStart, i); } }
+                    else if (values[column] != null){ values[column][row] = KeyValueParser.parseDouble(buf, tokenStart, i); }
+                }
+                catch(NumberFormatException | DateTimeParseException e){
+                    throw new IOException("Malformed value on line " + (row + 1) + " | Location: " + fileLocation, e);
+                }
+                column++;
+            }
+
+            if (column == 0){ continue; }   // empty line
+            if (column < FILE_COLUMNS.length){ throw new IOException("Line " + (row + 1) + " has only " + column + " columns | Location: " + fileLocation); }
+            row++;
+        }
+
+        return new WindDataset(
+                time == null ? null : trim(time, row),
+                trim(values[1], row), trim(values[2], row), trim(values[3], row));
+    }
+
+    /**
+     * Converts an ISO-8601 timestamp without zone (yyyy-MM-ddTHH:mm:ss[.fraction]), interpreted as UTC, into epoch nanoseconds.
+     * The common format is parsed by hand, anything else is left to java.time.
+     *
+     * @param buf - the buffer containing the timestamp
+     * @param start - index of the first byte of the timestamp
+     * @param end - index after the last byte of the timestamp
+     * @return Nanoseconds since 1970-01-01T00:00Z
+     */
+    public static long parseTimestamp(ByteBuffer buf, int start, int end){
+        if (end - start < 19 || buf.get(start + 4) != '-' || buf.get(start + 7) != '-' || buf.get(start + 10) != 'T'
+                || buf.get(start + 13) != ':' || buf.get(start + 16) != ':' || (end - start > 19 && buf.get(start + 19) != '.')){
+            return slowTimestamp(buf, start, end);
+        }
+        int year = digits(buf, start, 4), month = digits(buf, start + 5, 2), day = digits(buf, start + 8, 2);
+        int hour = digits(buf, start + 11, 2), minute = digits(buf, start + 14, 2), second = digits(buf, start + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59){
+            return slowTimestamp(buf, start, end);
+        }
+
+        long nanos = 0;
+        int fractionDigits = end - start - 20;
+        if (fractionDigits > 0){
+            if (fractionDigits > 9){ return slowTimestamp(buf, start, end); }
+            nanos = digits(buf, start + 20, fractionDigits);
+            if (nanos < 0){ return slowTimestamp(buf, start, end); }
+            for(int i = fractionDigits; i < 9; i++){ nanos *= 10; }
+        }
+
+        long seconds = ((daysSinceEpoch(year, month, day) * 24 + hour) * 60 + minute) * 60 + second;
+        return seconds * 1_000_000_000L + nanos;
+    }
+
+    /**
+     * Days between 1970-01-01 and the given date in the proleptic Gregorian calendar
+     */
+    private static long daysSinceEpoch(int year, int month, int day){
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long slowTimestamp(ByteBuffer buf, int start, int end){
+        byte[] bytes = new byte[end - start];
+        for(int i = 0; i < bytes.length; i++){ bytes[i] = buf.get(start + i); }
+        LocalDateTime t = LocalDateTime.parse(new String(bytes, StandardCharsets.US_ASCII));
+        return t.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + t.getNano();
+    }
+
+    /**
+     * @return The value of the given number of decimal digits, -1 if one of the bytes is not a digit
+     */
+    private static int digits(ByteBuffer buf, int start, int count){
+        int value = 0;
+        for(int i = start; i < start + count; i++){
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9){ return -1; }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static boolean isSpace(byte b){ return b == ' ' || b == '\t' || b == '\r'; }
+
+    /**
+     * Upper bound on the number of data lines: the number of line feeds, plus 1 for an unterminated last line
+     */
+    private static int countLines(ByteBuffer buf, int limit){
+        int lines = 0;
+        for(int i = 0; i < limit; i++){ if (buf.get(i) == '\n'){ lines++; } }
+        return limit > 0 && buf.get(limit - 1) != '\n' ? lines + 1 : lines;
+    }
+
+    private static long[] trim(long[] a, int size){ return a.length == size ? a : Arrays.copyOf(a, size); }
+    private static double[] trim(double[] a, int size){ return a == null || a.length == size ? a : Arrays.copyOf(a, size); }
+}
@@ -8,9 +8,11 @@ import titan.utility.Rocket;
 import titan.math.Vector3d;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 public class PlanetReader implements ReaderInterface<DataInterface> {
 	List<DataInterface> objectsInSpace = null;
@@ -43,127 +45,39 @@ public class PlanetReader implements ReaderInterface<DataInterface> {
 	 */
 	public void read() {
 		objectsInSpace = new ArrayList<>();
-		String
-				massLabel 	= "mass=",
-				radiusLabel = "radius=",
-				xPosLabel 	= "x=",
-				yPosLabel 	= "y=",
-				zPosLabel 	= "z=",
-				xVelLabel 	= "vx=",
-				yVelLabel 	= "vy=",
-				zVelLabel 	= "vz=";
-
-		DataInterface data;
-		Vector3dInterface pos, vel;
-
-		StringBuilder
-				massBuilder, radiusBuilder,
-				pxBuilder, pyBuilder, pzBuilder,
-				vxBuilder, vyBuilder, vzBuilder;
-
+		double[] d = new double[KeyValueParser.FIELDS];
 
 		try{
 			File f = new File(fileLocation);
 			if (!f.exists()){ System.out.println("File at specified location does not exist! | Location: " + fileLocation); return; }
-			Scanner reader  = new Scanner(f);
-			while(reader.hasNextLine()){
-				String line = reader.nextLine();
-				if (line.length() < 1 || line.contains("//") || line.startsWith(" ")){ continue; }
-
-				massBuilder = new StringBuilder();
-				radiusBuilder = new StringBuilder();
-				pxBuilder = new StringBuilder();
-				pyBuilder = new StringBuilder();
-				pzBuilder = new StringBuilder();
-				vxBuilder = new StringBuilder();
-				vyBuilder = new StringBuilder();
-				vzBuilder = new StringBuilder();
-
-				int massIndex 	= line.indexOf(massLabel);
-				int radiusIndex = line.indexOf(radiusLabel);
-				int xPosIndex 	= line.indexOf(xPosLabel);
-				int yPosIndex 	= line.indexOf(yPosLabel);
-				int zPosIndex 	= line.indexOf(zPosLabel);
-				int xVelIndex 	= line.indexOf(xVelLabel);
-				int yVelIndex 	= line.indexOf(yVelLabel);
-				int zVelIndex 	= line.indexOf(zVelLabel);
-
-				char[] charInLine = line.toCharArray();
-				for(int i = massIndex + massLabel.length(); i < xPosIndex; i++){
-					if 		(charInLine[i] == ',') { break; }
-					else if (charInLine[i] == ' ') { continue; }
-					massBuilder.append(charInLine[i]);
-				}
-
-				if (radiusIndex > -1){
-					for(int i = radiusIndex + radiusLabel.length(); i < xPosIndex; i++){
-						if 		(charInLine[i] == ',') { 	break; }
-						else if (charInLine[i] == ' ') { continue; }
-						radiusBuilder.append(charInLine[i]);
-					}
-				}
 
-				for(int i = xPosIndex + xPosLabel.length(); i < yPosIndex; i++){
-					if 		(charInLine[i] == ',') { 	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					pxBuilder.append(charInLine[i]);
-				}
-
-				for(int i = yPosIndex + yPosLabel.length(); i < zPosIndex; i++){
-					if 		(charInLine[i] == ',') { 	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					pyBuilder.append(charInLine[i]);
-				}
-
-				for(int i = zPosIndex + zPosLabel.length(); i < xVelIndex; i++){
-					if 		(charInLine[i] == ',') {	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					pzBuilder.append(charInLine[i]);
-				}
-
-				for(int i = xVelIndex + xVelLabel.length(); i < yVelIndex; i++){
-					if 		(charInLine[i] == ',') {	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					vxBuilder.append(charInLine[i]);
-				}
-
-				for(int i = yVelIndex + yVelLabel.length(); i < zVelIndex; i++){
-					if 		(charInLine[i] == ',') {	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					vyBuilder.append(charInLine[i]);
-				}
-
-				for(int i = zVelIndex + zVelLabel.length(); i < line.length(); i++){
-					if 		(charInLine[i] == ',') { 	break; }
-					else if (charInLine[i] == '}') { 	break; }
-					else if (charInLine[i] == ' ') { continue; }
-					vzBuilder.append(charInLine[i]);
-				}
-
-				double[] d = {
-						Double.parseDouble(massBuilder.toString()),
-						0.0,
-						Double.parseDouble(pxBuilder.toString()),
-						Double.parseDouble(pyBuilder.toString()),
-						Double.parseDouble(pzBuilder.toString()),
-						Double.parseDouble(vxBuilder.toString()),
-						Double.parseDouble(vyBuilder.toString()),
-						Double.parseDouble(vzBuilder.toString()),
+			ByteBuffer buf;
+			try(FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)){
+				buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			}
 
-				};
+			int limit = buf.limit();
+			int start = 0;
+			while(start < limit){
+				int end = KeyValueParser.lineEnd(buf, start, limit);
+				int lineStart = start;
+				start = end + 1;
 
-				if (!radiusBuilder.toString().equals("")){ d[1] = Double.parseDouble(radiusBuilder.toString()); }
+				if (end > lineStart && buf.get(end - 1) == '\r'){ end--; }
+				if (!KeyValueParser.isBodyLine(buf, lineStart, end)){ continue; }
 
-				pos = new Vector3d(d[2], d[3], d[4]);
-				vel = new Vector3d(d[5], d[6], d[7]);
+				int colon = KeyValueParser.parseLine(buf, lineStart, end, d);
+				if (colon < 0){ continue; }
 
-				String name = line.substring(0, line.indexOf(":"));
+				Vector3dInterface pos = new Vector3d(d[KeyValueParser.X], d[KeyValueParser.Y], d[KeyValueParser.Z]);
+				Vector3dInterface vel = new Vector3d(d[KeyValueParser.VX], d[KeyValueParser.VY], d[KeyValueParser.VZ]);
+				String name = KeyValueParser.name(buf, lineStart, colon);
 
-				if (name.equals("Rocket")){ data = new Rocket(d[0], pos, vel); }
-				else{ data = new Planet(name, d[0], d[1], pos, vel); }
+				DataInterface data;
+				if (name.equals("Rocket")){ data = new Rocket(d[KeyValueParser.MASS], pos, vel); }
+				else{ data = new Planet(name, d[KeyValueParser.MASS], d[KeyValueParser.RADIUS], pos, vel); }
 				objectsInSpace.add(data);
 			}
-			reader.close();
 		}
 		catch(Exception e){ e.printStackTrace(); }
 	}
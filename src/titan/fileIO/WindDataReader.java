@@ -79,10 +79,6 @@ public class WindDataReader {
                 return fileLocation;
             }
 
-    public static double getRandomDoubleBetweenRange(double min, double max){
-        double x = (Math.random()*((max-min)+1))+min;
-        return x;
-    }
 
 
 
@@ -0,0 +1,195 @@
+package titan.gui;
+
+import interfaces.given.ODESolverInterface;
+import titan.physics.State;
+import titan.simulators.FrameProducer;
+import titan.simulators.StateSimulator;
+import titan.solvers.Euler;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Renders a streamed simulation to image files without a screen (e.g. for videos on build machines),
+ * with the same drawing as ModeSwing (SceneRenderer) on BufferedImages, including the orbit trails.
+ *
+ * The frames are drawn one after another on the calling thread, the trails need them in order, and encoded to PNG
+ * by a pool of worker threads. The images are reused from a fixed pool of 2 per worker, so the drawing waits for
+ * the encoding when it runs ahead and the memory use does not grow with the number of frames.
+ * Alternatively the frames can be written as a raw stream of 24 bit RGB pixels, e.g. to pipe into
+ * ffmpeg -f rawvideo -pixel_format rgb24 -video_size WIDTHxHEIGHT -i - video.mp4
+ */
+public class HeadlessRenderer {
+    private static final int TRAIL_CAPACITY = 512;          // Points per orbit trail
+    private static final double TRAIL_TOLERANCE = 0.5;      // Largest deviation of a trail from the path (pixels)
+
+    private final int width;
+    private final int height;
+    private final int threads;
+    private final SceneRenderer renderer;
+    private final ExecutorService encoders;
+    private final BlockingQueue<BufferedImage> images;
+    private boolean drawTrails = true;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        // Simulated time, step size and threads, by default a year in steps of an hour on every processor
+        double tf = args.length > 0 ? Double.parseDouble(args[0]) : 86400 * 365;
+        double h = args.length > 1 ? Double.parseDouble(args[1]) : 3600;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        ODESolverInterface solver = new Euler();
+
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+        File directory = new File("src/experiments/" + fileName + " frames");
+
+        HeadlessRenderer headless = new HeadlessRenderer(1280, 720, threads);
+        FrameProducer frames = new StateSimulator().produce(solver, tf, h, (int) Math.max(1, Math.round(86400 / h)), 64);
+        long startTime = System.nanoTime();
+        int count = headless.renderPng(frames, directory);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        headless.shutdown();
+        System.out.printf("%d frames in %.2f s (%.1f frames/s) with %d encoder threads, written to %s%n",
+                count, seconds, count / seconds, threads, directory);
+    }
+
+    /**
+     * @param width - width of the frames (pixels)
+     * @param height - height of the frames (pixels)
+     * @param threads - number of threads encoding the frames, at least 1
+     */
+    public HeadlessRenderer(int width, int height, int threads){
+        if (width < 1 || height < 1 || threads < 1){ throw new IllegalArgumentException("Size and threads have to be at least 1"); }
+        this.width = width;
+        this.height = height;
+        this.threads = threads;
+        renderer = new SceneRenderer(SceneRenderer.DEFAULT_SCALE, Color.white, null);
+        encoders = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "frame encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        images = new ArrayBlockingQueue<>(2 * threads);
+        for(int i = 0; i < 2 * threads; i++){ images.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)); }
+    }
+
+    /**
+     * @param drawTrails - if true -> draw the orbit trails of the bodies (default)
+     */
+    public void setDrawTrails(boolean drawTrails){ this.drawTrails = drawTrails; }
+
+    /**
+     * Renders every frame of the producer to a numbered PNG file (frame_000000.png, frame_000001.png, ...)
+     *
+     * @param frames - the started producer of the states to render
+     * @param directory - the directory to write to, created if needed
+     * @return The number of frames written
+     * @throws IOException if a frame can not be written
+     */
+    public int renderPng(FrameProducer frames, File directory) throws IOException, InterruptedException {
+        if (!directory.isDirectory() && !directory.mkdirs()){ throw new IOException("Can not create " + directory); }
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        TrailBuffer trails = null;
+        int count = 0;
+        try {
+            State state;
+            while ((state = (State) frames.take()) != null && failure.get() == null){
+                trails = updateTrails(trails, state);
+                BufferedImage image = images.take();
+                draw(image, state, trails);
+                File file = new File(directory, String.format("frame_%06d.png", count++));
+                encoders.execute(() -> {
+                    try {
+                        if (!ImageIO.write(image, "png", file)){ throw new IOException("No PNG writer available"); }
+                    }
+                    catch(IOException e){ failure.compareAndSet(null, e); }
+                    finally { images.add(image); }
+                });
+            }
+        }
+        finally {
+            // Stops the simulation if rendering ended early, does nothing once it has finished
+            frames.cancel();
+            awaitEncoders();
+        }
+        if (failure.get() != null){ throw failure.get(); }
+        return count;
+    }
+
+    /**
+     * Renders every frame of the producer as raw RGB pixels (3 bytes per pixel, rows from top to bottom) to a stream
+     *
+     * @param frames - the started producer of the states to render
+     * @param out - the stream to write to, not closed
+     * @return The number of frames written
+     * @throws IOException if the stream can not be written
+     */
+    public int renderRaw(FrameProducer frames, OutputStream out) throws IOException, InterruptedException {
+        BufferedImage image = images.take();
+        byte[] row = new byte[3 * width];
+        int[] pixels = new int[width];
+        TrailBuffer trails = null;
+        int count = 0;
+        try {
+            State state;
+            while ((state = (State) frames.take()) != null){
+                trails = updateTrails(trails, state);
+                draw(image, state, trails);
+                for(int y = 0; y < height; y++){
+                    image.getRGB(0, y, width, 1, pixels, 0, width);
+                    for(int x = 0; x < width; x++){
+                        row[3 * x] = (byte) (pixels[x] >> 16);
+                        row[3 * x + 1] = (byte) (pixels[x] >> 8);
+                        row[3 * x + 2] = (byte) pixels[x];
+                    }
+                    out.write(row);
+                }
+                count++;
+            }
+            out.flush();
+        }
+        finally {
+            images.add(image);
+            frames.cancel();
+        }
+        return count;
+    }
+
+    /**
+     * Stops the encoder threads, no frames can be rendered afterwards
+     */
+    public void shutdown(){ encoders.shutdownNow(); }
+
+    private TrailBuffer updateTrails(TrailBuffer trails, State state){
+        if (!drawTrails){ return null; }
+        if (trails == null){ trails = new TrailBuffer(state.getObjects().length, TRAIL_CAPACITY, TRAIL_TOLERANCE); }
+        trails.add(state.getObjects(), renderer.getScale());
+        return trails;
+    }
+
+    private void draw(BufferedImage image, State state, TrailBuffer trails){
+        Graphics2D g = image.createGraphics();
+        try { renderer.render(g, state, trails, width, height); }
+        finally { g.dispose(); }
+    }
+
+    /**
+     * Waits until every image is back in the pool, i.e. every submitted frame has been encoded
+     */
+    private void awaitEncoders() throws InterruptedException {
+        BufferedImage[] all = new BufferedImage[2 * threads];
+        for(int i = 0; i < all.length; i++){ all[i] = images.take(); }
+        for(BufferedImage image : all){ images.add(image); }
+    }
+}
@@ -8,39 +8,71 @@ import interfaces.own.GuiObjectInterface;
 
 import java.awt.Dimension;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 
 import javafx.scene.*;
-import javafx.scene.image.Image;
 import javafx.scene.input.*;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Shape3D;
 
 import javafx.scene.shape.Sphere;
 import javafx.scene.transform.Transform;
 import javafx.scene.transform.Translate;
 import javafx.stage.Stage;
+import titan.simulators.FrameProducer;
 import titan.simulators.StateSimulator;
 import titan.physics.State;
 import titan.solvers.Euler;
 import titan.utility.Planet;
 
+/**
+ * GUI implemented through JavaFX
+ *
+ * The simulation runs on a background thread while the stage is shown (see FrameProducer), so the first state
+ * is displayed right away and the next ones as soon as they have been computed.
+ * Only one state per FRAME_INTERVAL of simulated time is kept for display.
+ *
+ * The first MAX_SPHERES bodies are spheres, any further (far-field) bodies are points of a single PointCloud mesh.
+ * Nodes are looked up by the name of their body, so a state update is one pass over its bodies.
+ * The spheres leave orbit trails (see TrailBuffer), drawn together as one TrailMesh.
+ * Control instructions: left and right arrow step through the states, P plays them (one per pulse, 60 per second)
+ * and up and down arrow change the planet in focus.
+ */
 public class ModeFX extends Application implements GuiInterface {
     private final Dimension resolution = new Dimension(1200, 720);
 
     private static StateSimulator engine; // Singleton
-    private State[] states;
+    private static final double FRAME_INTERVAL = 86400;    // Simulated time between displayed states (s)
+    private static final int QUEUE_CAPACITY = 64;           // States the simulation may run ahead of the display
+
+    private FrameProducer producer;
+    private final List<State> states = new ArrayList<>();
     private int index;
 
     static final int radius = 100;
     static final int scale = 500;
+    static final int MAX_SPHERES = 32;      // Bodies beyond this number are drawn as points
+    static final float POINT_SIZE = 10;
 
     List<FxObject> fxObjects = new ArrayList<>();
+    Map<String, FxObject> fxIndex = new HashMap<>();        // Sphere of every body by name
+    Map<String, Integer> pointIndex = new HashMap<>();      // Point of every far-field body by name
+    PointCloud farField;
+    TextureCache textures = new TextureCache();
+    static final int TRAIL_CAPACITY = 256;          // Points per orbit trail
+    static final double TRAIL_TOLERANCE = 0.5;      // Largest deviation of a trail from the path (scene units)
+    static final float TRAIL_WIDTH = 2;
+    TrailBuffer trails;                             // Trails of the spheres, in scene coordinates
+    TrailMesh trailMesh;
+    AnimationTimer player;
+    boolean playing;
     Transform focus = new Translate(0.0, 0.0, 0.0);
     int focusIndex = 0;
 
@@ -52,13 +84,14 @@ public class ModeFX extends Application implements GuiInterface {
     }
 
     @Override
-    public void start(Stage stage){
+    public void start(Stage stage) throws InterruptedException {
         prepareApplication(new Euler(), 86400 * 365, 86400);
 
         Scene scene = createScene(resolution);
         setBackground(scene);
 
-        addObjectNodes(scene, states[0]);
+        states.add((State) producer.take());
+        addObjectNodes(scene, states.get(0));
 
         Camera cam = create3dCam();
         setCamera(scene, cam, focus);
@@ -72,6 +105,11 @@ public class ModeFX extends Application implements GuiInterface {
         EventHandler<ScrollEvent> zoomHandler = getZoomHandler(cam);
         scene.setOnScroll(zoomHandler);
 
+        player = new AnimationTimer() {
+            @Override
+            public void handle(long now){ changeDisplayedState(scene, false); }
+        };
+
         EventHandler<KeyEvent> keyPressHandler = onKeyPress(scene);
         scene.setOnKeyPressed(keyPressHandler);
 
@@ -84,6 +122,12 @@ public class ModeFX extends Application implements GuiInterface {
         stage.show();
     }
 
+    @Override
+    public void stop(){
+        if (player != null){ player.stop(); }
+        if (producer != null){ producer.cancel(); }
+    }
+
     /**
      * Creates a fx stage (window) that will display the states
      *
@@ -97,14 +141,17 @@ public class ModeFX extends Application implements GuiInterface {
     }
 
     /**
-     * Uses the engine to gather/get the states simulated with the solver, time frame and step size
+     * Starts the engine simulating the states with the solver, time frame and step size in the background
      *
      * @param solver - solver to use in calculating the states
      * @param tf - final differential time
      * @param h - the step size
      */
     private void collectStates(ODESolverInterface solver, double tf, double h){
-        states = (State[]) engine.runSolver(solver, tf, h);
+        if (producer != null){ producer.cancel(); }
+        int decimation = Math.max(1, (int) Math.round(FRAME_INTERVAL / h));
+        producer = engine.produce(solver, tf, h, decimation, QUEUE_CAPACITY);
+        states.clear();
         index = -1;
     }
 
@@ -115,49 +162,68 @@ public class ModeFX extends Application implements GuiInterface {
      * @param state - the state that this scene needs to be displayed
      */
     private void addObjectNodes(Scene scene, State state){
-        String[] textureUrls = Textures.getTextureUrls();
 
         Group root = (Group) scene.getRoot();
         ObservableList<Node> children = root.getChildren();
         DataInterface[] objects = state.getObjects();
+        int spheres = Math.min(objects.length, MAX_SPHERES);
+        trails = new TrailBuffer(spheres, TRAIL_CAPACITY, TRAIL_TOLERANCE);
+        trailMesh = new TrailMesh(spheres, TRAIL_CAPACITY, TRAIL_WIDTH, Color.LIGHTGRAY);
+        children.add(trailMesh.getView());
+        if (objects.length > MAX_SPHERES){
+            farField = new PointCloud(POINT_SIZE, Color.WHITE);
+            farField.resize(objects.length - MAX_SPHERES);
+            children.add(farField.getView());
+        }
         for(int i = 0; i < objects.length; i++){
             int length = i * scale;
             GuiObjectInterface obj = (Planet) objects[i];
             Vector3dInterface position = obj.guiDisplacement(length);
+            if (i >= MAX_SPHERES){
+                pointIndex.put(obj.getName(), i - MAX_SPHERES);
+                farField.set(i - MAX_SPHERES, position.getX(), position.getY(), position.getZ());
+                continue;
+            }
 
             Shape3D shape = new Sphere(radius);
             shape.setTranslateX(position.getX());
             shape.setTranslateY(position.getY());
             shape.setTranslateZ(position.getZ());
 
-            PhongMaterial mat;
-            if (i < textureUrls.length){
-                Image image = new Image(textureUrls[i]);
-                mat = new PhongMaterial();
-                mat.setDiffuseMap(image);
-            }
-            else { mat = new PhongMaterial(Color.RED); }
-            shape.setMaterial(mat);
+            shape.setMaterial(textures.material(i));
+            trails.add(i, position.getX(), position.getY(), position.getZ());
 
-            fxObjects.add(new FxObject(shape, obj.getName()));
+            FxObject fxObj = new FxObject(shape, obj.getName());
+            fxObjects.add(fxObj);
+            fxIndex.put(fxObj.getID(), fxObj);
             children.add(shape);
             if (i == 0){ focus = new Translate(shape.getTranslateX(), shape.getTranslateY(), shape.getTranslateZ()); }
         }
+        if (farField != null){ farField.commit(); }
     }
     /**
-     * Updates the scene to display either the next or previous state
+     * Updates the scene to display either the next or previous state.
+     * Does nothing if the next state has not been computed yet.
      *
      * @param scene - the scene that needs to be updated
      * @param reverse - reversion toggle; if true -> display previous state if any
      *                                    else -> display next state if any
      */
     private void changeDisplayedState(Scene scene, boolean reverse){
-        if (index - 1 < 0 && reverse || index + 1 >= states.length){ return; }
+        if (index - 1 < 0 && reverse){ return; }
+        if (!reverse && index + 1 >= states.size()){
+            State next = (State) producer.poll();
+            if (next == null){ return; }
+            states.add(next);
+        }
 
-        if (reverse){ index--; }
+        if (reverse){
+            index--;
+            trails.clear();
+        }
         else{ index++; }
 
-        updateScene(scene, states[index]);
+        updateScene(scene, states.get(index));
     }
 
     /**
@@ -167,24 +233,24 @@ public class ModeFX extends Application implements GuiInterface {
      * @param state - the state that needs to be displayed
      */
     private void updateScene(Scene scene, State state){
-        Group root = (Group) scene.getRoot();
-        ObservableList<Node> children = root.getChildren();
         DataInterface[] objects = state.getObjects();
 
         for(int i = 0; i < objects.length; i++){
             int length =  i * scale;
             GuiObjectInterface obj = (Planet) objects[i];
-            for(Node n : children){
-                if (!(n instanceof Shape3D)){ continue; }
-                for(int j = 0; j < objects.length; j++){
-                    FxObject fxObj = fxObjects.get(j);
-                    if (fxObj.getShape().equals(n) && fxObj.getID().equals(obj.getName())){
-                        Vector3dInterface position = obj.guiDisplacement(length);
-                        fxObj.update(position);
-                    }
-                }
+            Vector3dInterface position = obj.guiDisplacement(length);
+
+            FxObject fxObj = fxIndex.get(obj.getName());
+            if (fxObj != null){
+                fxObj.update(position);
+                if (i < trails.getBodies()){ trails.add(i, position.getX(), position.getY(), position.getZ()); }
+                continue;
             }
+            Integer point = pointIndex.get(obj.getName());
+            if (point != null){ farField.set(point, position.getX(), position.getY(), position.getZ()); }
         }
+        if (farField != null){ farField.commit(); }
+        trailMesh.update(trails);
     }
 
     /**
@@ -312,9 +378,19 @@ public class ModeFX extends Application implements GuiInterface {
             KeyCode key = event.getCode();
             if (key == KeyCode.RIGHT){ changeDisplayedState(scene, false); }
             else if (key == KeyCode.LEFT){ changeDisplayedState(scene, true); }
+            else if (key == KeyCode.P){ togglePlay(); }
         };
     }
 
+    /**
+     * Starts playing the states one per pulse of the FX thread, or pauses the playing
+     */
+    private void togglePlay(){
+        playing = !playing;
+        if (playing){ player.start(); }
+        else{ player.stop(); }
+    }
+
     /**
      * Constructs an EventHandler that handles keyboard press releases.
      * For now this only affects the planetary focus
@@ -362,7 +438,7 @@ public class ModeFX extends Application implements GuiInterface {
          */
         public void update(Vector3dInterface pos){
             shape.setTranslateX(pos.getX());
-            shape.setTranslateX(pos.getY());
+            shape.setTranslateY(pos.getY());
             shape.setTranslateZ(pos.getZ());
         }
     }
@@ -1,30 +1,28 @@
 package titan.gui;
 
 import interfaces.given.ODESolverInterface;
-import interfaces.given.Vector3dInterface;
-import interfaces.own.DataInterface;
 import interfaces.own.GuiInterface;
-import interfaces.own.GuiObjectInterface;
 import interfaces.own.SwingInterface;
-import titan.math.Vector3d;
+import titan.math.Function;
 import titan.physics.State;
+import titan.simulators.KeyframeTimeline;
 import titan.simulators.ProbeSimulator;
 import titan.simulators.RocketSimulator;
 import titan.simulators.StateSimulator;
 import titan.solvers.Euler;
-import titan.utility.Planet;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.Line2D;
-import java.awt.geom.Point2D;
 import java.awt.font.GlyphVector;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.*;
 
@@ -33,13 +31,31 @@ import javax.swing.*;
  * GUI implemented through Swing components
  *
  * Control instructions: Displayed states are controlled with left arrow (<-)
- * and right arrow(->) Left arrow: goes back to the previous state if any before
- * Right arrow: goes to the next state if any next
+ * and right arrow(->) Left arrow or R: goes back to the previous state if any before
+ * Right arrow, Enter or Space: goes to the next state if any next
+ * P: pauses or resumes playing, + and -: play faster or slower, up and down arrow: change the displayed simulation
+ * The slider below the frame jumps to any time of the simulation, K saves the keyframes (see below)
+ *
+ * Frames are drawn by a render thread into a Canvas through a BufferStrategy (active rendering) at a fixed
+ * FRAME_RATE, with the drawing shared with other renderers in SceneRenderer. Playing advances the displayed state
+ * by the time passed, so the play speed changes how many states a frame moves on and not how often frames are drawn.
+ * Every body leaves an orbit trail (see TrailBuffer) from where playing started or last went back.
+ *
+ * The simulations run on background threads while the frame is shown, so the first states are displayed right away
+ * and the next ones as soon as they have been computed. No states are held: every simulation keeps at most
+ * MAX_KEYFRAMES keyframes (see KeyframeTimeline) and the displayed state, one per FRAME_INTERVAL of simulated time,
+ * is integrated again from the nearest keyframe before it. So the memory stays the same for runs of any length,
+ * while any time can be jumped to. The keyframes can be saved to and loaded from a directory, a simulation whose
+ * keyframes are loaded only computes what the file did not cover.
  */
 public class ModeSwing extends Textures implements GuiInterface, SwingInterface {
     private static Dimension screenResolution;
     private final Dimension resolution;
     private final JFrame frame;
+    private final Canvas canvas = new Canvas();
+    private final JSlider slider = new JSlider(0, 0, 0);
+    private volatile boolean followingSlider;               // Set while the slider is moved to the displayed state, which is no seek
+    private final SceneRenderer renderer;
 
     private final StateSimulator stateSimulator;
     private final ProbeSimulator probeSimulator;
@@ -48,16 +64,33 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
     private enum Mode { Universe, Probe, Rocket };
     private enum PlayStyle { Static, Auto };
 
-    private Mode mode = Mode.Universe;
-    private PlayStyle style = PlayStyle.Auto;
+    private volatile Mode mode = Mode.Universe;
+    private volatile PlayStyle style = PlayStyle.Auto;
+
+    private static final double FRAME_INTERVAL = 86400;    // Simulated time between displayed states (s)
+    private static final int MAX_KEYFRAMES = 256;           // Keyframes kept per simulation
+
+    private KeyframeTimeline justUniverse, probeUniverse, rocketUniverse;
+    private Path keyframeDirectory;                         // Where keyframes are loaded from and saved to, null for none
+    private int decimation;                                 // Steps per displayed state
+    private int lastIndex;                                  // Index of the displayed state at the final time
+
+    private static final int FRAME_RATE = 60;               // Frames drawn per second
+    private static final int MIN_PLAYSPEED = 1;             // Fastest play speed (ms per state)
+    private static final int MAX_PLAYSPEED = 8000;          // Slowest play speed (ms per state)
 
-    private State[] justUniverse, probeUniverse, rocketUniverse;
+    private int index;                                      // Index of the displayed state, at step index * decimation
+    private volatile int playspeed = 1000;                  // Time each state is displayed while playing (ms)
+    private Thread renderThread;
 
-    private int index;
-    private int playspeed = 1000;
+    private static final int TRAIL_CAPACITY = 512;          // Points per orbit trail
+    private static final double TRAIL_TOLERANCE = 0.5;      // Largest deviation of a trail from the path (pixels)
+    private TrailBuffer trails;                             // Trails of the displayed simulation, in pixels
 
     public static void main(String[] args) {
         ModeSwing gui = new ModeSwing("Swing V1.0", new Dimension(1920, 1080));
+        // Optionally the directory of the keyframes
+        if (args.length > 0) { gui.setKeyframeDirectory(Paths.get(args[0])); }
         gui.prepareApplication(new Euler(), 86400 * 365, 86400);
     }
 
@@ -70,6 +103,14 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
         frame = new JFrame(frameName);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.addKeyListener(new SwingKeyListener());
+        canvas.addKeyListener(new SwingKeyListener());
+        canvas.setIgnoreRepaint(true);
+        frame.add(canvas, BorderLayout.CENTER);
+        slider.setFocusable(false);
+        slider.addChangeListener(e -> { if (!followingSlider) { seek(slider.getValue()); } });
+        frame.add(slider, BorderLayout.SOUTH);
+        renderer = new SceneRenderer(SceneRenderer.DEFAULT_SCALE, Color.white,
+                "Left/right: step back/forward   P: play/pause   +/-: faster/slower   Up/down: universe, probe, rocket   K: save keyframes");
 
         stateSimulator = new StateSimulator();
         probeSimulator = new ProbeSimulator();
@@ -81,6 +122,16 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
         this.resolution = resolution;
     }
 
+    /**
+     * Sets the directory the keyframes of the simulations are loaded from, when they match the time frame and step size,
+     * and saved to with K. Has to be set before prepareApplication.
+     *
+     * @param directory - the directory of the keyframe files, null for none
+     */
+    public void setKeyframeDirectory(Path directory) {
+        keyframeDirectory = directory;
+    }
+
     /**
      * Creates a JFrame that displays the results of a solver given a time frame and
      * step size. Automatically opens the Frame.
@@ -103,7 +154,64 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
         setFrameSize(resolution);
         frame.setVisible(true);
         centerFrame(frame);
-        updateFrame(false);
+        canvas.createBufferStrategy(2);
+        canvas.requestFocus();
+        updateTrails(true);
+
+        renderThread = new Thread(this::renderLoop, "swing render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Draws FRAME_RATE frames per second until the thread is interrupted, advancing the displayed state while playing
+     */
+    private void renderLoop() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        long frameNanos = 1_000_000_000L / FRAME_RATE;
+        long nextFrame = System.nanoTime();
+        long lastAdvance = nextFrame;
+        int shownIndex = -1;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            long now = System.nanoTime();
+            if (style == PlayStyle.Auto) {
+                long stateNanos = playspeed * 1_000_000L;
+                while (now - lastAdvance >= stateNanos && updateFrame(false)) { lastAdvance += stateNanos; }
+                // The next state has not been computed yet: do not catch up on the waiting time later
+                if (now - lastAdvance >= stateNanos) { lastAdvance = now; }
+            }
+            else { lastAdvance = now; }
+
+            drawFrame(strategy);
+            shownIndex = updateSlider(shownIndex);
+
+            nextFrame += frameNanos;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep > 0) { LockSupport.parkNanos(sleep); }
+            else { nextFrame = System.nanoTime(); }
+        }
+    }
+
+    /**
+     * Draws the displayed state into the back buffer and shows it
+     *
+     * @param strategy - the buffer strategy of the canvas
+     */
+    private void drawFrame(BufferStrategy strategy) {
+        State state = getDisplayedState();
+        if (state == null) { return; }
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    synchronized (this) { renderer.render(g2, state, trails, canvas.getWidth(), canvas.getHeight()); }
+                }
+                finally { g2.dispose(); }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
     }
 
     /**
@@ -116,138 +224,187 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
     }
 
     /**
-     * Uses the engine to gather/get the states simulated with the solver, time
-     * frame and step size
+     * Starts the simulations with the solver, time frame and step size in the background,
+     * their states are computed again from their keyframes while they are displayed
      *
      * @param solver - solver to use in calculating the states
      * @param tf     - final differential time
      * @param h      - the step size
      */
     private void collectStates(ODESolverInterface solver, double tf, double h) {
-        justUniverse = (State[]) stateSimulator.runSolver(solver, tf, h);
-        probeUniverse = (State[]) probeSimulator.simulate(solver, tf, h);
-        rocketUniverse = (State[]) rocketSimulator.simulate(solver, tf, h);
-        index = -1;
+        decimation = Math.max(1, (int) Math.round(FRAME_INTERVAL / h));
+        justUniverse = loadTimeline(Mode.Universe, solver, tf, h);
+        probeUniverse = loadTimeline(Mode.Probe, solver, tf, h);
+        rocketUniverse = loadTimeline(Mode.Rocket, solver, tf, h);
+        if (justUniverse == null) { justUniverse = stateSimulator.timeline(solver, tf, h, decimation, MAX_KEYFRAMES); }
+        if (probeUniverse == null) { probeUniverse = probeSimulator.timeline(solver, tf, h, decimation, MAX_KEYFRAMES); }
+        if (rocketUniverse == null) { rocketUniverse = rocketSimulator.timeline(solver, tf, h, decimation, MAX_KEYFRAMES); }
+
+        int steps = justUniverse.getSteps();
+        lastIndex = (steps + decimation - 1) / decimation;
+        index = 0;
+        followingSlider = true;
+        slider.setMaximum(lastIndex);
+        slider.setValue(0);
+        followingSlider = false;
     }
 
-    private void autoPlay(){
-        Timer timer = new Timer();
-        TimerTask timerTask = new TimerTask() {
-            @Override
-            public void run() {
-               if (style == PlayStyle.Auto){
-                   updateFrame(false);
-                   autoPlay();
-               }
+    /**
+     * Loads the keyframes of a simulation from the keyframe directory and continues them in the background
+     *
+     * @param mode - the simulation of the keyframes
+     * @param solver - solver to use in calculating the states
+     * @param tf     - final differential time
+     * @param h      - the step size
+     * @return The started timeline, null if there is no file of the same solver, time frame and step size
+     */
+    private KeyframeTimeline loadTimeline(Mode mode, ODESolverInterface solver, double tf, double h) {
+        if (keyframeDirectory == null) { return null; }
+        Path file = keyframeFile(mode);
+        if (!Files.isRegularFile(file)) { return null; }
+        try {
+            KeyframeTimeline timeline = KeyframeTimeline.load(file, solver, new Function(), MAX_KEYFRAMES);
+            if (timeline.getStepSize() != h || timeline.timeOf(timeline.getSteps()) != tf) {
+                System.err.println("Keyframes of another time frame or step size, simulating again: " + file);
+                return null;
             }
-        };
-        timer.schedule(timerTask, playspeed);
+            return timeline.start(mode.name().toLowerCase() + " timeline");
+        }
+        catch (IOException e) {
+            System.err.println("Could not load keyframes, simulating again: " + file + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    /**
+     * Saves the keyframes computed so far of every simulation to the keyframe directory
+     */
+    private void saveKeyframes() {
+        if (keyframeDirectory == null) {
+            System.err.println("No keyframe directory set, keyframes are not saved");
+            return;
+        }
+        try {
+            Files.createDirectories(keyframeDirectory);
+            for (Mode m : Mode.values()) { getTimeline(m).save(keyframeFile(m)); }
+            System.out.println("Keyframes saved to " + keyframeDirectory);
+        }
+        catch (IOException e) { System.err.println("Could not save keyframes: " + e.getMessage()); }
+    }
+
+    private Path keyframeFile(Mode mode) {
+        return keyframeDirectory.resolve(mode.name().toLowerCase() + ".keyframes");
+    }
+
+    private KeyframeTimeline getTimeline(Mode mode){
+        if (mode == Mode.Probe){ return probeUniverse; }
+        if (mode == Mode.Rocket){ return rocketUniverse; }
+        return justUniverse;
     }
 
     /**
-     * Updates the frame to display the 'next or previous' state
+     * @param index - index of a displayed state
+     * @return The step of the simulations at the index
+     */
+    private int stepOf(int index) {
+        return Math.min(index * decimation, justUniverse.getSteps());
+    }
+
+    /**
+     * @param mode - the simulation
+     * @return The index of the last state that simulation has computed so far
+     */
+    private int computedIndex(Mode mode) {
+        KeyframeTimeline timeline = getTimeline(mode);
+        int filled = timeline.getFilled();
+        return filled == timeline.getSteps() ? lastIndex : filled / decimation;
+    }
+
+    /**
+     * Updates the frame to display the 'next or previous' state.
+     * Does nothing if the next state has not been computed yet.
      *
      * @param reverse - reversion toggle; if true -> display previous state if any
      *                else -> display next state if any
+     * @return True if the displayed state changed
      */
 
-    private void updateFrame(boolean reverse) {
-        if (index - 1 < 0 && reverse || index + 1 >= justUniverse.length) { return; }
+    private synchronized boolean updateFrame(boolean reverse) {
+        if (index - 1 < 0 && reverse) { return false; }
 
-        if (reverse) { index--; }
-        else { index++; }
+        int next = reverse ? index - 1 : index + 1;
+        if (next > computedIndex(mode)) { return false; }
+        index = next;
+        updateTrails(reverse);
+        return true;
+    }
 
-        if (mode == Mode.Universe){ drawState(justUniverse, index); }
-        else if (mode == Mode.Probe){ drawState(probeUniverse, index); }
-        else if (mode == Mode.Rocket){ drawState(rocketUniverse, index); }
+    /**
+     * Extends the trails with the displayed state, or restarts them from it when going back
+     *
+     * @param restart - if true -> remove the trails first
+     */
+    private synchronized void updateTrails(boolean restart) {
+        State state = getDisplayedState();
+        int bodies = state.getObjects().length;
+        if (trails == null || trails.getBodies() != bodies) { trails = new TrailBuffer(bodies, TRAIL_CAPACITY, TRAIL_TOLERANCE); }
+        else if (restart) { trails.clear(); }
+        trails.add(state.getObjects(), renderer.getScale());
     }
 
     /**
-     * Draws the state on a emptied frame
+     * Changes the displayed simulation, its trails start at the displayed state
      *
-     * @param s - the state that needs to be displayed
+     * @param next - the mode to display
      */
+    private synchronized void changeMode(Mode next) {
+        mode = next;
+        updateTrails(true);
+    }
 
-    private void drawState(State[] s, int index) {
-        Graphics2D g2 = (Graphics2D) frame.getGraphics();
-        Dimension resolution = frame.getSize();
-
-        g2.clearRect(0, 0, resolution.width, resolution.height);
-
-        DataInterface[] objects;
-        GuiObjectInterface obj;
-        Vector3dInterface displacement;
-
-        Point2D p1 = null, p2 = null;
-        Shape line = null;
-
-        BasicStroke trajectoryThickness = new BasicStroke(2);
-        Color trajectoryColor = Color.black;
-
-        BasicStroke planetThickness = new BasicStroke(3);
-        Color planetColor = Color.blue;
-
-        BasicStroke nameThickness = new BasicStroke(1);
-        Color nameColor = Color.black;
-
-        double constant = 60;
-//        for (int i = 0; i < s.length; i++) {
-//            objects = s[i].getObjects();
-//            for (int j = 0; j < objects.length; j++) {
-//                obj = (Planet) objects[j];
-//                displacement = obj.guiDisplacement(constant);
-//                double x = displacement.getX() + (double) resolution.width / 2;
-//                double y = displacement.getY() + (double) resolution.height / 2;
-//                p1 = new Point2D.Double(x, y);
-//
-//                if (i == s.length - 1) {
-//                    obj = (Planet) s[0].getObjects()[j];
-//                    displacement = obj.guiDisplacement(j * constant);
-//                    double x2 = displacement.getX() + (double) resolution.width / 2;
-//                    double y2 = displacement.getY() + (double) resolution.height / 2;
-//                    p2 = new Point2D.Double(x2, y2);
-//                } else {
-//                    obj = (Planet) s[i + 1].getObjects()[j];
-//                    displacement = obj.guiDisplacement(j * constant);
-//                    double x2 = displacement.getX() + (double) resolution.width / 2;
-//                    double y2 = displacement.getY() + (double) resolution.height / 2;
-//                    p2 = new Point2D.Double(x2, y2);
-//                }
-//                line = new Line2D.Double(p1, p2);
-//
-//                g2.setColor(trajectoryColor);
-//                g2.setStroke(trajectoryThickness);
-//                g2.draw(line);
-//            }
-//        }
-
-        objects = s[index].getObjects();
-        int radius = 30;
-        for (int i = 0; i < objects.length; i++) {
-            obj = (Planet) objects[i];
-            displacement = obj.guiDisplacement(3e9);
-
-            System.out.println(obj.getName() + " | "+ displacement.toString());
-
-            double xTopLeft = displacement.getX() + (double) resolution.width / 2 - radius;
-            double yTopLeft = displacement.getY() + (double) resolution.height / 2 - radius;
-            Shape shape = new Ellipse2D.Double(xTopLeft, yTopLeft, radius, radius);
-
-            g2.setStroke(planetThickness);
-            g2.setColor(planetColor);
-            g2.draw(shape);
-            g2.fill(shape);
-
-            // DRAW NAMES ABOVE PLANETS
-            Font f = new Font("T", Font.ITALIC, 18);
-            Shape name = generateShapeFromText(f, objects[i].getName(), xTopLeft - 5, yTopLeft - 5);
-            g2.setStroke(nameThickness);
-            g2.setColor(nameColor);
-            g2.draw(name);
-            g2.fill(name);
+    /**
+     * Jumps to a displayed state, its trails start there. States that have not been computed yet are not jumped to.
+     *
+     * @param next - index of the state to display
+     */
+    private synchronized void seek(int next) {
+        next = Math.max(0, Math.min(next, computedIndex(mode)));
+        if (next == index) { return; }
+        index = next;
+        updateTrails(true);
+    }
+
+    /**
+     * Moves the slider to the displayed state, unless it is being dragged. Only the user seeks with the slider:
+     * by the time this move reaches the slider the displayed state may be further, so it must not seek back to it.
+     *
+     * @param shownIndex - index the slider was last moved to
+     * @return The index the slider is moved to
+     */
+    private int updateSlider(int shownIndex) {
+        int current;
+        synchronized (this) { current = index; }
+        if (current != shownIndex) {
+            SwingUtilities.invokeLater(() -> {
+                if (!slider.getValueIsAdjusting()) {
+                    followingSlider = true;
+                    slider.setValue(current);
+                    followingSlider = false;
+                }
+            });
         }
+        return current;
     }
 
+    /**
+     * Accesses the state to display: the state at the index in the current mode, or its latest computed state
+     * if that simulation has not reached the index yet
+     *
+     * @return The state to display
+     */
+    private synchronized State getDisplayedState() {
+        return getTimeline(mode).stateAt(stepOf(Math.min(index, computedIndex(mode))));
+    }
 
     public static Shape generateShapeFromText(Font font, String string, double x, double y) {
         BufferedImage img = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
@@ -271,9 +428,9 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
     }
 
     /**
-     * Class to handle keyboard input in the GUI Updated the panel state when the
-     * right arrow key has been released. Reverts the panel state when the left
-     * arrow key has been released.
+     * Class to handle keyboard input in the GUI Updates the panel state when the
+     * right arrow key (or Enter, Space) is pressed. Reverts the panel state when the left
+     * arrow key (or R) is pressed.
      */
 
     class SwingKeyListener implements KeyListener {
@@ -287,24 +444,32 @@ public class ModeSwing extends Textures implements GuiInterface, SwingInterface
                 }
                 else if (style == PlayStyle.Static){
                     style = PlayStyle.Auto;
-                    autoPlay();
                 }
             }
-            else if (key == KeyEvent.VK_ENTER || key == KeyEvent.VK_SPACE){
+            else if (key == KeyEvent.VK_RIGHT || key == KeyEvent.VK_ENTER || key == KeyEvent.VK_SPACE){
                 updateFrame(false);
             }
-            else if (key == KeyEvent.VK_R) {
+            else if (key == KeyEvent.VK_LEFT || key == KeyEvent.VK_R) {
                 updateFrame(true);
             }
+            else if (key == KeyEvent.VK_K){
+                saveKeyframes();
+            }
+            else if (key == KeyEvent.VK_PLUS || key == KeyEvent.VK_EQUALS || key == KeyEvent.VK_ADD){
+                playspeed = Math.max(MIN_PLAYSPEED, playspeed / 2);
+            }
+            else if (key == KeyEvent.VK_MINUS || key == KeyEvent.VK_SUBTRACT){
+                playspeed = Math.min(MAX_PLAYSPEED, playspeed * 2);
+            }
             else if (key == KeyEvent.VK_UP){
-                if (mode == Mode.Universe){ mode = Mode.Probe; }
-                else if (mode == Mode.Probe){ mode = Mode.Rocket; }
-                else if (mode == Mode.Rocket){ mode = Mode.Universe; }
+                if (mode == Mode.Universe){ changeMode(Mode.Probe); }
+                else if (mode == Mode.Probe){ changeMode(Mode.Rocket); }
+                else if (mode == Mode.Rocket){ changeMode(Mode.Universe); }
             }
             else if (key == KeyEvent.VK_DOWN){
-                if (mode == Mode.Universe){ mode = Mode.Rocket; }
-                else if (mode == Mode.Probe){ mode = Mode.Universe; }
-                else if (mode == Mode.Rocket){ mode = Mode.Probe; }
+                if (mode == Mode.Universe){ changeMode(Mode.Rocket); }
+                else if (mode == Mode.Probe){ changeMode(Mode.Universe); }
+                else if (mode == Mode.Rocket){ changeMode(Mode.Probe); }
             }
         }
 
@@ -0,0 +1,90 @@
+package titan.gui;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+/**
+ * Many small bodies drawn as a single mesh: every body is a tiny tetrahedron in one TriangleMesh,
+ * so moving thousands of them is one update of a float array instead of a node (and a scene graph update) per body.
+ *
+ * Positions are written with set and shown on the next commit, both on the FX thread.
+ */
+class PointCloud {
+    // Corners of a tetrahedron around the origin, scaled by the size of a point
+    private static final float[] CORNERS = {
+             0,  1,  0,
+            -1, -1,  1,
+             1, -1,  1,
+             0, -1, -1
+    };
+    // Faces of the tetrahedron as corner indices, all facing outwards
+    private static final int[] FACES = { 0, 1, 2,   0, 3, 1,   0, 2, 3,   1, 3, 2 };
+
+    private final TriangleMesh mesh = new TriangleMesh();
+    private final MeshView view = new MeshView(mesh);
+    private final float size;
+    private float[] points = new float[0];
+
+    /**
+     * @param size - half the width of a point in the scene
+     * @param color - color of the points
+     */
+    PointCloud(float size, Color color){
+        this.size = size;
+        mesh.getTexCoords().setAll(0, 0);
+        view.setMaterial(new PhongMaterial(color));
+        view.setCullFace(CullFace.NONE);
+    }
+
+    MeshView getView(){ return view; }
+
+    /**
+     * @return The number of points
+     */
+    int size(){ return points.length / CORNERS.length; }
+
+    /**
+     * Sets the number of points, all points start at the origin
+     *
+     * @param count - the number of points
+     */
+    void resize(int count){
+        points = new float[count * CORNERS.length];
+        int[] faces = new int[count * FACES.length * 2];
+        int corners = CORNERS.length / 3;
+        for(int p = 0; p < count; p++){
+            for(int f = 0; f < FACES.length; f++){
+                // Point index followed by the (only) texture coordinate index
+                faces[(p * FACES.length + f) * 2] = p * corners + FACES[f];
+                faces[(p * FACES.length + f) * 2 + 1] = 0;
+            }
+        }
+        mesh.getPoints().setAll(points);
+        mesh.getFaces().setAll(faces);
+    }
+
+    /**
+     * Moves a point, shown after the next commit
+     *
+     * @param index - index of the point
+     * @param x - x position in the scene
+     * @param y - y position in the scene
+     * @param z - z position in the scene
+     */
+    void set(int index, double x, double y, double z){
+        int offset = index * CORNERS.length;
+        for(int c = 0; c < CORNERS.length; c += 3){
+            points[offset + c] = (float) x + size * CORNERS[c];
+            points[offset + c + 1] = (float) y + size * CORNERS[c + 1];
+            points[offset + c + 2] = (float) z + size * CORNERS[c + 2];
+        }
+    }
+
+    /**
+     * Shows the points moved since the last commit, in a single update of the mesh
+     */
+    void commit(){ mesh.getPoints().set(0, points, 0, points.length); }
+}
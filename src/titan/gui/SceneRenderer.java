@@ -0,0 +1,172 @@
+package titan.gui;
+
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+import interfaces.own.GuiObjectInterface;
+import titan.physics.State;
+import titan.utility.Planet;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Draws a state of the universe with Java2D: every body as a disc with its name above it,
+ * optionally on top of the orbit trails of a TrailBuffer.
+ * Used by ModeSwing on screen, and usable on any Graphics2D (e.g. of a BufferedImage) without a window.
+ *
+ * Nothing that stays the same between frames is rebuilt per frame: the outlines of the names are created once
+ * per name, and the background (fill and control instructions) is drawn once per size into an image that is
+ * copied at the start of every frame.
+ * An instance caches per size and name, so it is meant for one thread at a time.
+ */
+public class SceneRenderer {
+    public static final double DEFAULT_SCALE = 3e9;         // Meters per pixel
+
+    private static final int RADIUS = 30;
+    private static final BasicStroke PLANET_STROKE = new BasicStroke(3);
+    private static final Color PLANET_COLOR = Color.blue;
+    private static final BasicStroke NAME_STROKE = new BasicStroke(1);
+    private static final Color NAME_COLOR = Color.black;
+    private static final Font NAME_FONT = new Font("T", Font.ITALIC, 18);
+    private static final Font TEXT_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+    private static final FontRenderContext GLYPH_CONTEXT = new FontRenderContext(null, false, false);
+    private static final BasicStroke TRAIL_STROKE = new BasicStroke(1);
+    private static final Color TRAIL_COLOR = Color.gray;
+
+    private final double scale;
+    private final Color background;
+    private final String caption;
+    private final Map<String, Shape> names = new HashMap<>();
+    private final Ellipse2D.Double planet = new Ellipse2D.Double();
+    private BufferedImage backgroundImage;
+    private double[] trail = new double[0];                 // Scratch of the trails
+    private int[] trailX = new int[0], trailY = new int[0];
+
+    public SceneRenderer(){ this(DEFAULT_SCALE, Color.white, null); }
+
+    /**
+     * @param scale - meters per pixel
+     * @param background - color behind the bodies
+     * @param caption - static text in the top left corner (e.g. control instructions), null for none
+     */
+    public SceneRenderer(double scale, Color background, String caption){
+        this.scale = scale;
+        this.background = background;
+        this.caption = caption;
+    }
+
+    /**
+     * Draws the state over the whole area, centered on the origin
+     *
+     * @param g - graphics to draw on
+     * @param state - the state that needs to be displayed
+     * @param width - width of the area (pixels)
+     * @param height - height of the area (pixels)
+     */
+    public void render(Graphics2D g, State state, int width, int height){ render(g, state, null, width, height); }
+
+    /**
+     * Draws the state over the whole area, centered on the origin, with the trails of the bodies below them
+     *
+     * @param g - graphics to draw on
+     * @param state - the state that needs to be displayed
+     * @param trails - trails of the bodies in pixels (positions divided by getScale()), null for none
+     * @param width - width of the area (pixels)
+     * @param height - height of the area (pixels)
+     */
+    public void render(Graphics2D g, State state, TrailBuffer trails, int width, int height){
+        g.drawImage(background(width, height), 0, 0, null);
+        if (trails != null){ drawTrails(g, trails, width, height); }
+
+        DataInterface[] objects = state.getObjects();
+        for(int i = 0; i < objects.length; i++){
+            GuiObjectInterface obj = (Planet) objects[i];
+            Vector3dInterface displacement = obj.guiDisplacement(scale);
+
+            double xTopLeft = displacement.getX() + (double) width / 2 - RADIUS;
+            double yTopLeft = displacement.getY() + (double) height / 2 - RADIUS;
+            planet.setFrame(xTopLeft, yTopLeft, RADIUS, RADIUS);
+
+            g.setStroke(PLANET_STROKE);
+            g.setColor(PLANET_COLOR);
+            g.draw(planet);
+            g.fill(planet);
+
+            // DRAW NAMES ABOVE PLANETS
+            Shape name = name(obj.getName());
+            g.translate(xTopLeft - 5, yTopLeft - 5);
+            g.setStroke(NAME_STROKE);
+            g.setColor(NAME_COLOR);
+            g.draw(name);
+            g.fill(name);
+            g.translate(-(xTopLeft - 5), -(yTopLeft - 5));
+        }
+    }
+
+    public double getScale(){ return scale; }
+
+    /**
+     * Draws every trail as a single polyline through the centers of the discs
+     */
+    private void drawTrails(Graphics2D g, TrailBuffer trails, int width, int height){
+        int capacity = trails.getCapacity() + 1;
+        if (trailX.length < capacity){
+            trail = new double[3 * capacity];
+            trailX = new int[capacity];
+            trailY = new int[capacity];
+        }
+        double xOffset = (double) width / 2 - RADIUS / 2.0;
+        double yOffset = (double) height / 2 - RADIUS / 2.0;
+        g.setStroke(TRAIL_STROKE);
+        g.setColor(TRAIL_COLOR);
+        for(int body = 0; body < trails.getBodies(); body++){
+            int n = trails.copy(body, trail);
+            for(int i = 0; i < n; i++){
+                trailX[i] = (int) Math.round(trail[3 * i] + xOffset);
+                trailY[i] = (int) Math.round(trail[3 * i + 1] + yOffset);
+            }
+            if (n > 1){ g.drawPolyline(trailX, trailY, n); }
+        }
+    }
+
+    /**
+     * @param name - name of a body
+     * @return The outline of the name with its baseline starting at the origin
+     */
+    private Shape name(String name){
+        Shape shape = names.get(name);
+        if (shape == null){
+            shape = NAME_FONT.createGlyphVector(GLYPH_CONTEXT, name).getOutline();
+            names.put(name, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * @return The background of the size, drawn again only when the size changes
+     */
+    private BufferedImage background(int width, int height){
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (backgroundImage != null && backgroundImage.getWidth() == width && backgroundImage.getHeight() == height){
+            return backgroundImage;
+        }
+        backgroundImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = backgroundImage.createGraphics();
+        try {
+            g.setColor(background);
+            g.fillRect(0, 0, width, height);
+            if (caption != null){
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g.setFont(TEXT_FONT);
+                g.setColor(Color.darkGray);
+                g.drawString(caption, 10, 20);
+            }
+        } finally { g.dispose(); }
+        return backgroundImage;
+    }
+}
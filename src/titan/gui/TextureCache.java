@@ -0,0 +1,124 @@
+package titan.gui;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local store of the planet textures for the FX renderer.
+ *
+ * The textures are read from a directory on disk (file names from Textures.getTextureFiles), never from the network.
+ * A material is handed out at once with a placeholder color; its texture is loaded and downscaled in the background
+ * and put on the material when it is ready. A missing or broken file leaves the placeholder, so it never blocks
+ * or breaks the creation of the scene. Every file is loaded once and shared between materials.
+ * Run main on a machine with network access to fill the store from Textures.getTextureUrls.
+ *
+ * Materials have to be requested on the FX thread.
+ */
+public class TextureCache {
+    public static final String DEFAULT_LOCATION = "src/titan/gui/textures";
+    public static final int DEFAULT_WIDTH = 1024;      // Width textures are downscaled to (pixels)
+
+    private static final Color PLACEHOLDER = Color.GRAY;
+    private static final Color UNTEXTURED = Color.RED; // Bodies without a texture at all
+
+    private final Path directory;
+    private final int width;
+    private final Map<String, Image> images = new HashMap<>();
+
+    public TextureCache(){ this(DEFAULT_LOCATION, DEFAULT_WIDTH); }
+
+    /**
+     * @param directory - the directory holding the texture files
+     * @param width - width the textures are downscaled to (pixels), their ratio is kept
+     */
+    public TextureCache(String directory, int width){
+        this.directory = Paths.get(directory);
+        this.width = width;
+    }
+
+    /**
+     * Creates the material of a body, textured as soon as its texture has been loaded
+     *
+     * @param index - index of the body, in the order of Textures.getTextureFiles
+     * @return A material showing the placeholder color until the texture is loaded
+     */
+    public PhongMaterial material(int index){
+        String[] files = Textures.getTextureFiles();
+        if (index >= files.length){ return new PhongMaterial(UNTEXTURED); }
+
+        PhongMaterial material = new PhongMaterial(PLACEHOLDER);
+        Image image = image(files[index]);
+        if (image == null){ return material; }
+
+        if (image.getProgress() >= 1){ apply(material, image); }
+        else {
+            image.progressProperty().addListener((observable, oldProgress, progress) -> {
+                if (progress.doubleValue() >= 1){ apply(material, image); }
+            });
+        }
+        return material;
+    }
+
+    /**
+     * @param file - name of the texture file
+     * @return The (loading) image of the file, null if the file is not in the store
+     */
+    private Image image(String file){
+        if (images.containsKey(file)){ return images.get(file); }
+        File location = directory.resolve(file).toFile();
+        Image image = null;
+        if (location.isFile()){
+            image = new Image(location.toURI().toString(), width, 0, true, true, true);
+        }
+        else { System.err.println("Texture not found, using a placeholder: " + location); }
+        images.put(file, image);
+        return image;
+    }
+
+    /**
+     * Puts a loaded texture on a material, unless it failed to load
+     */
+    private static void apply(PhongMaterial material, Image image){
+        if (image.isError()){ return; }
+        material.setDiffuseColor(Color.WHITE);
+        material.setDiffuseMap(image);
+    }
+
+    /**
+     * Downloads the textures that are not in the store yet
+     *
+     * @param args - optionally the directory of the store
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_LOCATION);
+        Files.createDirectories(directory);
+        String[] urls = Textures.getTextureUrls();
+        String[] files = Textures.getTextureFiles();
+        for(int i = 0; i < urls.length; i++){
+            Path target = directory.resolve(files[i]);
+            if (Files.exists(target)){ continue; }
+            System.out.println("Downloading " + urls[i]);
+            // Downloaded next to the target first, so a broken download never ends up in the store
+            Path part = directory.resolve(files[i] + ".part");
+            try(InputStream in = new URL(urls[i]).openStream()){
+                Files.copy(in, part, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch(Exception e){
+                Files.deleteIfExists(part);
+                System.err.println("Could not download " + urls[i] + ": " + e.getMessage());
+            }
+        }
+    }
+}
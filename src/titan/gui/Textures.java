@@ -21,4 +21,19 @@ public class Textures {
         urls[10] = "https://www.solarsystemscope.com/textures/download/2k_neptune.jpg";
         return urls;
     }
-}
\ No newline at end of file
+
+    /**
+     * Accesses the names of the texture files in the local store (see TextureCache), in the same order as the urls
+     *
+     * @return Array containing texture file names in order: sun, mercury, venus, earth, moon, mars, jupiter, saturn, titan, uranus, neptune
+     */
+    public static String[] getTextureFiles(){
+        String[] urls = getTextureUrls();
+        String[] files = new String[urls.length];
+        for(int i = 0; i < urls.length; i++){
+            files[i] = urls[i].substring(urls[i].lastIndexOf('/') + 1);
+        }
+        files[8] = "titan.jpg";
+        return files;
+    }
+}
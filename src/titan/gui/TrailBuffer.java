@@ -0,0 +1,325 @@
+package titan.gui;
+
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+
+import java.util.Arrays;
+
+/**
+ * Orbit trails of a fixed number of bodies in a fixed amount of memory, for drawing as one polyline per body.
+ *
+ * Every body has a ring of at most capacity points in primitive arrays. A new position only becomes a point of the
+ * trail where the path bends: the previous position is kept when it, or any position dropped since the last kept point,
+ * would lie further than the tolerance from the straight line between the last kept point and the new position, so
+ * straight stretches cost no points and curves get more. The dropped positions are not stored, every body keeps a cone
+ * of the directions that line may still take instead (see drop).
+ * When a ring is full it is simplified with Douglas-Peucker, with a tolerance that doubles until a quarter of the ring
+ * is free again; so a trail covers the whole run, coarser the longer the run, instead of forgetting its start.
+ * The current position is always the last point of a trail.
+ *
+ * The coordinates can be in any unit (meters, pixels, scene units), the tolerance is in the same unit.
+ * An instance is not meant to be shared between threads.
+ */
+public class TrailBuffer {
+    private final int capacity;
+    private final double tolerance;
+    private final double[][] xs, ys, zs;        // Ring of kept points of every body
+    private final int[] heads;                  // Index of the oldest point of every ring
+    private final int[] counts;                 // Number of kept points of every ring
+    private final double[] tolerances;          // Current simplification tolerance of every body
+    private final double[] tips;                // Latest position of every body, x y z
+    private final boolean[] hasTip;
+    private final double[] cones;               // Directions left for the trail after the last kept point of every body, x y z and angle
+    private final double[] reaches;             // Largest distance of a dropped position from the last kept point of every body
+
+    // Scratch of the simplification
+    private final double[] sx, sy, sz;
+    private final boolean[] keep;
+    private final int[] stack;
+
+    /**
+     * @param bodies - number of bodies
+     * @param capacity - maximum number of points per trail, at least 8
+     * @param tolerance - largest distance a dropped position may lie from the trail, in the unit of the coordinates, positive
+     */
+    public TrailBuffer(int bodies, int capacity, double tolerance){
+        if (capacity < 8){ throw new IllegalArgumentException("A trail needs a capacity of at least 8 points"); }
+        if (!(tolerance > 0)){ throw new IllegalArgumentException("The tolerance has to be positive"); }
+        this.capacity = capacity;
+        this.tolerance = tolerance;
+        xs = new double[bodies][capacity];
+        ys = new double[bodies][capacity];
+        zs = new double[bodies][capacity];
+        heads = new int[bodies];
+        counts = new int[bodies];
+        tolerances = new double[bodies];
+        Arrays.fill(tolerances, tolerance);
+        tips = new double[3 * bodies];
+        hasTip = new boolean[bodies];
+        cones = new double[4 * bodies];
+        reaches = new double[bodies];
+        sx = new double[capacity];
+        sy = new double[capacity];
+        sz = new double[capacity];
+        keep = new boolean[capacity];
+        stack = new int[2 * capacity];
+    }
+
+    public int getBodies(){ return counts.length; }
+
+    public int getCapacity(){ return capacity; }
+
+    /**
+     * @param body - index of the body
+     * @return The tolerance the trail of the body is currently kept within, doubled by every simplification that needed it
+     */
+    public double getTolerance(int body){ return tolerances[body]; }
+
+    /**
+     * Adds the positions of the first getBodies() objects, scaled down by a divisor
+     *
+     * @param objects - the objects, in the same order every time
+     * @param divisor - the positions are divided by it (e.g. meters per pixel), 1 to keep them
+     */
+    public void add(DataInterface[] objects, double divisor){
+        int n = Math.min(objects.length, counts.length);
+        for(int i = 0; i < n; i++){
+            Vector3dInterface p = objects[i].getPosition();
+            add(i, p.getX() / divisor, p.getY() / divisor, p.getZ() / divisor);
+        }
+    }
+
+    /**
+     * Moves a body to a new position, extending its trail
+     *
+     * @param body - index of the body
+     * @param x - x coordinate
+     * @param y - y coordinate
+     * @param z - z coordinate
+     */
+    public void add(int body, double x, double y, double z){
+        int t = 3 * body;
+        if (!hasTip[body]){
+            push(body, x, y, z);
+        }
+        else if (counts[body] == 0 || !drop(body, x, y, z)){
+            push(body, tips[t], tips[t + 1], tips[t + 2]);
+        }
+        tips[t] = x;
+        tips[t + 1] = y;
+        tips[t + 2] = z;
+        hasTip[body] = true;
+    }
+
+    /**
+     * @param body - index of the body
+     * @return The number of points of the trail, including the current position
+     */
+    public int size(int body){
+        if (!hasTip[body]){ return 0; }
+        return counts[body] + 1;
+    }
+
+    /**
+     * Copies a trail from its oldest point to the current position
+     *
+     * @param body - index of the body
+     * @param out - receives x, y and z of every point, at least 3 * (getCapacity() + 1) long
+     * @return The number of points copied
+     */
+    public int copy(int body, double[] out){
+        int count = counts[body];
+        int head = heads[body];
+        for(int i = 0; i < count; i++){
+            int r = (head + i) % capacity;
+            out[3 * i] = xs[body][r];
+            out[3 * i + 1] = ys[body][r];
+            out[3 * i + 2] = zs[body][r];
+        }
+        if (!hasTip[body]){ return count; }
+        out[3 * count] = tips[3 * body];
+        out[3 * count + 1] = tips[3 * body + 1];
+        out[3 * count + 2] = tips[3 * body + 2];
+        return count + 1;
+    }
+
+    /**
+     * Removes all trails
+     */
+    public void clear(){
+        Arrays.fill(heads, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(hasTip, false);
+        Arrays.fill(tolerances, tolerance);
+    }
+
+    /**
+     * Appends a kept point to the ring of a body, simplifying the ring first if it is full, and opens its cone again
+     */
+    private void push(int body, double x, double y, double z){
+        if (counts[body] == capacity){ simplify(body); }
+        int r = (heads[body] + counts[body]) % capacity;
+        xs[body][r] = x;
+        ys[body][r] = y;
+        zs[body][r] = z;
+        counts[body]++;
+        cones[4 * body + 3] = Math.PI;
+        reaches[body] = 0;
+    }
+
+    /**
+     * Douglas-Peucker on the ring of a body with a doubling tolerance until at most 3/4 of the ring is used.
+     * The first and last point are always kept.
+     */
+    private void simplify(int body){
+        int count = copy(body, sx, sy, sz);
+        int target = capacity - capacity / 4;
+        int kept = count;
+        while (kept > target){
+            kept = douglasPeucker(count, tolerances[body]);
+            if (kept > target){ tolerances[body] *= 2; }
+        }
+        int j = 0;
+        for(int i = 0; i < count; i++){
+            if (!keep[i]){ continue; }
+            xs[body][j] = sx[i];
+            ys[body][j] = sy[i];
+            zs[body][j] = sz[i];
+            j++;
+        }
+        heads[body] = 0;
+        counts[body] = j;
+    }
+
+    /**
+     * Marks the points of the scratch that Douglas-Peucker keeps, without recursion
+     *
+     * @return The number of kept points
+     */
+    private int douglasPeucker(int count, double epsilon){
+        Arrays.fill(keep, 0, count, false);
+        keep[0] = true;
+        keep[count - 1] = true;
+        int kept = 2;
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        while (top > 0){
+            int last = stack[--top];
+            int first = stack[--top];
+            double max = 0;
+            int index = -1;
+            for(int i = first + 1; i < last; i++){
+                double d = distance(sx[i], sy[i], sz[i], sx[first], sy[first], sz[first], sx[last], sy[last], sz[last]);
+                if (d > max){
+                    max = d;
+                    index = i;
+                }
+            }
+            if (index >= 0 && max > epsilon){
+                keep[index] = true;
+                kept++;
+                stack[top++] = first;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = last;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Copies the ring of a body into separate coordinate arrays, oldest point first
+     */
+    private int copy(int body, double[] x, double[] y, double[] z){
+        int count = counts[body];
+        for(int i = 0; i < count; i++){
+            int r = (heads[body] + i) % capacity;
+            x[i] = xs[body][r];
+            y[i] = ys[body][r];
+            z[i] = zs[body][r];
+        }
+        return count;
+    }
+
+    /**
+     * Drops the current position of a body if the line from its last kept point to (x, y, z) passes within the
+     * tolerance of it and of every position dropped before it.
+     *
+     * A dropped position at a distance d from the last kept point is within the tolerance of every line that is at least
+     * d long and whose direction lies within asin(tolerance / d) of the direction to the position. The cone of the body
+     * is narrowed to a cone inside the directions of all dropped positions, and reaches holds the largest d,
+     * so the check takes the same time however many positions were dropped.
+     *
+     * @return False if the current position has to be kept instead
+     */
+    private boolean drop(int body, double x, double y, double z){
+        int r = (heads[body] + counts[body] - 1) % capacity;
+        double ax = xs[body][r], ay = ys[body][r], az = zs[body][r];
+        double epsilon = tolerances[body];
+        int t = 3 * body;
+        double px = tips[t] - ax, py = tips[t + 1] - ay, pz = tips[t + 2] - az;
+        double d = Math.sqrt(px * px + py * py + pz * pz);
+        reaches[body] = Math.max(reaches[body], d);
+        if (reaches[body] <= epsilon){ return true; }
+        if (d > epsilon && !narrow(body, px / d, py / d, pz / d, Math.asin(epsilon / d))){ return false; }
+
+        double ux = x - ax, uy = y - ay, uz = z - az;
+        double length = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        if (length < reaches[body]){ return false; }
+        int c = 4 * body;
+        return angle(cones[c], cones[c + 1], cones[c + 2], ux, uy, uz) <= cones[c + 3];
+    }
+
+    /**
+     * Narrows the cone of a body to the largest cone inside both it and the cone around direction d
+     *
+     * @param sigma - half the opening angle of the cone around d
+     * @return False if the cones do not overlap
+     */
+    private boolean narrow(int body, double dx, double dy, double dz, double sigma){
+        int c = 4 * body;
+        double cx = cones[c], cy = cones[c + 1], cz = cones[c + 2], rho = cones[c + 3];
+        double theta = rho >= Math.PI ? 0 : angle(cx, cy, cz, dx, dy, dz);
+        if (rho >= Math.PI || theta + sigma <= rho){
+            cones[c] = dx;
+            cones[c + 1] = dy;
+            cones[c + 2] = dz;
+            cones[c + 3] = sigma;
+            return true;
+        }
+        if (theta + rho <= sigma){ return true; }
+        if (theta > rho + sigma){ return false; }
+
+        // Rotate the centre towards d into the middle of the overlap along the great circle through both centres
+        double shift = (theta + rho - sigma) / 2;
+        double cos = cx * dx + cy * dy + cz * dz;
+        double wx = dx - cos * cx, wy = dy - cos * cy, wz = dz - cos * cz;
+        double w = Math.sqrt(wx * wx + wy * wy + wz * wz);
+        cones[c] = cx * Math.cos(shift) + wx / w * Math.sin(shift);
+        cones[c + 1] = cy * Math.cos(shift) + wy / w * Math.sin(shift);
+        cones[c + 2] = cz * Math.cos(shift) + wz / w * Math.sin(shift);
+        cones[c + 3] = (rho + sigma - theta) / 2;
+        return true;
+    }
+
+    /**
+     * @return The angle between the vectors a and b
+     */
+    private static double angle(double ax, double ay, double az, double bx, double by, double bz){
+        double cx = ay * bz - az * by, cy = az * bx - ax * bz, cz = ax * by - ay * bx;
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), ax * bx + ay * by + az * bz);
+    }
+
+    /**
+     * @return The distance of point p from the segment from a to b
+     */
+    private static double distance(double px, double py, double pz, double ax, double ay, double az, double bx, double by, double bz){
+        double dx = bx - ax, dy = by - ay, dz = bz - az;
+        double lengthSquared = dx * dx + dy * dy + dz * dz;
+        double u = lengthSquared == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy + (pz - az) * dz) / lengthSquared;
+        u = Math.max(0, Math.min(1, u));
+        double ex = ax + u * dx - px, ey = ay + u * dy - py, ez = az + u * dz - pz;
+        return Math.sqrt(ex * ex + ey * ey + ez * ez);
+    }
+}
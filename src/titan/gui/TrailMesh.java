@@ -0,0 +1,91 @@
+package titan.gui;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * The trails of a TrailBuffer as a single mesh for the FX scene: every segment of a trail is a thin flat quad
+ * (two triangles) in the plane of the orbits. The mesh has room for every segment a full TrailBuffer can hold,
+ * unused segments collapse to a point, so its memory and draw cost are fixed and an update is one float array.
+ *
+ * Updates have to happen on the FX thread.
+ */
+class TrailMesh {
+    private final TriangleMesh mesh = new TriangleMesh();
+    private final MeshView view = new MeshView(mesh);
+    private final int bodies;
+    private final int segments;                 // Segments per body
+    private final float width;
+    private final float[] points;
+    private final double[] trail;
+
+    /**
+     * @param bodies - number of bodies of the trails
+     * @param capacity - capacity of the TrailBuffer, a trail has at most that many segments
+     * @param width - half the width of a trail in the scene
+     * @param color - color of the trails
+     */
+    TrailMesh(int bodies, int capacity, float width, Color color){
+        this.bodies = bodies;
+        this.segments = capacity;
+        this.width = width;
+        points = new float[bodies * segments * 4 * 3];
+        trail = new double[3 * (capacity + 1)];
+
+        int[] faces = new int[bodies * segments * 2 * 6];
+        for(int s = 0; s < bodies * segments; s++){
+            int p = 4 * s;
+            // Corners 0 and 1 at the start of the segment, 2 and 3 at the end; texture coordinate 0 everywhere
+            int[] quad = { p, 0, p + 1, 0, p + 2, 0,   p + 2, 0, p + 1, 0, p + 3, 0 };
+            System.arraycopy(quad, 0, faces, 12 * s, 12);
+        }
+        mesh.getTexCoords().setAll(0, 0);
+        mesh.getPoints().setAll(points);
+        mesh.getFaces().setAll(faces);
+        view.setMaterial(new PhongMaterial(color));
+        view.setCullFace(CullFace.NONE);
+    }
+
+    MeshView getView(){ return view; }
+
+    /**
+     * Shows the current trails
+     *
+     * @param trails - the trails, in scene coordinates, with at most as many bodies and capacity as this mesh
+     */
+    void update(TrailBuffer trails){
+        Arrays.fill(points, 0);
+        int n = Math.min(bodies, trails.getBodies());
+        for(int body = 0; body < n; body++){
+            int count = trails.copy(body, trail);
+            int offset = body * segments * 12;
+            for(int i = 0; i + 1 < count && i < segments; i++){
+                double x0 = trail[3 * i], y0 = trail[3 * i + 1], z0 = trail[3 * i + 2];
+                double x1 = trail[3 * i + 3], y1 = trail[3 * i + 4], z1 = trail[3 * i + 5];
+                double dx = x1 - x0, dy = y1 - y0;
+                double length = Math.sqrt(dx * dx + dy * dy);
+                if (length == 0 || !Double.isFinite(length)){ continue; }
+                // Offset perpendicular to the segment within the xy plane
+                float nx = (float) (-dy / length) * width;
+                float ny = (float) (dx / length) * width;
+                int p = offset + 12 * i;
+                corner(p, x0 + nx, y0 + ny, z0);
+                corner(p + 3, x0 - nx, y0 - ny, z0);
+                corner(p + 6, x1 + nx, y1 + ny, z1);
+                corner(p + 9, x1 - nx, y1 - ny, z1);
+            }
+        }
+        mesh.getPoints().set(0, points, 0, points.length);
+    }
+
+    private void corner(int p, double x, double y, double z){
+        points[p] = (float) x;
+        points[p + 1] = (float) y;
+        points[p + 2] = (float) z;
+    }
+}
@@ -0,0 +1,31 @@
+package titan.math;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+
+/**
+ * Wraps a differential equation and counts how often the solvers evaluate it,
+ * the machine independent measure of the work a solver does
+ */
+public class CountingFunction implements ODEFunctionInterface {
+    private final ODEFunctionInterface function;
+    private long calls;
+
+    /**
+     * @param function - the function to count the evaluations of
+     */
+    public CountingFunction(ODEFunctionInterface function){ this.function = function; }
+
+    public RateInterface call(double t, StateInterface y){
+        calls++;
+        return function.call(t, y);
+    }
+
+    /**
+     * @return The number of evaluations since construction or the last reset
+     */
+    public long getCalls(){ return calls; }
+
+    public void reset(){ calls = 0; }
+}
@@ -0,0 +1,29 @@
+package titan.math;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+import titan.physics.BodyArrays;
+import titan.physics.FlatState;
+import titan.physics.Newton;
+import titan.utility.FlatRate;
+
+/**
+ * Function of the differential equation of the universe on FlatStates: the gravity of Newton.acceleration(BodyArrays, ...)
+ * on the bodies of the state, without creating vectors. Fuel masses do not change.
+ *
+ * Like Newton.acceleration(BodyArrays, ...) and unlike Function, a body without mass is still accelerated by the others.
+ * The velocities of the state are the position rates; the accelerations and the fuel mass flow are new arrays
+ * that PoweredFunction adds the burn of a rocket to.
+ */
+public class FlatFunction implements ODEFunctionInterface {
+    private final Newton newton = new Newton();
+
+    public RateInterface call(double t, StateInterface y){
+        BodyArrays bodies = ((FlatState) y).getBodies();
+        int n = bodies.size();
+        double[] ax = new double[n], ay = new double[n], az = new double[n];
+        newton.acceleration(bodies, ax, ay, az);
+        return new FlatRate(bodies.getVx(), bodies.getVy(), bodies.getVz(), ax, ay, az, new double[n]);
+    }
+}
@@ -0,0 +1,40 @@
+package titan.math;
+
+/**
+ * Immutable polynomial c0 + c1*x + c2*x^2 + ... + cn*x^n, evaluated with Horner's method:
+ * n multiplications and n additions, no calls to Math.pow.
+ */
+public class Polynomial {
+    private final double[] coefficients;
+
+    /**
+     * Constructs a polynomial
+     *
+     * @param coefficients - the coefficients in increasing degree, starting with the constant term
+     */
+    public Polynomial(double... coefficients){
+        if (coefficients.length == 0){ throw new IllegalArgumentException("A polynomial needs at least 1 coefficient"); }
+        this.coefficients = coefficients.clone();
+    }
+
+    /**
+     * @param x - the value to evaluate the polynomial at
+     * @return The value of the polynomial at x
+     */
+    public double evaluate(double x){
+        double result = coefficients[coefficients.length - 1];
+        for(int i = coefficients.length - 2; i >= 0; i--){ result = result * x + coefficients[i]; }
+        return result;
+    }
+
+    /**
+     * @return The degree of the polynomial
+     */
+    public int degree(){ return coefficients.length - 1; }
+
+    /**
+     * @param i - the degree of the term
+     * @return The coefficient of x^i
+     */
+    public double getCoefficient(int i){ return coefficients[i]; }
+}
@@ -0,0 +1,63 @@
+package titan.math;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+import interfaces.own.EventInterface;
+import titan.physics.BodyArrays;
+import titan.physics.FlatState;
+import titan.utility.FlatRate;
+import titan.utility.ThrustArc;
+
+/**
+ * Function of the differential equation of the universe on FlatStates with a rocket whose engine can burn:
+ * the gravity of FlatFunction plus, during a burn, the thrust divided by the current mass of the rocket,
+ * and the fuel mass flow. So the burn, and the mass it loses, are integrated by the solver like the gravity.
+ *
+ * The burn is held until it is set again, like the controls of LanderFunction, so the solver only ever sees
+ * a smooth right-hand side; the integration is split at the starts and ends of the burns (see BurnIntegrator).
+ * The thrust does not stop by itself when the fuel runs out: a jump inside a step would make an adaptive solver
+ * reject its steps around it. Instead the moment the tank is empty is an event (see fuel()) at which the burn is
+ * ended, as BurnIntegrator does.
+ * An instance holds the burn of one integration, so it is not meant to be shared between threads.
+ */
+public class PoweredFunction implements ODEFunctionInterface {
+    private final FlatFunction gravity = new FlatFunction();
+    private final int rocket;
+    private ThrustArc arc;
+    private final double[] direction = new double[3];      // Scratch of call
+
+    /**
+     * @param rocket - index of the rocket in the states
+     */
+    public PoweredFunction(int rocket){ this.rocket = rocket; }
+
+    public int getRocket(){ return rocket; }
+
+    /**
+     * @param arc - the burn of the engine from now on, null to coast
+     */
+    public void setArc(ThrustArc arc){ this.arc = arc; }
+
+    public ThrustArc getArc(){ return arc; }
+
+    /**
+     * @return Event at which the fuel of the rocket runs out: its fuel mass, which reaches 0 when the tank is empty
+     */
+    public EventInterface fuel(){ return (t, y) -> ((FlatState) y).getFuelMass(rocket); }
+
+    public RateInterface call(double t, StateInterface y){
+        FlatRate rate = (FlatRate) gravity.call(t, y);
+        FlatState s = (FlatState) y;
+        if (arc == null){ return rate; }
+
+        BodyArrays bodies = s.getBodies();
+        arc.direction(bodies.getVx()[rocket], bodies.getVy()[rocket], bodies.getVz()[rocket], direction);
+        double a = arc.getThrust() / s.getMass(rocket);
+        rate.getVx()[rocket] += a * direction[0];
+        rate.getVy()[rocket] += a * direction[1];
+        rate.getVz()[rocket] += a * direction[2];
+        rate.getFuel()[rocket] = -arc.getMassFlow();
+        return rate;
+    }
+}
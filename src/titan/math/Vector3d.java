@@ -4,19 +4,21 @@ import interfaces.given.Vector3dInterface;
 
 /**
  * Class representing a 3-dimensional vector while implementing interface Vector3dInterface
- * This is an alternative version which should be more memory efficient
+ * The dimensions are stored in 3 primitive fields, so a vector is a single small object without a backing array.
+ * The operations of the interface return a new vector; the *InPlace variants overwrite this vector instead
+ * and are meant for inner loops that should not allocate.
  */
 public class Vector3d implements Vector3dInterface {
-	private double[] values = { 0.0, 0.0, 0.0 };
+	private double x, y, z;
 
-	public double getX(){ return values[0]; }
-	public void setX(double x){ values[0] = x; }
+	public double getX(){ return x; }
+	public void setX(double x){ this.x = x; }
 
-	public double getY(){ return values[1]; }
-	public void setY(double y) { values[1] = y; }
+	public double getY(){ return y; }
+	public void setY(double y) { this.y = y; }
 
-	public double getZ() { return values[2]; }
-	public void setZ(double z){ values[2] = z; }
+	public double getZ() { return z; }
+	public void setZ(double z){ this.z = z; }
 
 	/**
 	 * Empty constructor that creates a 3-dimensional zero vector
@@ -30,15 +32,19 @@ public class Vector3d implements Vector3dInterface {
 	 * @param y - 2nd dimension value
 	 * @param z - 3rd dimension value
 	 */
-	public Vector3d(double x, double y, double z){ values = new double[]{x, y, z}; }
+	public Vector3d(double x, double y, double z){
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
 
 	/**
-	 * Creates a n-dimensional Vector, where n = values.length
+	 * Creates a 3-dimensional vector from the first 3 values of an array (the array is copied, not kept)
 	 *
 	 * @param values - double array representing a multi-dimensional vector in order,
-	 *                 where vector dimension i = values[i-1], with i = 1, 2, ... values.length
+	 *                 where vector dimension i = values[i-1], with i = 1, 2, 3
 	 */
-	public Vector3d(double[] values){ this.values = values; }
+	public Vector3d(double[] values){ this(values[0], values[1], values[2]); }
 
 	/**
 	 * Performs a vector addition for the first 3-dimensions (say x,y,z)
@@ -47,8 +53,7 @@ public class Vector3d implements Vector3dInterface {
 	 * @return 3-dimensional vector representing the result of addition operation performed with other on the x,y,z dimensions
 	 */
 	public Vector3dInterface add(Vector3dInterface other){
-		double[] result = { getX() + other.getX(), getY() + other.getY(), getZ() + other.getZ() };
-		return new Vector3d(result);
+		return new Vector3d(x + other.getX(), y + other.getY(), z + other.getZ());
 	}
 
 	/**
@@ -58,8 +63,7 @@ public class Vector3d implements Vector3dInterface {
 	 * @return 3-dimensional vector representing the result of subtraction operation performed with other on the x,y,z dimensions
 	 */
 	public Vector3dInterface sub(Vector3dInterface other){
-		double[] result = { getX() - other.getX(), getY() - other.getY(), getZ() - other.getZ() };
-		return new Vector3d(result);
+		return new Vector3d(x - other.getX(), y - other.getY(), z - other.getZ());
 	}
 
 	/**
@@ -69,8 +73,7 @@ public class Vector3d implements Vector3dInterface {
 	 * @return 3-dimension vector representing the result of the dimensions x,y,z multiplied with the scalar
 	 */
 	public Vector3dInterface mul(double scalar){
-		double[] result = { getX() * scalar, getY() * scalar, getZ() * scalar };
-		return new Vector3d(result);
+		return new Vector3d(x * scalar, y * scalar, z * scalar);
 	}
 
 	/**
@@ -90,22 +93,71 @@ public class Vector3d implements Vector3dInterface {
 	 *       a+h*b
 	 */
 	public Vector3dInterface addMul(double scalar, Vector3dInterface other){
-		double[] result = { getX() + scalar * other.getX(), getY() + scalar * other.getY(), getZ() + scalar * other.getZ() };
-		return new Vector3d(result);
+		return new Vector3d(x + scalar * other.getX(), y + scalar * other.getY(), z + scalar * other.getZ());
+	}
+
+	/**
+	 * Overwrites all 3 dimensions
+	 *
+	 * @return this vector
+	 */
+	public Vector3d set(double x, double y, double z){
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	/**
+	 * Copies the dimensions of another vector into this vector
+	 *
+	 * @return this vector
+	 */
+	public Vector3d set(Vector3dInterface other){ return set(other.getX(), other.getY(), other.getZ()); }
+
+	/**
+	 * Same as add(), but stores the result in this vector
+	 *
+	 * @return this vector
+	 */
+	public Vector3d addInPlace(Vector3dInterface other){ return set(x + other.getX(), y + other.getY(), z + other.getZ()); }
+
+	/**
+	 * Same as sub(), but stores the result in this vector
+	 *
+	 * @return this vector
+	 */
+	public Vector3d subInPlace(Vector3dInterface other){ return set(x - other.getX(), y - other.getY(), z - other.getZ()); }
+
+	/**
+	 * Same as mul(), but stores the result in this vector
+	 *
+	 * @return this vector
+	 */
+	public Vector3d mulInPlace(double scalar){ return set(x * scalar, y * scalar, z * scalar); }
+
+	/**
+	 * Same as addMul(), but stores the result in this vector
+	 *
+	 * @return this vector
+	 */
+	public Vector3d addMulInPlace(double scalar, Vector3dInterface other){
+		return set(x + scalar * other.getX(), y + scalar * other.getY(), z + scalar * other.getZ());
 	}
 
 	/**
 	 * @return the Euclidean norm of a vector
 	 */
 	public double norm(){
-		return Math.sqrt(Math.pow(getX(), 2) + Math.pow(getY(), 2) + Math.pow(getZ(), 2));
+		return Math.sqrt(x * x + y * y + z * z);
 	}
 
 	/**
 	 * @return the Euclidean distance between two vectors
 	 */
 	public double dist(Vector3dInterface other){
-		return Math.sqrt(Math.pow(other.getX() - getX(), 2) + Math.pow(other.getY() - getY(), 2) + Math.pow(other.getZ() - getZ(), 2));
+		double dx = other.getX() - x, dy = other.getY() - y, dz = other.getZ() - z;
+		return Math.sqrt(dx * dx + dy * dy + dz * dz);
 	}
 
 	/**
@@ -113,6 +165,6 @@ public class Vector3d implements Vector3dInterface {
 	 * Vector3d(-1.0, 2, -3.0) should print out (-1.0,2.0,-3.0)
 	 */
 	public String toString(){
-		return "(" + getX() + "," + getY() + "," + getZ() + ")";
+		return "(" + x + "," + y + "," + z + ")";
 	}
 }
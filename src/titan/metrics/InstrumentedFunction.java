@@ -0,0 +1,31 @@
+package titan.metrics;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+
+/**
+ * Wraps a differential equation and records the number and duration of its evaluations in SolverMetrics
+ */
+public class InstrumentedFunction implements ODEFunctionInterface {
+    private final ODEFunctionInterface function;
+    private final SolverMetrics metrics;
+
+    /**
+     * @param function - the function to instrument
+     * @param metrics - the metrics to record in
+     */
+    public InstrumentedFunction(ODEFunctionInterface function, SolverMetrics metrics){
+        this.function = function;
+        this.metrics = metrics;
+    }
+
+    public RateInterface call(double t, StateInterface y){
+        long startTime = System.nanoTime();
+        RateInterface rate = function.call(t, y);
+        metrics.functionCall(System.nanoTime() - startTime);
+        return rate;
+    }
+
+    public SolverMetrics getMetrics(){ return metrics; }
+}
@@ -0,0 +1,97 @@
+package titan.metrics;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.ODESolverInterface;
+import interfaces.given.StateInterface;
+import interfaces.own.ObservableSolverInterface;
+import interfaces.own.StepListenerInterface;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Wraps a solver and records every step in SolverMetrics: the step size, the time it took and the bytes the
+ * stepping thread allocated during it (from the thread allocation counter of the JVM, when it has one).
+ *
+ * solve always runs the wrapped solver's own solve; the solver tells this class about every step it takes
+ * (ObservableSolverInterface), and each step is measured since the previous one. For DormandPrince that includes the
+ * rejected steps and those of integrate calls made on the wrapped solver directly.
+ * A solver that does not tell about its steps is solved without step metrics.
+ * step is measured on its own, as the wrapped solver's step is called directly.
+ */
+public class InstrumentedSolver implements ODESolverInterface, StepListenerInterface {
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationCounter();
+
+    private final ODESolverInterface solver;
+    private final SolverMetrics metrics;
+    private long lastNanos;
+    private long lastBytes;
+
+    /**
+     * @param solver - the solver to instrument
+     * @param metrics - the metrics to record in
+     */
+    public InstrumentedSolver(ODESolverInterface solver, SolverMetrics metrics){
+        this.solver = solver;
+        this.metrics = metrics;
+        if (solver instanceof ObservableSolverInterface){ ((ObservableSolverInterface) solver).setStepListener(this); }
+    }
+
+    public ODESolverInterface getSolver(){ return solver; }
+
+    public SolverMetrics getMetrics(){ return metrics; }
+
+    public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double[] ts){
+        mark();
+        return solver.solve(f, y0, ts);
+    }
+
+    public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double tf, double h){
+        mark();
+        return solver.solve(f, y0, tf, h);
+    }
+
+    public StateInterface step(ODEFunctionInterface f, double t, StateInterface y, double h){
+        long bytes = allocatedBytes();
+        long startTime = System.nanoTime();
+        StateInterface next = solver.step(f, t, y, h);
+        long nanos = System.nanoTime() - startTime;
+        metrics.step(t, h, true, nanos, bytes < 0 ? -1 : allocatedBytes() - bytes);
+        return next;
+    }
+
+    /**
+     * Records a step of the wrapped solver, measured since the previous step (or the start of solve)
+     */
+    public void step(double t, double h, boolean accepted){
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        metrics.step(t, h, accepted, nanos - lastNanos, bytes < 0 ? -1 : bytes - lastBytes);
+        lastNanos = nanos;
+        lastBytes = bytes;
+    }
+
+    /**
+     * Starts measuring the next step of the wrapped solver from now
+     */
+    public void mark(){
+        lastNanos = System.nanoTime();
+        lastBytes = allocatedBytes();
+    }
+
+    /**
+     * @return The bytes the current thread has allocated so far, -1 if the JVM does not count them
+     */
+    private static long allocatedBytes(){
+        return ALLOCATION == null ? -1 : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter(){
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)){ return null; }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+        if (!counter.isThreadAllocatedMemorySupported()){ return null; }
+        if (!counter.isThreadAllocatedMemoryEnabled()){ counter.setThreadAllocatedMemoryEnabled(true); }
+        return counter;
+    }
+}
@@ -0,0 +1,19 @@
+package titan.metrics;
+
+import interfaces.own.MetricsReporterInterface;
+
+import java.io.PrintStream;
+
+/**
+ * Reports the metrics as one line per name to a stream, e.g. System.out
+ */
+public class LogReporter implements MetricsReporterInterface {
+    private final PrintStream out;
+
+    /**
+     * @param out - the stream to print the metrics to
+     */
+    public LogReporter(PrintStream out){ this.out = out; }
+
+    public void report(String name, SolverMetrics metrics){ out.println("[metrics] " + name + ": " + metrics); }
+}
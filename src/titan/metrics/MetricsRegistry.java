@@ -0,0 +1,102 @@
+package titan.metrics;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.ODESolverInterface;
+import interfaces.own.MetricsReporterInterface;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the metrics of all instrumented solvers and functions, by name.
+ *
+ * Metrics are enabled with the system property titan.metrics=true (e.g. java -Dtitan.metrics=true ...).
+ * When disabled, instrument returns the function or solver it is given unchanged, so the simulation runs
+ * exactly the uninstrumented code. When enabled, every metrics object is also registered as a JMX MBean
+ * under titan:type=Solver,name=..., and reporters can be scheduled to report all metrics periodically.
+ */
+public final class MetricsRegistry {
+    private static final boolean ENABLED = Boolean.getBoolean("titan.metrics");
+    private static final Map<String, SolverMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry(){ }
+
+    /**
+     * @return True if the system property titan.metrics is true
+     */
+    public static boolean isEnabled(){ return ENABLED; }
+
+    /**
+     * Accesses the metrics of a name, creating (and registering with JMX) them on first use
+     *
+     * @param name - the name of the run or solver, e.g. "solar system"
+     * @return The metrics of that name
+     */
+    public static SolverMetrics get(String name){
+        return METRICS.computeIfAbsent(name, n -> {
+            SolverMetrics metrics = new SolverMetrics();
+            register(n, metrics);
+            return metrics;
+        });
+    }
+
+    /**
+     * @return All metrics by name, the map is live
+     */
+    public static Map<String, SolverMetrics> getAll(){ return METRICS; }
+
+    /**
+     * Wraps a function so its evaluations are counted and timed under a name
+     *
+     * @param function - the function to instrument
+     * @param name - the name of the metrics
+     * @return The instrumented function, or the function itself when metrics are disabled
+     */
+    public static ODEFunctionInterface instrument(ODEFunctionInterface function, String name){
+        return ENABLED ? new InstrumentedFunction(function, get(name)) : function;
+    }
+
+    /**
+     * Wraps a solver so its steps are counted, timed and their allocations measured under a name
+     *
+     * @param solver - the solver to instrument
+     * @param name - the name of the metrics
+     * @return The instrumented solver, or the solver itself when metrics are disabled
+     */
+    public static ODESolverInterface instrument(ODESolverInterface solver, String name){
+        return ENABLED ? new InstrumentedSolver(solver, get(name)) : solver;
+    }
+
+    /**
+     * Reports all metrics periodically on a daemon thread
+     *
+     * @param reporter - the destination of the metrics
+     * @param period - the time between two reports
+     * @param unit - the unit of the period
+     * @return The executor running the reports, shut it down to stop reporting
+     */
+    public static ScheduledExecutorService schedule(MetricsReporterInterface reporter, long period, TimeUnit unit){
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> METRICS.forEach(reporter::report), period, period, unit);
+        return executor;
+    }
+
+    private static void register(String name, SolverMetrics metrics){
+        if (!ENABLED){ return; }
+        try{
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(metrics, new ObjectName("titan:type=Solver,name=" + ObjectName.quote(name)));
+        }
+        catch(Exception e){ System.out.println("Could not register the metrics of " + name + " with JMX: " + e.getMessage()); }
+    }
+}
@@ -0,0 +1,107 @@
+package titan.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers of one solver run (or of all runs sharing a name): function evaluations, steps,
+ * rejected steps, the time they took, the bytes the stepping thread allocated, and the current step size and time.
+ * Updated by the instrumented function and solver, read at any moment by reporters and JMX.
+ */
+public class SolverMetrics implements SolverMetricsMBean {
+    private final LongAdder functionCalls = new LongAdder();
+    private final LongAdder functionNanos = new LongAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder rejectedSteps = new LongAdder();
+    private final LongAdder stepNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private volatile double stepSize;
+    private volatile double time;
+
+    /**
+     * Records a function evaluation
+     *
+     * @param nanos - the time the evaluation took
+     */
+    public void functionCall(long nanos){
+        functionCalls.increment();
+        functionNanos.add(nanos);
+    }
+
+    /**
+     * Records a step
+     *
+     * @param t - the time at the start of the step
+     * @param h - the size of the step
+     * @param accepted - false if the step was rejected by an adaptive solver
+     * @param nanos - the time the step took
+     * @param bytes - the bytes the thread allocated during the step, negative if unknown
+     */
+    public void step(double t, double h, boolean accepted, long nanos, long bytes){
+        if (accepted){
+            steps.increment();
+            time = t + h;
+        }
+        else { rejectedSteps.increment(); }
+        stepNanos.add(nanos);
+        if (bytes > 0){ allocatedBytes.add(bytes); }
+        stepSize = h;
+    }
+
+    public long getFunctionCalls(){ return functionCalls.sum(); }
+
+    public double getMeanFunctionMicros(){
+        long calls = functionCalls.sum();
+        return calls == 0 ? 0 : functionNanos.sum() / 1e3 / calls;
+    }
+
+    /**
+     * @return The number of accepted steps
+     */
+    public long getSteps(){ return steps.sum(); }
+
+    public long getRejectedSteps(){ return rejectedSteps.sum(); }
+
+    /**
+     * @return The mean time of a step, accepted or rejected, in microseconds
+     */
+    public double getMeanStepMicros(){
+        long tried = steps.sum() + rejectedSteps.sum();
+        return tried == 0 ? 0 : stepNanos.sum() / 1e3 / tried;
+    }
+
+    public long getAllocatedBytes(){ return allocatedBytes.sum(); }
+
+    public double getAllocatedBytesPerStep(){
+        long tried = steps.sum() + rejectedSteps.sum();
+        return tried == 0 ? 0 : (double) allocatedBytes.sum() / tried;
+    }
+
+    /**
+     * @return The size of the last step tried
+     */
+    public double getStepSize(){ return stepSize; }
+
+    /**
+     * @return The time reached by the last accepted step
+     */
+    public double getTime(){ return time; }
+
+    public void reset(){
+        functionCalls.reset();
+        functionNanos.reset();
+        steps.reset();
+        rejectedSteps.reset();
+        stepNanos.reset();
+        allocatedBytes.reset();
+        stepSize = 0;
+        time = 0;
+    }
+
+    public String toString(){
+        return String.format(Locale.ROOT,
+                "calls=%d (%.2f us), steps=%d, rejected=%d (%.2f us/step), allocated=%d B (%.0f B/step), h=%g, t=%g",
+                getFunctionCalls(), getMeanFunctionMicros(), getSteps(), getRejectedSteps(), getMeanStepMicros(),
+                getAllocatedBytes(), getAllocatedBytesPerStep(), stepSize, time);
+    }
+}
@@ -0,0 +1,17 @@
+package titan.metrics;
+
+/**
+ * JMX view of SolverMetrics, so a running simulation can be watched with e.g. JConsole or VisualVM
+ */
+public interface SolverMetricsMBean {
+    public long getFunctionCalls();
+    public double getMeanFunctionMicros();
+    public long getSteps();
+    public long getRejectedSteps();
+    public double getMeanStepMicros();
+    public long getAllocatedBytes();
+    public double getAllocatedBytesPerStep();
+    public double getStepSize();
+    public double getTime();
+    public void reset();
+}
@@ -0,0 +1,230 @@
+package titan.physics;
+
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+import titan.math.Vector3d;
+import titan.utility.Planet;
+import titan.utility.Rocket;
+
+import java.util.Arrays;
+
+/**
+ * Bodies stored as primitive arrays (one array per property) instead of one object per body.
+ * Meant for large catalogues (asteroids, small bodies) where one Planet with 2 vectors per body is too expensive.
+ *
+ * Index i in every array belongs to the same body. Names are optional and may be null.
+ * The mass of a body is its mass without fuel plus its fuel mass; only rockets carry fuel.
+ */
+public class BodyArrays {
+    private String[] names;
+    private double[] mass, radius, x, y, z, vx, vy, vz, fuel;
+    private boolean[] rockets;
+    private int size;
+
+    /**
+     * Constructs an empty set of bodies
+     *
+     * @param capacity - the number of bodies that can be added before the arrays need to grow
+     */
+    public BodyArrays(int capacity){
+        capacity = Math.max(capacity, 1);
+        names = new String[capacity];
+        mass = new double[capacity];
+        radius = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        vz = new double[capacity];
+        fuel = new double[capacity];
+        rockets = new boolean[capacity];
+    }
+
+    /**
+     * Constructs bodies with new positions, velocities and fuel masses that share the unchanging properties
+     * (names, masses without fuel, radii, rockets) of other bodies, e.g. for the next state of FlatState
+     *
+     * @param shared - the bodies whose unchanging properties are shared, trimmed to their size
+     */
+    BodyArrays(BodyArrays shared, double[] x, double[] y, double[] z, double[] vx, double[] vy, double[] vz, double[] fuel){
+        names = shared.names;
+        mass = shared.mass;
+        radius = shared.radius;
+        rockets = shared.rockets;
+        size = shared.size;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.vx = vx;
+        this.vy = vy;
+        this.vz = vz;
+        this.fuel = fuel;
+    }
+
+    /**
+     * Copies the objects of a state into arrays
+     *
+     * @param state - the state whose objects need to be copied
+     * @return Bodies with the same name, mass, radius, position and velocity as the objects in the state,
+     *         a Rocket split into its mass without fuel and its fuel mass
+     */
+    public static BodyArrays fromState(State state){
+        DataInterface[] objects = state.getObjects();
+        BodyArrays bodies = new BodyArrays(objects.length);
+        for(DataInterface obj : objects){
+            Vector3dInterface p = obj.getPosition(), v = obj.getVelocity();
+            if (obj instanceof Rocket){
+                Rocket rocket = (Rocket) obj;
+                bodies.addRocket(obj.getName(), rocket.getDryMass(), rocket.getFuelMass(), p.getX(), p.getY(), p.getZ(), v.getX(), v.getY(), v.getZ());
+                continue;
+            }
+            double r = obj instanceof Planet ? ((Planet) obj).getRadius() : 0.0;
+            bodies.add(obj.getName(), obj.getMass(), r, p.getX(), p.getY(), p.getZ(), v.getX(), v.getY(), v.getZ());
+        }
+        return bodies;
+    }
+
+    /**
+     * Appends a body
+     *
+     * @param name - the name of the body, may be null
+     * @param m - mass of the body
+     * @param r - radius of the body
+     * @param px - position on the x-axis
+     * @param py - position on the y-axis
+     * @param pz - position on the z-axis
+     * @param pvx - velocity on the x-axis
+     * @param pvy - velocity on the y-axis
+     * @param pvz - velocity on the z-axis
+     */
+    public void add(String name, double m, double r, double px, double py, double pz, double pvx, double pvy, double pvz){
+        if (size == mass.length){ grow(Math.max(1, size * 2)); }
+        names[size] = name;
+        mass[size] = m;
+        radius[size] = r;
+        x[size] = px;
+        y[size] = py;
+        z[size] = pz;
+        vx[size] = pvx;
+        vy[size] = pvy;
+        vz[size] = pvz;
+        fuel[size] = 0.0;
+        rockets[size] = false;
+        size++;
+    }
+
+    /**
+     * Appends a rocket, a body without radius that carries fuel
+     *
+     * @param name - the name of the rocket, may be null
+     * @param dryMass - mass of the rocket without fuel
+     * @param fuelMass - mass of the fuel in the rocket
+     * @param px - position on the x-axis
+     * @param py - position on the y-axis
+     * @param pz - position on the z-axis
+     * @param pvx - velocity on the x-axis
+     * @param pvy - velocity on the y-axis
+     * @param pvz - velocity on the z-axis
+     */
+    public void addRocket(String name, double dryMass, double fuelMass, double px, double py, double pz, double pvx, double pvy, double pvz){
+        add(name, dryMass, 0.0, px, py, pz, pvx, pvy, pvz);
+        fuel[size - 1] = fuelMass;
+        rockets[size - 1] = true;
+    }
+
+    /**
+     * Appends all bodies of another set of bodies in order
+     *
+     * @param other - the bodies that need to be appended
+     */
+    public void addAll(BodyArrays other){
+        if (size + other.size > mass.length){ grow(size + other.size); }
+        System.arraycopy(other.names, 0, names, size, other.size);
+        System.arraycopy(other.mass, 0, mass, size, other.size);
+        System.arraycopy(other.radius, 0, radius, size, other.size);
+        System.arraycopy(other.x, 0, x, size, other.size);
+        System.arraycopy(other.y, 0, y, size, other.size);
+        System.arraycopy(other.z, 0, z, size, other.size);
+        System.arraycopy(other.vx, 0, vx, size, other.size);
+        System.arraycopy(other.vy, 0, vy, size, other.size);
+        System.arraycopy(other.vz, 0, vz, size, other.size);
+        System.arraycopy(other.fuel, 0, fuel, size, other.size);
+        System.arraycopy(other.rockets, 0, rockets, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Shrinks the arrays so their length equals the number of bodies
+     */
+    public void trim(){ if (size != mass.length){ grow(size); } }
+
+    /**
+     * Accesses the number of bodies
+     *
+     * @return Integer representing the number of bodies that have been added
+     */
+    public int size(){ return size; }
+
+    /**
+     * Accesses the name of a body
+     *
+     * @param i - index of the body
+     * @return The name of the body or null if no name was stored
+     */
+    public String getName(int i){ return names[i]; }
+
+    /**
+     * @param i - index of the body
+     * @return True if the body is a Rocket when converted into a state
+     */
+    public boolean isRocket(int i){ return rockets[i]; }
+
+    /**
+     * The getters below give direct access to the arrays, which may be longer than size().
+     * Changes to the arrays are changes to the bodies. getMass() holds the masses without fuel.
+     */
+    public double[] getMass(){ return mass; }
+    public double[] getRadius(){ return radius; }
+    public double[] getX(){ return x; }
+    public double[] getY(){ return y; }
+    public double[] getZ(){ return z; }
+    public double[] getVx(){ return vx; }
+    public double[] getVy(){ return vy; }
+    public double[] getVz(){ return vz; }
+    public double[] getFuel(){ return fuel; }
+
+    /**
+     * Converts the bodies into a state so they can be used with the solvers
+     *
+     * @return State containing one Planet or Rocket per body
+     */
+    public State toState(){
+        DataInterface[] objects = new DataInterface[size];
+        for(int i = 0; i < size; i++){
+            Vector3d position = new Vector3d(x[i], y[i], z[i]);
+            Vector3d velocity = new Vector3d(vx[i], vy[i], vz[i]);
+            if (rockets[i]){
+                Rocket rocket = new Rocket(position, velocity);
+                rocket.setMass(fuel[i]);
+                objects[i] = rocket;
+            }
+            else { objects[i] = new Planet(names[i], mass[i], radius[i], position, velocity); }
+        }
+        return new State(objects);
+    }
+
+    private void grow(int capacity){
+        names = Arrays.copyOf(names, capacity);
+        mass = Arrays.copyOf(mass, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        vz = Arrays.copyOf(vz, capacity);
+        fuel = Arrays.copyOf(fuel, capacity);
+        rockets = Arrays.copyOf(rockets, capacity);
+    }
+}
@@ -0,0 +1,128 @@
+package titan.physics;
+
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+import interfaces.own.AdaptiveStateInterface;
+import titan.math.Vector3d;
+import titan.utility.FlatRate;
+
+/**
+ * State of the universe on BodyArrays, instead of one object with 2 vectors per body.
+ * The unchanging properties of the bodies (names, masses without fuel, radii) are shared between all states,
+ * so a step only allocates the new position, velocity and fuel arrays, whatever the number of bodies.
+ *
+ * Together with FlatRate and FlatFunction it can be integrated by the solvers that only use addMul
+ * (Euler, Kutta, DormandPrince), not by Verlet which needs the previous state.
+ */
+public class FlatState implements AdaptiveStateInterface {
+    private final BodyArrays bodies;
+
+    /**
+     * @param bodies - the bodies, owned by the state from now on and not to be changed, trimmed to their size
+     */
+    public FlatState(BodyArrays bodies){
+        bodies.trim();
+        this.bodies = bodies;
+    }
+
+    /**
+     * Copies the objects of a state
+     *
+     * @param state - the state whose objects need to be copied
+     * @return State with the same bodies, positions, velocities and masses as the objects in the state
+     */
+    public static FlatState fromState(State state){ return new FlatState(BodyArrays.fromState(state)); }
+
+    /**
+     * Converts the bodies into objects, e.g. for the GUIs
+     *
+     * @return State containing one Planet or Rocket per body
+     */
+    public State toState(){ return bodies.toState(); }
+
+    /**
+     * @return The number of bodies
+     */
+    public int size(){ return bodies.size(); }
+
+    /**
+     * Gives direct access to the bodies. They must not be changed, states are shared by the solvers.
+     *
+     * @return The bodies of the state
+     */
+    public BodyArrays getBodies(){ return bodies; }
+
+    public Vector3d getPosition(int i){ return new Vector3d(bodies.getX()[i], bodies.getY()[i], bodies.getZ()[i]); }
+
+    public Vector3d getVelocity(int i){ return new Vector3d(bodies.getVx()[i], bodies.getVy()[i], bodies.getVz()[i]); }
+
+    public double getFuelMass(int i){ return bodies.getFuel()[i]; }
+
+    /**
+     * @param i - index of the body
+     * @return The mass without fuel plus the fuel mass of the body
+     */
+    public double getMass(int i){ return bodies.getMass()[i] + bodies.getFuel()[i]; }
+
+    /**
+     * Documentation from the interface:
+     * Update a state to a new state computed by: this + step * rate
+     *
+     * @param step - the time-step of the update
+     * @param rate - the average rate-of-change over the time-step, a FlatRate of the same bodies
+     * @return The new state after the update, sharing the unchanging properties of the bodies of this state
+     */
+    public StateInterface addMul(double step, RateInterface rate){
+        FlatRate r = (FlatRate) rate;
+        return new FlatState(new BodyArrays(bodies,
+                addMul(bodies.getX(), step, r.getX()), addMul(bodies.getY(), step, r.getY()), addMul(bodies.getZ(), step, r.getZ()),
+                addMul(bodies.getVx(), step, r.getVx()), addMul(bodies.getVy(), step, r.getVy()), addMul(bodies.getVz(), step, r.getVz()),
+                addMul(bodies.getFuel(), step, r.getFuel())));
+    }
+
+    /**
+     * Documentation from the interface:
+     * Computes the largest difference over all components of the two states, each scaled by its own tolerance
+     *
+     * @param other - a FlatState of the same bodies
+     * @param absoluteTolerance - the absolute tolerance of every component
+     * @param relativeTolerance - the relative tolerance of every component
+     * @return The largest scaled difference of the positions, velocities and fuel masses of the bodies
+     */
+    public double errorNorm(StateInterface other, double absoluteTolerance, double relativeTolerance){
+        BodyArrays o = ((FlatState) other).bodies;
+        double error = errorNorm(bodies.getX(), o.getX(), absoluteTolerance, relativeTolerance);
+        error = Math.max(error, errorNorm(bodies.getY(), o.getY(), absoluteTolerance, relativeTolerance));
+        error = Math.max(error, errorNorm(bodies.getZ(), o.getZ(), absoluteTolerance, relativeTolerance));
+        error = Math.max(error, errorNorm(bodies.getVx(), o.getVx(), absoluteTolerance, relativeTolerance));
+        error = Math.max(error, errorNorm(bodies.getVy(), o.getVy(), absoluteTolerance, relativeTolerance));
+        error = Math.max(error, errorNorm(bodies.getVz(), o.getVz(), absoluteTolerance, relativeTolerance));
+        return Math.max(error, errorNorm(bodies.getFuel(), o.getFuel(), absoluteTolerance, relativeTolerance));
+    }
+
+    public String toString(){
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < size(); i++){
+            sb.append(bodies.getName(i)).append("\n");
+            sb.append("Position: ").append(getPosition(i).toString()).append("\n");
+            sb.append("Velocity: ").append(getVelocity(i).toString()).append("\n");
+            if (bodies.isRocket(i)){ sb.append("Fuel: ").append(getFuelMass(i)).append("\n"); }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    private static double[] addMul(double[] values, double step, double[] rates){
+        double[] updated = new double[values.length];
+        for(int i = 0; i < values.length; i++){ updated[i] = values[i] + step * rates[i]; }
+        return updated;
+    }
+
+    private static double errorNorm(double[] a, double[] b, double absoluteTolerance, double relativeTolerance){
+        double error = 0;
+        for(int i = 0; i < a.length; i++){
+            error = Math.max(error, Math.abs(a[i] - b[i]) / (absoluteTolerance + relativeTolerance * Math.max(Math.abs(a[i]), Math.abs(b[i]))));
+        }
+        return error;
+    }
+}
@@ -32,11 +32,14 @@ public class Newton implements NewtonInterface {
      * @return The net gravity which is the result of the summation of all gravities applying on the target object at index i in the environment
      */
     public Vector3dInterface netGravity(DataInterface[] environment, int i){
-        Vector3dInterface v = new Vector3d();
+        Vector3d v = new Vector3d();
         DataInterface target = environment[i];
         for(int n = 0; n < environment.length; n++){
             if (n == i){ continue; }
-            v.add(gravity(target, environment[n]));
+            // Same as gravity(target, environment[n]), but added straight into v instead of creating the gravity vector
+            Vector3dInterface distance = target.distance3d(environment[n]);
+            double d = distance.norm();
+            v.addMulInPlace((target.getMass() * environment[n].getMass()) * G / (Math.pow(d, 2) * d), distance);
         }
         target.setGravity(v);
         return v;
@@ -56,4 +59,46 @@ public class Newton implements NewtonInterface {
         Vector3dInterface net = netGravity(environment, i);
         return net.mul(1.0 / m);
     }
+
+    /**
+     * Calculates the acceleration of every body in a set of primitive bodies.
+     * The mass of a body includes its fuel. Only bodies with a mass exert gravity, so a catalogue of n small bodies
+     * with unknown (zero) mass around m massive bodies costs O(n * m) instead of O(n^2).
+     * Unlike acceleration(DataInterface[], int), a body without mass is still accelerated by the other bodies.
+     * This is the one primitive gravity kernel, FlatFunction uses it for the FlatStates as well.
+     *
+     * @param bodies - the bodies currently in the simulation
+     * @param ax - array of at least bodies.size() doubles to store the accelerations on the x-axis in
+     * @param ay - array of at least bodies.size() doubles to store the accelerations on the y-axis in
+     * @param az - array of at least bodies.size() doubles to store the accelerations on the z-axis in
+     */
+    public void acceleration(BodyArrays bodies, double[] ax, double[] ay, double[] az){
+        int n = bodies.size();
+        double[] m = bodies.getMass(), fuel = bodies.getFuel();
+        double[] x = bodies.getX(), y = bodies.getY(), z = bodies.getZ();
+
+        for(int i = 0; i < n; i++){
+            ax[i] = 0.0;
+            ay[i] = 0.0;
+            az[i] = 0.0;
+        }
+
+        for(int j = 0; j < n; j++){
+            double mj = m[j] + fuel[j];
+            if (mj == 0.0){ continue; }
+            double gm = G * mj;
+            double xj = x[j], yj = y[j], zj = z[j];
+            for(int i = 0; i < n; i++){
+                if (i == j){ continue; }
+                double dx = xj - x[i];
+                double dy = yj - y[i];
+                double dz = zj - z[i];
+                double d2 = dx * dx + dy * dy + dz * dz;
+                double s = gm / (d2 * Math.sqrt(d2));
+                ax[i] += dx * s;
+                ay[i] += dy * s;
+                az[i] += dz * s;
+            }
+        }
+    }
 }
@@ -3,10 +3,11 @@ package titan.physics;
 import interfaces.given.RateInterface;
 import interfaces.given.StateInterface;
 import interfaces.given.Vector3dInterface;
+import interfaces.own.AdaptiveStateInterface;
 import interfaces.own.DataInterface;
 import titan.utility.Rate;
 
-public class State implements StateInterface, RateInterface {
+public class State implements AdaptiveStateInterface, RateInterface {
 	private final DataInterface[] objects;
 	private State previous;
 	private double period;
@@ -83,6 +84,34 @@ public class State implements StateInterface, RateInterface {
 		return nextState;
 	}
 
+	/**
+	 * Documentation from the interface:
+	 * Computes the largest difference over all components of the two states, each scaled by its own tolerance
+	 *
+	 * @param other - a state with the same objects in the same order
+	 * @param absoluteTolerance - the absolute tolerance of every component
+	 * @param relativeTolerance - the relative tolerance of every component
+	 * @return The largest scaled difference of the positions and velocities of the objects
+	 */
+	public double errorNorm(StateInterface other, double absoluteTolerance, double relativeTolerance){
+		DataInterface[] otherObjects = ((State) other).getObjects();
+		double error = 0;
+		for(int i = 0; i < objects.length; i++){
+			error = Math.max(error, errorNorm(objects[i].getPosition(), otherObjects[i].getPosition(), absoluteTolerance, relativeTolerance));
+			error = Math.max(error, errorNorm(objects[i].getVelocity(), otherObjects[i].getVelocity(), absoluteTolerance, relativeTolerance));
+		}
+		return error;
+	}
+
+	private static double errorNorm(Vector3dInterface a, Vector3dInterface b, double absoluteTolerance, double relativeTolerance){
+		double error = scaled(a.getX(), b.getX(), absoluteTolerance, relativeTolerance);
+		error = Math.max(error, scaled(a.getY(), b.getY(), absoluteTolerance, relativeTolerance));
+		return Math.max(error, scaled(a.getZ(), b.getZ(), absoluteTolerance, relativeTolerance));
+	}
+
+	private static double scaled(double a, double b, double absoluteTolerance, double relativeTolerance){
+		return Math.abs(a - b) / (absoluteTolerance + relativeTolerance * Math.max(Math.abs(a), Math.abs(b)));
+	}
 
 	public String toString(){
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,139 @@
+package titan.simulators;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.ODESolverInterface;
+import interfaces.given.StateInterface;
+import titan.physics.State;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Runs a simulation on a background thread and hands its states to a consumer (a GUI) while it is running,
+ * so the consumer can show the first frames before the whole run is solved.
+ *
+ * Only every decimation-th state (and the final state) becomes a frame. The frames go through a bounded queue:
+ * when the consumer falls behind, the simulation waits for it instead of piling up states in memory.
+ * The steps are the same as those of solve(f, y0, tf, h) of the solver, including a smaller final step.
+ * Every State links to the state it was computed from, so the producer cuts that chain after one state
+ * (all Verlet needs); otherwise every state of the run would stay reachable from the last one.
+ */
+public class FrameProducer implements Runnable {
+    // Marks the end of the frames in the queue, never handed out
+    private static final StateInterface END = (step, rate) -> null;
+
+    private final ODESolverInterface solver;
+    private final ODEFunctionInterface f;
+    private final StateInterface y0;
+    private final double tf;
+    private final double h;
+    private final int decimation;
+    private final BlockingQueue<StateInterface> frames;
+
+    private Thread thread;
+    private volatile boolean finished;
+    private volatile RuntimeException failure;
+
+    /**
+     * @param solver - the solver that steps the simulation
+     * @param f - the function of the differential equation
+     * @param y0 - the initial state, always the first frame
+     * @param tf - the final simulation time
+     * @param h - the step size
+     * @param decimation - number of steps per frame, at least 1
+     * @param capacity - number of frames the queue holds before the simulation waits, at least 1
+     */
+    public FrameProducer(ODESolverInterface solver, ODEFunctionInterface f, StateInterface y0, double tf, double h, int decimation, int capacity){
+        if (decimation < 1 || capacity < 1){ throw new IllegalArgumentException("Decimation and capacity have to be at least 1"); }
+        this.solver = solver;
+        this.f = f;
+        this.y0 = y0;
+        this.tf = tf;
+        this.h = h;
+        this.decimation = decimation;
+        frames = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Starts the simulation on a daemon thread
+     *
+     * @param name - name of the thread
+     * @return This producer
+     */
+    public synchronized FrameProducer start(String name){
+        if (thread != null){ throw new IllegalStateException("The producer has already been started"); }
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Steps the simulation and puts the frames in the queue, use start to run it in the background
+     */
+    public void run(){
+        try {
+            frames.put(y0);
+            int fit = (int) (tf / h) + 1;
+            StateInterface y = y0;
+            for(int i = 1; i < fit; i++){
+                StateInterface previous = y;
+                y = solver.step(f, (i - 1) * h, y, h);
+                if (previous instanceof State){ ((State) previous).setPrevious(null); }
+                if (i % decimation == 0 || i == fit - 1 && tf % h == 0){ frames.put(y); }
+            }
+            if (tf % h != 0){
+                double remainingTime = tf % h;
+                frames.put(solver.step(f, tf - remainingTime, y, remainingTime));
+            }
+        }
+        catch(InterruptedException e){
+            // Cancelled: make room for the end so a waiting consumer wakes up
+            frames.clear();
+            frames.offer(END);
+            return;
+        }
+        catch(RuntimeException e){ failure = e; }
+        try { frames.put(END); }
+        catch(InterruptedException e){
+            frames.clear();
+            frames.offer(END);
+        }
+    }
+
+    /**
+     * @return The next frame, or null if it has not been computed yet or there are no frames left
+     */
+    public StateInterface poll(){ return next(frames.poll()); }
+
+    /**
+     * Waits for the next frame
+     *
+     * @return The next frame, or null if there are no frames left
+     */
+    public StateInterface take() throws InterruptedException {
+        if (finished){ return next(null); }
+        return next(frames.take());
+    }
+
+    /**
+     * @return True if all frames have been handed out
+     */
+    public boolean isFinished(){ return finished; }
+
+    /**
+     * Stops the simulation and drops the frames that have not been taken yet
+     */
+    public synchronized void cancel(){
+        if (thread != null){ thread.interrupt(); }
+    }
+
+    private StateInterface next(StateInterface frame){
+        if (frame == END){
+            finished = true;
+            frame = null;
+        }
+        if (frame == null && failure != null){ throw new IllegalStateException("Simulation failed", failure); }
+        return frame;
+    }
+}
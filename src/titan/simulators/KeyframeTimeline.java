@@ -0,0 +1,290 @@
+package titan.simulators;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.ODESolverInterface;
+import titan.fileIO.Checkpoint;
+import titan.physics.State;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Random access to the states of a fixed step simulation without holding them: only sparse keyframes are kept
+ * (as Checkpoints, so Verlet's previous state is included) and any other state is re-integrated on demand from the
+ * nearest keyframe before it. The state asked for last is cached, so playing forward costs only the steps in between.
+ *
+ * The keyframes are computed by fill, usually on a background thread (see start), while states can already be
+ * asked for. The number of keyframes is bounded: when they are full every other keyframe is dropped and the
+ * interval doubles, so the memory stays fixed for runs of any length while a re-integration takes at most
+ * one interval of steps. The keyframes can be saved to and loaded from a file.
+ *
+ * The steps are those of solve(f, y0, tf, h): step i ends at time min(i * h, tf).
+ */
+public class KeyframeTimeline implements Runnable {
+    private static final int MAGIC = 0x544B4652; // "TKFR"
+    private static final int VERSION = 2;
+
+    private final ODESolverInterface solver;
+    private final ODEFunctionInterface f;
+    private final double tf;
+    private final double h;
+    private final int steps;
+
+    private final Checkpoint[] keyframes;       // Keyframe j is taken at step j * interval
+    private int count;                          // Number of keyframes
+    private int interval;                       // Steps between keyframes
+    private int filled;                         // Last step covered by the keyframes
+
+    private State cached;                       // State asked for last
+    private int cachedStep = -1;
+    private Thread thread;
+
+    /**
+     * @param solver - the solver that steps the simulation
+     * @param f - the function of the differential equation
+     * @param y0 - the initial state at time 0
+     * @param tf - the final simulation time
+     * @param h - the step size
+     * @param interval - steps between keyframes to start with, at least 1
+     * @param maxKeyframes - number of keyframes kept at most, at least 2
+     */
+    public KeyframeTimeline(ODESolverInterface solver, ODEFunctionInterface f, State y0, double tf, double h, int interval, int maxKeyframes){
+        this(solver, f, tf, h, interval, maxKeyframes);
+        keyframes[0] = Checkpoint.capture(0, solver, tf, h, y0);
+        count = 1;
+    }
+
+    private KeyframeTimeline(ODESolverInterface solver, ODEFunctionInterface f, double tf, double h, int interval, int maxKeyframes){
+        if (interval < 1 || maxKeyframes < 2){ throw new IllegalArgumentException("Needs an interval of at least 1 and at least 2 keyframes"); }
+        this.solver = solver;
+        this.f = f;
+        this.tf = tf;
+        this.h = h;
+        this.interval = interval;
+        keyframes = new Checkpoint[maxKeyframes];
+        int fit = (int) (tf / h);
+        steps = tf % h != 0 ? fit + 1 : fit;
+    }
+
+    /**
+     * @return The index of the final step, the states run from step 0 to this step
+     */
+    public int getSteps(){ return steps; }
+
+    public double getStepSize(){ return h; }
+
+    /**
+     * @param step - index of a step
+     * @return The time at the end of the step
+     */
+    public double timeOf(int step){ return Math.min(step * h, tf); }
+
+    /**
+     * @return The last step the keyframes have reached, states up to it take at most one interval to compute
+     */
+    public synchronized int getFilled(){ return filled; }
+
+    public synchronized int getInterval(){ return interval; }
+
+    /**
+     * Computes the keyframes on a daemon thread
+     *
+     * @param name - name of the thread
+     * @return This timeline
+     */
+    public synchronized KeyframeTimeline start(String name){
+        if (thread != null){ throw new IllegalStateException("The timeline has already been started"); }
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Stops computing keyframes, the keyframes so far stay usable
+     */
+    public synchronized void cancel(){
+        if (thread != null){ thread.interrupt(); }
+    }
+
+    /**
+     * Computes the keyframes till the end of the run, or until the thread is interrupted
+     */
+    public void run(){ fill(); }
+
+    /**
+     * Computes the keyframes till the end of the run, or until the thread is interrupted
+     */
+    public void fill(){
+        int step;
+        State y;
+        synchronized (this){
+            step = filled;
+            y = keyframe(keyframeBefore(step)).restore();
+            y = integrate(y, keyframeBefore(step) * interval, step);
+        }
+        while (step < steps && !Thread.currentThread().isInterrupted()){
+            y = advance(y, ++step);
+            synchronized (this){
+                if (step % interval == 0){ add(step, y); }
+                filled = step;
+            }
+        }
+    }
+
+    /**
+     * Computes the state at a step, from the cached state or the nearest keyframe before it
+     *
+     * @param step - index of the step, from 0 to getSteps()
+     * @return The state at the end of the step
+     */
+    public synchronized State stateAt(int step){
+        if (step < 0 || step > steps){ throw new IndexOutOfBoundsException("Step " + step + " is outside 0 - " + steps); }
+        if (step == cachedStep){ return cached; }
+
+        int k = keyframeBefore(step);
+        int keyStep = k * interval;
+        State y;
+        int from;
+        if (cachedStep >= keyStep && cachedStep < step){
+            y = cached;
+            from = cachedStep;
+        }
+        else {
+            y = keyframe(k).restore();
+            from = keyStep;
+        }
+        cached = integrate(y, from, step);
+        cachedStep = step;
+        return cached;
+    }
+
+    /**
+     * @param t - a time from 0 to the final time
+     * @return The state at the step closest to the time
+     */
+    public State stateAtTime(double t){
+        return stateAt((int) Math.max(0, Math.min(steps, Math.round(t / h))));
+    }
+
+    /**
+     * Writes the keyframes to a file, replacing it at once when complete
+     *
+     * @param file - the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        Checkpoint[] copy;
+        int keyInterval, keyFilled;
+        synchronized (this){
+            copy = Arrays.copyOf(keyframes, count);
+            keyInterval = interval;
+            keyFilled = filled;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeDouble(tf);
+            out.writeDouble(h);
+            out.writeInt(keyInterval);
+            out.writeInt(keyFilled);
+            out.writeInt(copy.length);
+            for(Checkpoint keyframe : copy){ keyframe.write(out); }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads keyframes that have been written with save, states are re-integrated with the given solver and function
+     *
+     * @param file - the file to read from
+     * @param solver - the solver that steps the simulation, the same kind as the one the file was made with
+     * @param f - the function of the differential equation
+     * @param maxKeyframes - number of keyframes kept at most, at least 2
+     * @return The timeline of the file, fill continues it where the file ended
+     * @throws IOException if the file could not be read, does not contain keyframes or was made with another solver
+     */
+    public static KeyframeTimeline load(Path file, ODESolverInterface solver, ODEFunctionInterface f, int maxKeyframes) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))){
+            if (in.readInt() != MAGIC){ throw new IOException("Not a keyframe file"); }
+            int version = in.readInt();
+            if (version != VERSION){ throw new IOException("Unsupported keyframe file version: " + version); }
+
+            double tf = in.readDouble();
+            double h = in.readDouble();
+            int interval = in.readInt();
+            int filled = in.readInt();
+            int count = in.readInt();
+            if (count < 1){ throw new IOException("The keyframe file is empty"); }
+            KeyframeTimeline timeline = new KeyframeTimeline(solver, f, tf, h, interval, maxKeyframes);
+            synchronized (timeline){
+                for(int j = 0; j < count; j++){
+                    Checkpoint keyframe = Checkpoint.read(in);
+                    if (!keyframe.matches(solver, tf, h)){ throw new IOException("The keyframes were made with another solver: " + keyframe.getSolver()); }
+                    if (timeline.count == timeline.keyframes.length){ timeline.thin(); }
+                    if (keyframe.getStep() == timeline.count * timeline.interval){ timeline.keyframes[timeline.count++] = keyframe; }
+                }
+                // Thinning may have dropped the last keyframes of the file, fill continues after the kept ones
+                timeline.filled = Math.min(Math.min(filled, timeline.steps), timeline.count * timeline.interval - 1);
+            }
+            return timeline;
+        }
+    }
+
+    /**
+     * @return The index of the nearest keyframe at or before the step
+     */
+    private int keyframeBefore(int step){ return Math.min(count - 1, step / interval); }
+
+    private Checkpoint keyframe(int k){ return keyframes[k]; }
+
+    /**
+     * Adds a keyframe at the step, dropping every other keyframe first if they are full
+     */
+    private void add(int step, State y){
+        if (count == keyframes.length){ thin(); }
+        if (step == count * interval){ keyframes[count++] = Checkpoint.capture(step, solver, tf, h, y); }
+    }
+
+    /**
+     * Keeps every other keyframe and doubles the interval
+     */
+    private void thin(){
+        int kept = 0;
+        for(int j = 0; j < count; j += 2){ keyframes[kept++] = keyframes[j]; }
+        Arrays.fill(keyframes, kept, count, null);
+        count = kept;
+        interval *= 2;
+    }
+
+    /**
+     * Steps a state forward
+     *
+     * @param y - the state at the end of step from
+     * @param from - index of the step of y
+     * @param to - index of the step to reach, at least from
+     * @return The state at the end of step to
+     */
+    private State integrate(State y, int from, int to){
+        for(int i = from + 1; i <= to; i++){ y = advance(y, i); }
+        return y;
+    }
+
+    /**
+     * Takes step i from the state at the end of step i - 1, without keeping more than one previous state
+     */
+    private State advance(State y, int i){
+        double t = (i - 1) * h;
+        State next = (State) solver.step(f, t, y, Math.min(h, tf - t));
+        y.setPrevious(null);
+        return next;
+    }
+}
@@ -5,10 +5,10 @@ import interfaces.own.DataInterface;
 import titan.lamberts.LambertsProblem;
 import titan.math.Function;
 import titan.math.NewtonsMethod;
-import titan.math.Vector3d;
 import titan.physics.State;
 import titan.solvers.Euler;
 import titan.utility.InitialState;
+import titan.utility.Launch;
 import titan.utility.Planet;
 
 public class ProbeSimulator implements ProbeSimulatorInterface {
@@ -95,33 +95,53 @@ public class ProbeSimulator implements ProbeSimulatorInterface {
      * @return State array containing entire simulation journey
      */
     public StateInterface[] simulate(ODESolverInterface solver, double tf, double h){
+        return solver.solve(function, getInitialState(), tf, h);
+    }
+
+    /**
+     * Simulates the universe including the probe on a background thread, handing out every decimation-th state while it runs
+     *
+     * @param solver - the solver that should be used to simulate the universe with the probe
+     * @param tf - the final time of the evolution.
+     * @param h - the size of step to be taken
+     * @param decimation - number of steps per handed out state
+     * @param capacity - number of states that may wait for the consumer before the solver pauses
+     * @return The started producer of the states
+     */
+    public FrameProducer produce(ODESolverInterface solver, double tf, double h, int decimation, int capacity){
+        return new FrameProducer(solver, function, getInitialState(), tf, h, decimation, capacity).start("probe simulator");
+    }
+
+    /**
+     * Simulates the universe including the probe on a background thread, keeping only a keyframe every interval steps
+     * from which any state of the run can be computed again
+     *
+     * @param solver - the solver that should be used to simulate the universe with the probe
+     * @param tf - the final time of the evolution.
+     * @param h - the size of step to be taken
+     * @param interval - steps between keyframes to start with
+     * @param maxKeyframes - number of keyframes kept at most
+     * @return The started timeline of the states
+     */
+    public KeyframeTimeline timeline(ODESolverInterface solver, double tf, double h, int interval, int maxKeyframes){
+        return new KeyframeTimeline(solver, function, getInitialState(), tf, h, interval, maxKeyframes).start("probe timeline");
+    }
+
+    /**
+     * Constructs the initial state of the universe with the probe launched from earth
+     *
+     * @return State containing all planets followed by the probe as last object
+     */
+    private State getInitialState(){
         DataInterface[] objects = InitialState.getInitialState();
-        Vector3dInterface xEarth = objects[3].getPosition();
-        Vector3dInterface vProbe = new Vector3d (27805.720809264523,-36002.925093637044,-1020.3072795635245);
-
-        /* Velocity of probe gotten from Newton's method using Euler's solver
-         * ==================================================================
-         * Probe setting:
-         * mass = 1.5e5
-         * p0 = earth pos
-         *
-         * Time frame setting:
-         * final time Tf = 1 year = 365 * 86400
-         * step size h = 86400
-         *
-         * Console output:
-         * Found velocity that fulfills condition!
-         * Distance to Titan: 93949.14425396464 is less than 100000.0
-         * Found velocity: 45501.755482239765
-         * Vector distance: (14105.201171875,-22886.297607421875,-90020.56647109985)
-         * Vector velocity: (27805.720809264523,-36002.925093637044,-1020.3072795635245)
-         */
+        Vector3dInterface vProbe = Launch.velocity();
 
+        // Launched as described in Launch, which also gives how the velocity was found
         DataInterface probe = new Planet(
                 "Probe",
                 probeMass,
                 0.0,
-                xEarth,
+                Launch.position(objects),
                 vProbe
         );
 
@@ -135,12 +155,12 @@ public class ProbeSimulator implements ProbeSimulatorInterface {
         System.arraycopy(objects, 0, included, 0, objects.length);
         included[included.length - 1] = probe;
 
-        return solver.solve(function, new State(included), tf, h);
+        return new State(included);
     }
 
 
     public static void main(String[] args){
-        double tf = 365 * 86400;
+        double tf = Launch.TRANSFER_TIME;
         double h = 86400;
 
         ProbeSimulator simulator = new ProbeSimulator();
@@ -5,12 +5,20 @@ import interfaces.given.ODESolverInterface;
 import interfaces.given.StateInterface;
 import interfaces.given.Vector3dInterface;
 import interfaces.own.DataInterface;
+import titan.fileIO.Checkpoint;
+import titan.fileIO.CheckpointManager;
 import titan.math.Function;
 import titan.math.NewtonsMethod;
-import titan.math.Vector3d;
+import titan.math.PoweredFunction;
+import titan.physics.FlatState;
 import titan.physics.State;
+import titan.solvers.BurnIntegrator;
+import titan.solvers.DormandPrince;
 import titan.solvers.Euler;
+import titan.solvers.Trajectory;
+import titan.utility.BurnSchedule;
 import titan.utility.InitialState;
+import titan.utility.Launch;
 import titan.utility.Rocket;
 
 public class RocketSimulator {
@@ -27,34 +35,129 @@ public class RocketSimulator {
      * @return State array representing the entire simulation
      */
     public StateInterface[] simulate(ODESolverInterface solver, double tf, double h){
-        DataInterface[] objects = InitialState.getInitialState();
-        Vector3dInterface xEarth = objects[3].getPosition();
-        Vector3dInterface vRocket = new Vector3d (5119.28161058284,2614.901310729494,-958.0211065946626);
+        return solver.solve(function, getInitialState(), tf, h);
+    }
 
-        Rocket rocket = new Rocket(
-                7e5,
-                xEarth,
-                vRocket
-        );
+    /**
+     * Simulates the universe with the rocket included on a background thread, handing out every decimation-th state while it runs
+     *
+     * @param solver     the solver that should be used to simulate the universe with the rocket
+     * @param tf         the final time of the evolution.
+     * @param h          the size of step to be taken
+     * @param decimation number of steps per handed out state
+     * @param capacity   number of states that may wait for the consumer before the solver pauses
+     *
+     * @return The started producer of the states
+     */
+    public FrameProducer produce(ODESolverInterface solver, double tf, double h, int decimation, int capacity){
+        return new FrameProducer(solver, function, getInitialState(), tf, h, decimation, capacity).start("rocket simulator");
+    }
+
+    /**
+     * Simulates the universe with the rocket included on a background thread, keeping only a keyframe every
+     * interval steps from which any state of the run can be computed again
+     *
+     * @param solver       the solver that should be used to simulate the universe with the rocket
+     * @param tf           the final time of the evolution.
+     * @param h            the size of step to be taken
+     * @param interval     steps between keyframes to start with
+     * @param maxKeyframes number of keyframes kept at most
+     *
+     * @return The started timeline of the states
+     */
+    public KeyframeTimeline timeline(ODESolverInterface solver, double tf, double h, int interval, int maxKeyframes){
+        return new KeyframeTimeline(solver, function, getInitialState(), tf, h, interval, maxKeyframes).start("rocket timeline");
+    }
+
+    /**
+     * Simulates the universe with the rocket included while periodically saving checkpoints.
+     * If the checkpoint manager holds a checkpoint that was taken with the same solver, final time and step size,
+     * the simulation restarts from that checkpoint instead of the initial state. A checkpoint of any other run is ignored.
+     *
+     * @param solver      the solver that should be used to simulate the universe with the probe
+     * @param tf          the final time of the evolution.
+     * @param h           the size of step to be taken
+     * @param checkpoints the manager that loads and saves the checkpoints
+     *
+     * @return State array representing the simulation from the restart point (initial state or checkpoint) till tf
+     */
+    public StateInterface[] simulate(ODESolverInterface solver, double tf, double h, CheckpointManager checkpoints){
+        int fit = (int) (tf / h) + 1;
+        int total = tf % h != 0 ? fit + 1 : fit;
+
+        int start = 0;
+        State y = getInitialState();
+
+        Checkpoint checkpoint = checkpoints.loadLatest();
+        if (checkpoint != null && !checkpoint.matches(solver, tf, h)){
+            System.out.println("Checkpoint belongs to another run, starting from the initial state | Solver: " + checkpoint.getSolver()
+                    + ", tf: " + checkpoint.getFinalTime() + ", h: " + checkpoint.getStepSize());
+        }
+        else if (checkpoint != null && checkpoint.getStep() < total){
+            start = checkpoint.getStep();
+            y = checkpoint.restore();
+            System.out.println("Restarting from checkpoint at step " + start + " | Time: " + y.getPeriod());
+        }
+
+        StateInterface[] states = new State[total - start];
+        states[0] = y;
+
+        for(int i = start + 1; i < fit; i++){
+            y = (State) solver.step(function, i * h, y, h);
+            states[i - start] = y;
+            checkpoints.offer(i, solver, tf, h, y);
+        }
+        if (fit < total){
+            double remainingTime = tf % h;
+            y = (State) solver.step(function, tf - remainingTime, y, remainingTime);
+            states[states.length - 1] = y;
+        }
+        checkpoints.flush();
+        return states;
+    }
+
+    /**
+     * Simulates the universe with the rocket adaptively, with finite burns of its engine during the flight.
+     * The thrust, the mass the rocket loses and the end of a burn when the fuel runs out are part of the integration
+     * (see PoweredFunction and BurnIntegrator), the launch itself stays impulsive.
+     *
+     * @param schedule          the burns of the rocket
+     * @param tf                the final time of the evolution.
+     * @param absoluteTolerance the absolute tolerance of the local error of every component of the states
+     * @param relativeTolerance the relative tolerance of the local error of every component of the states
+     *
+     * @return The accepted states (FlatStates, the rocket last) and their times, including the state at every start and end of a burn
+     */
+    public Trajectory simulate(BurnSchedule schedule, double tf, double absoluteTolerance, double relativeTolerance){
+        State initial = getInitialState();
+        DataInterface[] objects = initial.getObjects();
+
+        PoweredFunction powered = new PoweredFunction(objects.length - 1);
+        BurnIntegrator integrator = new BurnIntegrator(new DormandPrince(absoluteTolerance, relativeTolerance));
+        return integrator.integrate(powered, schedule, FlatState.fromState(initial), 0, tf, 0);
+    }
 
+    /**
+     * Constructs the initial state of the universe with the rocket launched from earth
+     *
+     * @return State containing all planets followed by the rocket as last object
+     */
+    private State getInitialState(){
+        DataInterface[] objects = InitialState.getInitialState();
+        Vector3dInterface vRocket = Launch.velocity();
 
-        /* Velocity found from Newton's method using Euler's solver
-         * ========================================================
+        /* The rocket flies the transfer of the Launch
+         * ===========================================
          * Rocket setting:
-         * Fuel mass = 7e5
-         * Major mass loss at beginning: 6.0965e5
-         *
-         * Time frame setting:
-         * final time tf = 12 years = 86400 * 365 * 12
-         * step size h = 86400
-         *
-         * Console output from Newton's method confirming final distance:
-         * Found velocity that fulfills condition!
-         * Distance to Titan: 99677.0166946462 is less than 100000.0
-         * Found velocity: 5827.740343734209
-         * Vector distance: (-14112.88134765625,30671.999267578125,-93784.66131591797)
-         * Vector velocity: (5119.28161058284,2614.901310729494,-958.0211065946626)
+         * Fuel mass left after the launch = 7e5
+         * Fuel mass at the launch: paid by the rocket equation for the launch velocity of 62829.52 m/s
+         * (about 5.2e12 kg with the exhaust velocity of 4e3 of the combustion fuel)
          */
+        Rocket rocket = new Rocket(
+                Rocket.launchFuel(vRocket.norm(), 7e5),
+                Launch.position(objects),
+                vRocket
+        );
 
         /* Uncomment lines below if you would like to retry finding a velocity such that the rocket can reach Titan in the given time frame
          * NewtonsMethod newton = new NewtonsMethod(rocket);
@@ -66,14 +169,16 @@ public class RocketSimulator {
         DataInterface[] included = new DataInterface[objects.length + 1];
         System.arraycopy(objects, 0, included, 0, objects.length);
         included[included.length - 1] = rocket;
-        State y0 = new State(included);
-        return solver.solve(function, y0, tf, h);
+        return new State(included);
     }
 
     public static void main (String[] args){
-        double tf = 86400 * 365 * 12;
+        double tf = Launch.TRANSFER_TIME;
         double h = 1800;
         RocketSimulator simulator = new RocketSimulator();
-        simulator.simulate(new Euler(), tf, h);
+        CheckpointManager checkpoints = new CheckpointManager("src/experiments/checkpoints", 10000);
+        simulator.simulate(new Euler(), tf, h, checkpoints);
+        checkpoints.clear();
+        checkpoints.close();
     }
 }
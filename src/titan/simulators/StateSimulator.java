@@ -1,9 +1,12 @@
 package titan.simulators;
 
+import interfaces.given.ODEFunctionInterface;
 import interfaces.given.ODESolverInterface;
 import interfaces.given.StateInterface;
 import interfaces.own.DataInterface;
 import titan.math.Function;
+import titan.metrics.LogReporter;
+import titan.metrics.MetricsRegistry;
 import titan.physics.State;
 import titan.solvers.Euler;
 import titan.solvers.Kutta;
@@ -11,11 +14,16 @@ import titan.solvers.Verlet;
 import titan.utility.InitialState;
 import titan.utility.Rocket;
 
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Class that simulates the universe state, where the probe/rocket is excluded
  */
 public class StateSimulator {
     final static Function f = new Function();
+    // Name of the metrics of the runs of this simulator, see MetricsRegistry
+    public static final String METRICS = "state simulator";
     private static StateInterface y0; // Singleton variable
 
     public StateSimulator(){
@@ -32,7 +40,7 @@ public class StateSimulator {
      */
 
     public StateInterface[] runSolver(ODESolverInterface solver, double[] ts){
-        return solver.solve(f, y0, ts);
+        return instrument(solver).solve(instrument(), y0, ts);
     }
     /**
      * Runs the solver for multiple steps with the desired final time and step size.
@@ -43,7 +51,7 @@ public class StateSimulator {
      * @param h - the step size used to approach the final time
      * @return All states from initial till last state
      */
-    public StateInterface[] runSolver(ODESolverInterface solver, double tf, double h){ return solver.solve(f, y0, tf, h); }
+    public StateInterface[] runSolver(ODESolverInterface solver, double tf, double h){ return instrument(solver).solve(instrument(), y0, tf, h); }
 
     /**
      * Runs the solver for a single time step
@@ -55,16 +63,65 @@ public class StateSimulator {
      * @return The state after the single step h
      */
     public StateInterface performStep(ODESolverInterface solver, double t, double h){
-        return solver.step(f, t, y0, h);
+        return instrument(solver).step(instrument(), t, y0, h);
+    }
+
+    /**
+     * Runs the solver on a background thread, handing out every decimation-th state while it runs.
+     * Initial state will be the state from 'solar_system_data-2020_04_01.txt' which is the provided initial state
+     *
+     * @param solver - the solver the Engine should use to compute the solution
+     * @param tf - the final simulation time
+     * @param h - the step size used to approach the final time
+     * @param decimation - number of steps per handed out state
+     * @param capacity - number of states that may wait for the consumer before the solver pauses
+     * @return The started producer of the states
+     */
+    public FrameProducer produce(ODESolverInterface solver, double tf, double h, int decimation, int capacity){
+        return new FrameProducer(instrument(solver), instrument(), y0, tf, h, decimation, capacity).start("state simulator");
     }
 
+    /**
+     * Runs the solver on a background thread, keeping only a keyframe every interval steps from which
+     * any state of the run can be computed again.
+     * Initial state will be the state from 'solar_system_data-2020_04_01.txt' which is the provided initial state
+     *
+     * @param solver - the solver the Engine should use to compute the solution
+     * @param tf - the final simulation time
+     * @param h - the step size used to approach the final time
+     * @param interval - steps between keyframes to start with
+     * @param maxKeyframes - number of keyframes kept at most
+     * @return The started timeline of the states
+     */
+    public KeyframeTimeline timeline(ODESolverInterface solver, double tf, double h, int interval, int maxKeyframes){
+        return new KeyframeTimeline(instrument(solver), instrument(), (State) y0, tf, h, interval, maxKeyframes).start("state timeline");
+    }
+
+    /**
+     * @return The function, counted and timed when metrics are enabled
+     */
+    private static ODEFunctionInterface instrument(){ return MetricsRegistry.instrument(f, METRICS); }
+
+    /**
+     * @return The solver, counted and timed when metrics are enabled
+     */
+    private static ODESolverInterface instrument(ODESolverInterface solver){ return MetricsRegistry.instrument(solver, METRICS); }
+
     public static void main (String[] args){
         ODESolverInterface solver = new Euler();
         double tf = 60 * 60 * 24 * 365;
         double h = 30;
 
+        // Run with -Dtitan.metrics=true to see the progress every second (and to watch it with JMX)
+        ScheduledExecutorService reporter = null;
+        if (MetricsRegistry.isEnabled()){ reporter = MetricsRegistry.schedule(new LogReporter(System.out), 1, TimeUnit.SECONDS); }
+
         StateSimulator simulator = new StateSimulator();
         State[] states = (State[]) simulator.runSolver(solver, tf, h);
+        if (reporter != null){
+            reporter.shutdown();
+            new LogReporter(System.out).report(METRICS, MetricsRegistry.get(METRICS));
+        }
         for(int i = 0; i < states.length; i++){
             DataInterface target = states[i].getObjects()[3];
             System.out.println(target.getName());
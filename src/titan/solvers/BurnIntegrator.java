@@ -0,0 +1,96 @@
+package titan.solvers;
+
+import interfaces.given.StateInterface;
+import titan.math.PoweredFunction;
+import titan.physics.FlatState;
+import titan.utility.BurnSchedule;
+import titan.utility.ThrustArc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Integrates a rocket flight with finite burns adaptively with DormandPrince.
+ *
+ * The thrust jumps where a burn starts or ends, and an adaptive solver stepping over such a jump would reject
+ * its steps until they are tiny around it. So the flight is split at the starts and ends of the burns of the schedule,
+ * every piece is integrated on its own with the burn of that piece held by the PoweredFunction, and every piece ends
+ * exactly on a boundary. Coasting the solver takes steps as large as the tolerances allow, during a burn the steps
+ * follow the thrust. A burn that runs out of fuel stops at that moment (located as an event) and the rest of it is coasted.
+ * Every piece starts with the last step size of the piece before it, the solver adapts it from there.
+ */
+public class BurnIntegrator {
+    private final DormandPrince solver;
+
+    /**
+     * @param solver - the adaptive solver of the pieces, its counters add up over all pieces
+     */
+    public BurnIntegrator(DormandPrince solver){ this.solver = solver; }
+
+    /**
+     * Integrates the flight from t0 until tf
+     *
+     * @param f - the function of the universe with the rocket, its burn is set by this method
+     * @param schedule - the burns of the rocket
+     * @param y0 - the state at t0
+     * @param t0 - the starting time
+     * @param tf - the final time
+     * @param h0 - the first step size to try, 0 to start with a hundredth of the first piece
+     * @return The accepted states and their times, including a state at every boundary of a burn
+     */
+    public Trajectory integrate(PoweredFunction f, BurnSchedule schedule, FlatState y0, double t0, double tf, double h0){
+        double[] boundaries = schedule.boundaries(t0, tf);
+        ArrayList<StateInterface> states = new ArrayList<>();
+        double[] times = new double[16];
+        states.add(y0);
+        times[0] = t0;
+
+        StateInterface y = y0;
+        double t = t0;
+        double h = h0;
+        for(int i = 0; i <= boundaries.length; i++){
+            double end = i < boundaries.length ? boundaries[i] : tf;
+            ThrustArc arc = schedule.arcAt(t);
+            while (t < end){
+                f.setArc(arc);
+                Trajectory piece = solver.integrate(f, y, t, end, h, arc == null ? null : f.fuel());
+                times = append(piece, states, times);
+                h = lastStep(piece, h);
+                y = piece.getLast();
+                t = piece.getLastTime();
+                // Out of fuel: the rest of the burn is coasted
+                arc = null;
+            }
+        }
+        f.setArc(null);
+        StateInterface[] array = states.toArray(new FlatState[0]);
+        return new Trajectory(array, Arrays.copyOf(times, array.length), false);
+    }
+
+    /**
+     * Appends the states of a piece after its first state, which is the last state of the piece before
+     *
+     * @return The times array, grown if needed
+     */
+    private static double[] append(Trajectory piece, ArrayList<StateInterface> states, double[] times){
+        StateInterface[] pieceStates = piece.getStates();
+        double[] pieceTimes = piece.getTimes();
+        for(int j = 1; j < pieceStates.length; j++){
+            if (states.size() == times.length){ times = Arrays.copyOf(times, 2 * times.length); }
+            times[states.size()] = pieceTimes[j];
+            states.add(pieceStates[j]);
+        }
+        return times;
+    }
+
+    /**
+     * @return The size of the last full step of the piece (its very last step is cut short at the boundary), or h if it took none
+     */
+    private static double lastStep(Trajectory piece, double h){
+        double[] times = piece.getTimes();
+        int n = times.length;
+        if (n < 2){ return h; }
+        double last = times[n - 1] - times[n - 2];
+        return n < 3 ? last : Math.max(last, times[n - 2] - times[n - 3]);
+    }
+}
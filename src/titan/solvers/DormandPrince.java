@@ -0,0 +1,299 @@
+package titan.solvers;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.RateInterface;
+import interfaces.given.StateInterface;
+import interfaces.own.AdaptiveStateInterface;
+import interfaces.own.EventInterface;
+import interfaces.own.ObservableSolverInterface;
+import interfaces.own.StepListenerInterface;
+import titan.physics.State;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Class representing the adaptive Dormand-Prince method RK5(4).
+ * Every step computes a 5th order solution and an embedded 4th order solution from the same 7 stages;
+ * their difference estimates the local error, and the step size is adapted so that this error stays within the tolerances.
+ * The last stage is the first stage of the next step (FSAL), so an accepted step costs 6 evaluations.
+ *
+ * y[n+1] = y[n] + h * sum(b[i] * k[i])
+ * k[i] = f(t[n] + c[i] h, y[n] + h * sum(a[i][j] * k[j]))
+ *
+ * The states have to implement AdaptiveStateInterface for the error estimate.
+ * Integrations can stop at an event (e.g. touchdown), which is located within the step by re-stepping with the regula falsi (Illinois) method.
+ * An instance keeps counters of the last integrations, so it is not meant to be shared between threads.
+ */
+public class DormandPrince implements ObservableSolverInterface {
+    private static final double[] C = {0, 1.0/5, 3.0/10, 4.0/5, 8.0/9, 1, 1};
+    private static final double[][] A = {
+            {},
+            {1.0/5},
+            {3.0/40, 9.0/40},
+            {44.0/45, -56.0/15, 32.0/9},
+            {19372.0/6561, -25360.0/2187, 64448.0/6561, -212.0/729},
+            {9017.0/3168, -355.0/33, 46732.0/5247, 49.0/176, -5103.0/18656},
+            {35.0/384, 0, 500.0/1113, 125.0/192, -2187.0/6784, 11.0/84}
+    };
+    // 5th order weights are the last row of A, these are the embedded 4th order weights
+    private static final double[] E = {5179.0/57600, 0, 7571.0/16695, 393.0/640, -92097.0/339200, 187.0/2100, 1.0/40};
+
+    private final double absoluteTolerance;
+    private final double relativeTolerance;
+    private double minStep = 1e-9;
+    private double maxStep = Double.POSITIVE_INFINITY;
+    private double eventTolerance = 1e-6;
+    private StepListenerInterface listener;
+
+    private long accepted;
+    private long rejected;
+    private long evaluations;
+
+    /**
+     * @param absoluteTolerance - the absolute tolerance of the local error of every component of the state
+     * @param relativeTolerance - the relative tolerance of the local error of every component of the state
+     */
+    public DormandPrince(double absoluteTolerance, double relativeTolerance){
+        if (absoluteTolerance <= 0 && relativeTolerance <= 0) throw new IllegalArgumentException("At least one tolerance has to be positive");
+        this.absoluteTolerance = absoluteTolerance;
+        this.relativeTolerance = relativeTolerance;
+    }
+
+    /**
+     * @param minStep - the smallest step size, a step that fails at this size is accepted anyway unless its error is NaN
+     */
+    public void setMinStep(double minStep){ this.minStep = minStep; }
+
+    /**
+     * @param maxStep - the largest step size
+     */
+    public void setMaxStep(double maxStep){ this.maxStep = maxStep; }
+
+    /**
+     * @param eventTolerance - the accuracy of the time of an event
+     */
+    public void setEventTolerance(double eventTolerance){ this.eventTolerance = eventTolerance; }
+
+    /**
+     * @param listener - the observer of every step integrate (and so solve) tries, null for none
+     */
+    public void setStepListener(StepListenerInterface listener){ this.listener = listener; }
+
+    /**
+     * @return The number of accepted steps since the last reset
+     */
+    public long getAccepted(){ return accepted; }
+
+    /**
+     * @return The number of rejected steps since the last reset
+     */
+    public long getRejected(){ return rejected; }
+
+    /**
+     * @return The number of function evaluations since the last reset
+     */
+    public long getEvaluations(){ return evaluations; }
+
+    public void resetCounters(){
+        accepted = 0;
+        rejected = 0;
+        evaluations = 0;
+    }
+
+    /**
+     * Documentation given from the interface:
+     * Solve the differential equation by taking multiple steps.
+     * The steps between the output times are chosen adaptively.
+     *
+     * @param   f       the function defining the differential equation dy/dt=f(t,y)
+     * @param   y0      the starting state
+     * @param   ts      the times at which the states should be output, with ts[0] being the initial time
+     * @return  an array of size ts.length with all intermediate states along the path
+     */
+    public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double[] ts){
+        StateInterface[] states = (StateInterface[]) Array.newInstance(y0.getClass(), ts.length);
+        states[0] = y0;
+        double h = ts.length > 1 ? ts[1] - ts[0] : 0;
+        for(int i = 1; i < ts.length; i++){
+            Trajectory segment = integrate(f, states[i-1], ts[i-1], ts[i], h, null);
+            states[i] = segment.getLast();
+        }
+        return states;
+    }
+
+    /**
+     * Documentation given from the interface:
+     * Solve the differential equation by taking multiple steps of equal size, starting at time 0.
+     * The final step may have a smaller size, if the step-size does not exactly divide the solution time range
+     * Here h is the interval between the output states, the steps in between are chosen adaptively.
+     *
+     * @param   f       the function defining the differential equation dy/dt=f(t,y)
+     * @param   y0      the starting state
+     * @param   tf      the final time
+     * @param   h       the size of step to be taken
+     * @return  an array of size round(tf/h)+1 including all intermediate states along the path
+     */
+    public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double tf, double h){
+        int fit = (int) (tf / h) + 1;
+        double[] ts = new double[tf % h != 0 ? fit + 1 : fit];
+        for(int i = 0; i < fit; i++){ ts[i] = i * h; }
+        ts[ts.length - 1] = tf;
+        return solve(f, y0, ts);
+    }
+
+    /**
+     * Documentation given from the interface:
+     * Update rule for one step.
+     * Takes a single 5th order step of exactly size h, without error control.
+     *
+     * @param   f   the function defining the differential equation dy/dt=f(t,y)
+     * @param   t   the time
+     * @param   y   the state
+     * @param   h   the step size
+     * @return  the new state after taking one step
+     */
+    public StateInterface step(ODEFunctionInterface f, double t, StateInterface y, double h){
+        RateInterface[] k = new RateInterface[7];
+        k[0] = call(f, t, y);
+        return stages(f, t, y, h, k);
+    }
+
+    /**
+     * Integrates adaptively from t0 until tf, or until the event occurs.
+     *
+     * @param f - the function defining the differential equation dy/dt=f(t,y)
+     * @param y0 - the starting state, implementing AdaptiveStateInterface
+     * @param t0 - the starting time
+     * @param tf - the final time
+     * @param h0 - the first step size to try, 0 to start with a hundredth of the interval
+     * @param event - the event to stop at (when its value drops to 0 or below), null to integrate until tf
+     * @return The accepted states and their times, the last one at tf or at the event
+     * @throws ArithmeticException if a step no longer advances the time, or its error is NaN at the smallest step size
+     */
+    public Trajectory integrate(ODEFunctionInterface f, StateInterface y0, double t0, double tf, double h0, EventInterface event){
+        if (!(y0 instanceof AdaptiveStateInterface)) throw new IllegalArgumentException("DormandPrince needs states implementing AdaptiveStateInterface");
+        ArrayList<StateInterface> states = new ArrayList<>();
+        double[] times = new double[16];
+        states.add(y0);
+        times[0] = t0;
+
+        double t = t0;
+        StateInterface y = y0;
+        double g = event == null ? 0 : event.value(t, y);
+        boolean occurred = event != null && g <= 0;
+        double h = Math.min(maxStep, h0 > 0 ? h0 : (tf - t0) / 100);
+        RateInterface[] k = new RateInterface[7];
+        k[0] = call(f, t, y);
+
+        while(!occurred && t < tf){
+            boolean last = t + h >= tf;
+            double step = last ? tf - t : h;
+            if (t + step == t) throw new ArithmeticException("Step size " + step + " no longer advances the time " + t);
+            StateInterface next = stages(f, t, y, step, k);
+            StateInterface embedded = combine(y, step, E, k, 7);
+            double error = ((AdaptiveStateInterface) next).errorNorm(embedded, absoluteTolerance, relativeTolerance);
+            if (Double.isNaN(error) && step <= minStep) throw new ArithmeticException("Error of the step is NaN at the smallest step size, at time " + t);
+
+            // A NaN error (e.g. the step went through a singularity) counts as a failed step
+            double factor = error == 0 ? 5 : error > 0 ? Math.max(0.2, Math.min(5, 0.9 * Math.pow(error, -0.2))) : 0.2;
+            if (!(error <= 1) && step > minStep){
+                rejected++;
+                if (listener != null){ listener.step(t, step, false); }
+                h = Math.max(minStep, step * Math.min(factor, 0.9));
+                continue;
+            }
+            accepted++;
+            if (listener != null){ listener.step(t, step, true); }
+
+            double tNext = last ? tf : t + step;
+            if (event != null){
+                double gNext = event.value(tNext, next);
+                if (gNext <= 0){
+                    double root = locate(f, event, t, y, g, tNext, gNext, k[0]);
+                    next = root == tNext ? next : step(f, t, y, root - t);
+                    tNext = root;
+                    occurred = true;
+                }
+                g = gNext;
+            }
+            t = tNext;
+            y = next;
+            k[0] = k[6];
+            if (states.size() == times.length) times = Arrays.copyOf(times, 2 * times.length);
+            times[states.size()] = t;
+            states.add(y);
+            h = Math.min(maxStep, Math.max(minStep, step * factor));
+        }
+        StateInterface[] array = states.toArray((StateInterface[]) Array.newInstance(y0.getClass(), 0));
+        return new Trajectory(array, Arrays.copyOf(times, array.length), occurred);
+    }
+
+    /**
+     * Locates the time at which the event function reaches 0 within an accepted step with the Illinois method,
+     * re-stepping from the start of the step for every trial time.
+     *
+     * @return The time of the event, at which the event value is at most 0
+     */
+    private double locate(ODEFunctionInterface f, EventInterface event, double t0, StateInterface y0, double g0,
+                          double t1, double g1, RateInterface k0){
+        double a = t0, ga = g0, b = t1, gb = g1;
+        int side = 0;
+        RateInterface[] k = new RateInterface[7];
+        for(int i = 0; i < 100 && b - a > eventTolerance; i++){
+            double c = (a * gb - b * ga) / (gb - ga);
+            if (!(c > a && c < b)) c = (a + b) / 2;
+            k[0] = k0;
+            double gc = event.value(c, stages(f, t0, y0, c - t0, k));
+            if (gc <= 0){
+                b = c;
+                gb = gc;
+                if (side == -1) ga /= 2;
+                side = -1;
+            }
+            else {
+                a = c;
+                ga = gc;
+                if (side == 1) gb /= 2;
+                side = 1;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Computes stages 2 to 7 of a step, with k[0] already set, and stores them in k
+     *
+     * @return The 5th order solution at t + h
+     */
+    private StateInterface stages(ODEFunctionInterface f, double t, StateInterface y, double h, RateInterface[] k){
+        for(int i = 1; i < 6; i++){
+            k[i] = call(f, t + C[i] * h, combine(y, h, A[i], k, i));
+        }
+        StateInterface next = combine(y, h, A[6], k, 6);
+        k[6] = call(f, t + h, next);
+        if (y instanceof State){
+            State s = (State) next;
+            s.setPrevious((State) y);
+            s.setPeriod(((State) y).getPeriod() + h);
+        }
+        return next;
+    }
+
+    /**
+     * @return y + h * sum(a[i] * k[i]) over the first n stages
+     */
+    private static StateInterface combine(StateInterface y, double h, double[] a, RateInterface[] k, int n){
+        StateInterface s = y;
+        for(int i = 0; i < n; i++){
+            if (a[i] != 0) s = s.addMul(h * a[i], k[i]);
+        }
+        return s;
+    }
+
+    private RateInterface call(ODEFunctionInterface f, double t, StateInterface y){
+        evaluations++;
+        return f.call(t, y);
+    }
+}
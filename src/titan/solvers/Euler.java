@@ -1,19 +1,29 @@
 package titan.solvers;
 
 import interfaces.given.ODEFunctionInterface;
-import interfaces.given.ODESolverInterface;
 import interfaces.given.StateInterface;
+import interfaces.own.ObservableSolverInterface;
+import interfaces.own.StepListenerInterface;
 import titan.physics.Newton;
 import titan.physics.State;
 import titan.utility.Rate;
 
+import java.lang.reflect.Array;
+
 /**
  * Class representing Euler's method which says
  *      y[n+1] = y[n] + h * f(t[n], y[n])
  *      t[n+1] = t[n] + h
  */
 
-public class Euler implements ODESolverInterface {
+public class Euler implements ObservableSolverInterface {
+    private StepListenerInterface listener;
+
+    /**
+     * @param listener - the observer of every step solve takes, null for none
+     */
+    public void setStepListener(StepListenerInterface listener){ this.listener = listener; }
+
     /**
      * Documentation given from the interface:
      * Solve the differential equation by taking multiple steps.
@@ -25,11 +35,12 @@ public class Euler implements ODESolverInterface {
      */
 
     public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double[] ts){
-        StateInterface[] states = new State[ts.length];
+        StateInterface[] states = (StateInterface[]) Array.newInstance(y0.getClass(), ts.length);
         states[0] = y0;
 
         for(int i = 1; i < ts.length; i++){
             states[i] = step(f, ts[i-1], states[i-1], ts[i]-ts[i-1]);
+            if (listener != null){ listener.step(ts[i-1], ts[i]-ts[i-1], true); }
         }
         return states;
     }
@@ -49,17 +60,17 @@ public class Euler implements ODESolverInterface {
     public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double tf, double h){
         int fit = (int) (tf / h) + 1;
 
-        StateInterface[] states;
-        if (tf % h != 0){ states = new State[fit + 1]; }
-        else { states = new State[fit]; }
+        StateInterface[] states = (StateInterface[]) Array.newInstance(y0.getClass(), tf % h != 0 ? fit + 1 : fit);
         states[0] = y0;
 
         for(int i = 1; i < fit; i++){
             states[i] = step(f, i * h, states[i-1], h);
+            if (listener != null){ listener.step((i - 1) * h, h, true); }
         }
         if (fit < states.length){
             double remainingTime = tf % h;
             states[states.length - 1] = step(f, tf - remainingTime, states[states.length - 2], remainingTime);
+            if (listener != null){ listener.step(tf - remainingTime, remainingTime, true); }
         }
         return states;
     }
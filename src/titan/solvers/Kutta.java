@@ -1,12 +1,11 @@
 package titan.solvers;
 
 import interfaces.given.*;
-import interfaces.own.DataInterface;
-import titan.math.Vector3d;
+import interfaces.own.ObservableSolverInterface;
+import interfaces.own.StepListenerInterface;
 import titan.physics.State;
-import titan.utility.Rate;
 
-import java.util.Arrays;
+import java.lang.reflect.Array;
 
 /**
  * Class that is coding representation of Runge-Kutta 4th order.
@@ -34,7 +33,14 @@ import java.util.Arrays;
  * k[4]=hf(t[n]+h, y[n]+k[1]-k[2]+k[3])
  *
  */
-public class Kutta implements ODESolverInterface {
+public class Kutta implements ObservableSolverInterface {
+    private StepListenerInterface listener;
+
+    /**
+     * @param listener - the observer of every step solve takes, null for none
+     */
+    public void setStepListener(StepListenerInterface listener){ this.listener = listener; }
+
     /**
      * Documentation given from the interface:
      * Solve the differential equation by taking multiple steps.
@@ -46,11 +52,12 @@ public class Kutta implements ODESolverInterface {
      */
 
     public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double[] ts){
-        StateInterface[] states = new State[ts.length];
+        StateInterface[] states = (StateInterface[]) Array.newInstance(y0.getClass(), ts.length);
         states[0] = y0;
 
         for(int i = 1; i < ts.length; i++){
-            states[i] = step(f, ts[i], states[i-1], ts[i]-ts[i-1]);
+            states[i] = step(f, ts[i-1], states[i-1], ts[i]-ts[i-1]);
+            if (listener != null){ listener.step(ts[i-1], ts[i]-ts[i-1], true); }
         }
         return states;
     }
@@ -70,17 +77,17 @@ public class Kutta implements ODESolverInterface {
     public StateInterface[] solve(ODEFunctionInterface f, StateInterface y0, double tf, double h){
         int fit = (int) (tf / h) + 1;
 
-        StateInterface[] states;
-        if (tf % h != 0){ states = new State[fit + 1]; }
-        else { states = new State[fit]; }
+        StateInterface[] states = (StateInterface[]) Array.newInstance(y0.getClass(), tf % h != 0 ? fit + 1 : fit);
         states[0] = y0;
 
         for(int i = 1; i < fit; i++){
-            states[i] = step(f, i * h, states[i-1], h);
+            states[i] = step(f, (i - 1) * h, states[i-1], h);
+            if (listener != null){ listener.step((i - 1) * h, h, true); }
         }
         if (fit < states.length){
             double remainingTime = tf % h;
-            states[states.length - 1] = step(f, tf, states[states.length - 2], remainingTime);
+            states[states.length - 1] = step(f, tf - remainingTime, states[states.length - 2], remainingTime);
+            if (listener != null){ listener.step(tf - remainingTime, remainingTime, true); }
         }
         return states;
     }
@@ -98,6 +105,9 @@ public class Kutta implements ODESolverInterface {
      * k[3]=hf(t[n]+h/2, y[n]+k[2]/2)
      * k[4]=hf(t[n]+h, y[n]+k[3])
      *
+     * Only uses StateInterface.addMul, so it integrates any state class (planets, lander) with a matching function.
+     * The function is evaluated at all four stages, so forces that depend on the state are recomputed within the step.
+     *
      * Documentation given from the interface:
      * Update rule for one step.
      *
@@ -109,107 +119,17 @@ public class Kutta implements ODESolverInterface {
      */
 
     public StateInterface step(ODEFunctionInterface f, double t, StateInterface y, double h){
-        Rate r = (Rate) f.call(t, y);
-        Rate k1 = r.mul(h);
-        System.out.println("k1 = " + k1.getPosRoc()[0].getX());
-
-        State s = (State) y;
-        DataInterface[] objects = s.getObjects();
-        DataInterface[] assist = new DataInterface[objects.length];
-
-        Vector3dInterface[] v = k1.getPosRoc();
-        Vector3dInterface[] a = k1.getVelRoc();
-        for(int i = 0; i < objects.length; i++){
-            Vector3dInterface pos = objects[i].getPosition();
-            Vector3dInterface vel = objects[i].getVelocity();
-            double[] displacement = { pos.getX() + v[i].getX() / 2, pos.getY() + v[i].getY() / 2, pos.getZ() + v[i].getZ() / 2 };
-            double[] velocity = { vel.getX() + a[i].getX() / 2, vel.getY() + a[i].getY() / 2, vel.getZ() + a[i].getZ() / 2 };
-            assist[i] = objects[i].update(
-                    new Vector3d(displacement),
-                    new Vector3d(velocity)
-            );
-        }
-        s = new State(assist);
-
-        r = (Rate) f.call(t + h/ 2, s);
-        Rate k2 = r.mul(h);
-        System.out.println("k2 = " + k2.getPosRoc()[0].getX());
-
-        v = k2.getPosRoc();
-        a = k2.getVelRoc();
-        assist = new DataInterface[objects.length];
-        for(int i = 0; i < objects.length; i++){
-            Vector3dInterface pos = objects[i].getPosition();
-            Vector3dInterface vel = objects[i].getVelocity();
-            double[] displacement = { pos.getX() + v[i].getX() / 2, pos.getY() + v[i].getY() / 2, pos.getZ() + v[i].getZ() / 2 };
-            double[] velocity = { vel.getX() + a[i].getX() / 2, vel.getY() + a[i].getY() / 2, vel.getZ() + a[i].getZ() / 2 };
-            assist[i] = objects[i].update(
-                    new Vector3d(displacement),
-                    new Vector3d(velocity)
-            );
+        RateInterface k1 = f.call(t, y);
+        RateInterface k2 = f.call(t + h / 2, y.addMul(h / 2, k1));
+        RateInterface k3 = f.call(t + h / 2, y.addMul(h / 2, k2));
+        RateInterface k4 = f.call(t + h, y.addMul(h, k3));
+
+        StateInterface next = y.addMul(h / 6, k1).addMul(h / 3, k2).addMul(h / 3, k3).addMul(h / 6, k4);
+        if (y instanceof State){
+            State s = (State) next;
+            s.setPrevious((State) y);
+            s.setPeriod(((State) y).getPeriod() + h);
         }
-        s = new State(assist);
-
-        r = (Rate) f.call(t + h / 2, s);
-        Rate k3 = r.mul(h);
-        System.out.println("k3 = " + k3.getPosRoc()[0].getX());
-
-        v = k3.getPosRoc();
-        a = k3.getVelRoc();
-        assist = new DataInterface[objects.length];
-        for(int i = 0; i < objects.length; i++){
-            Vector3dInterface pos = objects[i].getPosition();
-            Vector3dInterface vel = objects[i].getVelocity();
-            double[] displacement = { pos.getX() + v[i].getX(), pos.getY() + v[i].getY(), pos.getZ() + v[i].getZ() };
-            double[] velocity = { vel.getX() + a[i].getX(), vel.getY() + a[i].getY(), vel.getZ() + a[i].getZ() };
-            assist[i] = objects[i].update(
-                    new Vector3d(displacement),
-                    new Vector3d(velocity)
-            );
-        }
-        s = new State(assist);
-
-        r = (Rate) f.call(t + h, s);
-        Rate k4 = r.mul(h);
-        System.out.println("k4 = " + k4.getPosRoc()[0].getX());
-
-        Vector3dInterface[] vK1 = k1.getPosRoc();
-        Vector3dInterface[] vK2 = k2.getPosRoc();
-        Vector3dInterface[] vK3 = k3.getPosRoc();
-        Vector3dInterface[] vK4 = k4.getPosRoc();
-
-        Vector3dInterface[] aK1 = k1.getVelRoc();
-        Vector3dInterface[] aK2 = k2.getVelRoc();
-        Vector3dInterface[] aK3 = k3.getVelRoc();
-        Vector3dInterface[] aK4 = k4.getVelRoc();
-
-        assist = new DataInterface[objects.length];
-        for(int i = 0; i < objects.length; i++){
-            Vector3dInterface pos = objects[i].getPosition();
-            Vector3dInterface vel = objects[i].getVelocity();
-            double[] displacement = {
-                    pos.getX() + (1.0 / 6.0) * (vK1[i].getX() + 2 * vK2[i].getX() + 2 * vK3[i].getX() + vK4[i].getX()),
-                    pos.getY() + (1.0 / 6.0) * (vK1[i].getY() + 2 * vK2[i].getY() + 2 * vK3[i].getY() + vK4[i].getY()),
-                    pos.getY() + (1.0 / 6.0) * (vK1[i].getZ() + 2 * vK2[i].getZ() + 2 * vK3[i].getZ() + vK4[i].getZ())
-            };
-            double[] velocity = {
-                    vel.getX() + (1.0 / 6.0) * (aK1[i].getX() + 2 * aK2[i].getX() + 2 * aK3[i].getX() + aK4[i].getX()),
-                    vel.getY() + (1.0 / 6.0) * (aK1[i].getY() + 2 * aK2[i].getY() + 2 * aK3[i].getY() + aK4[i].getY()),
-                    vel.getY() + (1.0 / 6.0) * (aK1[i].getZ() + 2 * aK2[i].getZ() + 2 * aK3[i].getZ() + aK4[i].getZ())
-            };
-
-            assist[i] = objects[i].update(
-                    new Vector3d(displacement),
-                    new Vector3d(velocity)
-            );
-        }
-        System.out.println("y[n+1] = " + assist[0].getPosition().getX());
-        System.out.println();
-
-        State y0 = (State) y;
-        s = new State(assist);
-        s.setPrevious(y0);
-        s.setPeriod(y0.getPeriod() + h);
-        return s;
+        return next;
     }
 }
@@ -0,0 +1,42 @@
+package titan.solvers;
+
+import interfaces.given.StateInterface;
+
+/**
+ * Result of an adaptive integration: the accepted states with the times they were reached at,
+ * and whether the integration stopped at an event instead of at the final time.
+ */
+public class Trajectory {
+    private final StateInterface[] states;
+    private final double[] times;
+    private final boolean event;
+
+    /**
+     * @param states - the accepted states, starting with the initial state
+     * @param times - the time of every state
+     * @param event - true if the last state is the state at which the event occurred
+     */
+    public Trajectory(StateInterface[] states, double[] times, boolean event){
+        this.states = states;
+        this.times = times;
+        this.event = event;
+    }
+
+    public StateInterface[] getStates(){ return states; }
+
+    public double[] getTimes(){ return times; }
+
+    /**
+     * @return The number of states, including the initial state
+     */
+    public int size(){ return states.length; }
+
+    public StateInterface getLast(){ return states[states.length - 1]; }
+
+    public double getLastTime(){ return times[times.length - 1]; }
+
+    /**
+     * @return True if the integration stopped because the event occurred
+     */
+    public boolean hasEvent(){ return event; }
+}
@@ -2,8 +2,10 @@ package titan.solvers;
 
 import interfaces.given.*;
 import interfaces.own.DataInterface;
-import titan.physics.Newton;
+import interfaces.own.ObservableSolverInterface;
+import interfaces.own.StepListenerInterface;
 import titan.physics.State;
+import titan.utility.Rate;
 
 /**
  * Class that implements Verlet integration
@@ -17,8 +19,13 @@ import titan.physics.State;
  *      x[1] = Euler
  *      x[2] = 2 * x[1] (<- calculated by Euler) - x[0] + a * t^2
  */
-public class Verlet implements ODESolverInterface {
-    Newton newton = new Newton();
+public class Verlet implements ObservableSolverInterface {
+    private StepListenerInterface listener;
+
+    /**
+     * @param listener - the observer of every step solve takes, null for none
+     */
+    public void setStepListener(StepListenerInterface listener){ this.listener = listener; }
 
     /**
      * Documentation given from the interface:
@@ -36,6 +43,7 @@ public class Verlet implements ODESolverInterface {
 
         for(int i = 1; i < ts.length; i++){
             states[i] = step(f, ts[i], states[i-1], ts[i]-ts[i-1]);
+            if (listener != null){ listener.step(ts[i-1], ts[i]-ts[i-1], true); }
         }
         return states;
     }
@@ -62,10 +70,12 @@ public class Verlet implements ODESolverInterface {
 
         for(int i = 1; i < fit; i++){
             states[i] = step(f, i * h, states[i-1], h);
+            if (listener != null){ listener.step((i - 1) * h, h, true); }
         }
         if (fit < states.length){
             double remainingTime = tf % h;
             states[states.length - 1] = step(f, tf, states[states.length - 2], remainingTime);
+            if (listener != null){ listener.step(tf - remainingTime, remainingTime, true); }
         }
         return states;
     }
@@ -93,8 +103,10 @@ public class Verlet implements ODESolverInterface {
         DataInterface[] before = previous.getObjects();
         DataInterface[] current = s.getObjects();
         DataInterface[] result = new DataInterface[current.length];
+        // The accelerations come from f, so wrappers of the function (e.g. CountingFunction) see every evaluation
+        Vector3dInterface[] accelerations = ((Rate) f.call(t, y)).getVelRoc();
         for(int i = 0; i < current.length; i++){
-            Vector3dInterface acc = newton.acceleration(current, i);
+            Vector3dInterface acc = accelerations[i];
             Vector3dInterface v = current[i].getVelocity();
             Vector3dInterface x = current[i].getPosition();
             Vector3dInterface xOld = before[i].getPosition();
@@ -0,0 +1,141 @@
+package titan.solvers;
+
+import interfaces.given.ODEFunctionInterface;
+import interfaces.given.ODESolverInterface;
+import interfaces.given.StateInterface;
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+import titan.math.CountingFunction;
+import titan.math.Function;
+import titan.physics.State;
+import titan.utility.InitialState;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Work-precision comparison of the solvers on the solar system (InitialState):
+ * every solver is run over a sweep of step sizes (Euler, Kutta, Verlet) or tolerances (DormandPrince),
+ * and every run records the number of function evaluations, the wall time and the error of the final state
+ * against a reference run of DormandPrince with very tight tolerances.
+ * The evaluations are counted by wrapping Function in a CountingFunction; the time is the fastest of a few repeats.
+ *
+ * The error is the largest distance between the final position of a body and its reference position.
+ * The cheapest solver for a target accuracy is the one with the fewest evaluations (or least time) at that error.
+ */
+public class WorkPrecisionExperiment {
+    public static void main(String[] args){
+        // Simulated time span (s), a year by default
+        double finalTime = args.length > 0 ? Double.parseDouble(args[0]) : 365 * 86400.0;
+
+        double[] stepSizes = { 86400, 43200, 21600, 10800, 3600, 1800 };
+        double[] tolerances = { 1e-4, 1e-6, 1e-8, 1e-10, 1e-12 };
+        double referenceTolerance = 1e-15;
+        double absoluteTolerance = 1e-6;
+        double referenceAbsoluteTolerance = 1e-9;
+
+        // Number of times every run is repeated, the fastest run counts as its time
+        int repeats = 3;
+
+        // Reference run, and a 10 times less tight run to estimate how accurate the reference itself is
+        DataInterface[] reference = finalObjects(adaptive(referenceTolerance, referenceAbsoluteTolerance, finalTime, new Function()));
+        double referenceError = error(finalObjects(adaptive(referenceTolerance * 10, referenceAbsoluteTolerance, finalTime, new Function())), reference);
+        System.out.printf(Locale.ROOT, "Reference: Dormand-Prince, tolerances %.0e/%.0e, estimated error %.3e m%n",
+                referenceAbsoluteTolerance, referenceTolerance, referenceError);
+
+        // Short runs that are thrown away to let the JIT compile the solvers and the function
+        for(ODESolverInterface solver : new ODESolverInterface[]{ new Euler(), new Kutta(), new Verlet() }){
+            solver.solve(new Function(), new State(InitialState.getInitialState()), 100 * 3600.0, 3600);
+        }
+        adaptive(1e-8, absoluteTolerance, 30 * 86400.0, new Function());
+
+        List<String> rows = new ArrayList<>();
+        System.out.printf(Locale.ROOT, "%-14s %14s %12s %12s %14s%n", "Solver", "Parameter", "Evaluations", "Time (ms)", "Error (m)");
+
+        ODESolverInterface[] fixed = { new Euler(), new Kutta(), new Verlet() };
+        String[] names = { "Euler", "Kutta", "Verlet" };
+        for(int s = 0; s < fixed.length; s++){
+            for(double h : stepSizes){
+                CountingFunction function = new CountingFunction(new Function());
+                StateInterface[] states = null;
+                long elapsed = Long.MAX_VALUE;
+                for(int r = 0; r < repeats; r++){
+                    function.reset();
+                    long startTime = System.nanoTime();
+                    states = fixed[s].solve(function, new State(InitialState.getInitialState()), finalTime, h);
+                    elapsed = Math.min(elapsed, System.nanoTime() - startTime);
+                }
+                double error = error(((State) states[states.length - 1]).getObjects(), reference);
+                rows.add(row(names[s], "h", h, function.getCalls(), elapsed, error));
+            }
+        }
+
+        for(double tolerance : tolerances){
+            CountingFunction function = new CountingFunction(new Function());
+            Trajectory trajectory = null;
+            long elapsed = Long.MAX_VALUE;
+            for(int r = 0; r < repeats; r++){
+                function.reset();
+                long startTime = System.nanoTime();
+                trajectory = adaptive(tolerance, absoluteTolerance, finalTime, function);
+                elapsed = Math.min(elapsed, System.nanoTime() - startTime);
+            }
+            double error = error(finalObjects(trajectory), reference);
+            rows.add(row("DormandPrince", "rtol", tolerance, function.getCalls(), elapsed, error));
+        }
+
+        /*
+         * Current file format/design:
+         * Final time, t
+         * Reference error, e
+         * Solver, Parameter, Value, Evaluations, Time (ms), Error (m)
+         * s1,     h,         h1,    n1,          t1,        e1
+         * s2,     rtol,      tol1,  n2,          t2,        e2
+         * */
+        String columnSeparator = ",";
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+        try(PrintWriter writer = new PrintWriter(new File("src/experiments/" + fileName + " work precision.csv"))){
+            writer.println("Final time" + columnSeparator + finalTime);
+            writer.println("Reference error" + columnSeparator + referenceError);
+            writer.println(String.join(columnSeparator, "Solver", "Parameter", "Value", "Evaluations", "Time (ms)", "Error (m)"));
+            for(String row : rows){ writer.println(row); }
+        }
+        catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * Runs DormandPrince on the solar system from time 0 until the final time
+     */
+    private static Trajectory adaptive(double tolerance, double absoluteTolerance, double finalTime, ODEFunctionInterface function){
+        DormandPrince solver = new DormandPrince(absoluteTolerance, tolerance);
+        return solver.integrate(function, new State(InitialState.getInitialState()), 0, finalTime, 3600, null);
+    }
+
+    private static DataInterface[] finalObjects(Trajectory trajectory){ return ((State) trajectory.getLast()).getObjects(); }
+
+    /**
+     * @return The largest distance between the positions of the same body in both arrays (m)
+     */
+    private static double error(DataInterface[] objects, DataInterface[] reference){
+        double error = 0;
+        for(int i = 0; i < objects.length; i++){
+            Vector3dInterface position = objects[i].getPosition();
+            error = Math.max(error, position.dist(reference[i].getPosition()));
+        }
+        return error;
+    }
+
+    /**
+     * Prints a run and formats it as a CSV row
+     */
+    private static String row(String solver, String parameter, double value, long evaluations, long elapsed, double error){
+        String formatted = parameter.equals("h") ? String.format(Locale.ROOT, "%.0f s", value) : String.format(Locale.ROOT, "%.0e", value);
+        System.out.printf(Locale.ROOT, "%-14s %5s %8s %12d %12.1f %14.4e%n", solver, parameter, formatted, evaluations, elapsed / 1e6, error);
+        return solver + "," + parameter + "," + value + "," + evaluations + "," + (elapsed / 1e6) + "," + error;
+    }
+}
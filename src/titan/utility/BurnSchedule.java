@@ -0,0 +1,70 @@
+package titan.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The burns of a rocket during a flight, ordered by time and not overlapping.
+ * Between the burns the rocket coasts. The start and end times of the burns are the only moments at which the
+ * thrust jumps, so an integration split at them only sees smooth forces (see BurnIntegrator).
+ */
+public class BurnSchedule {
+    private final ThrustArc[] arcs;
+
+    /**
+     * @param arcs - the burns in any order, they may touch but not overlap
+     */
+    public BurnSchedule(ThrustArc... arcs){
+        this.arcs = arcs.clone();
+        Arrays.sort(this.arcs, Comparator.comparingDouble(ThrustArc::getStart));
+        for(int i = 1; i < this.arcs.length; i++){
+            if (this.arcs[i].getStart() < this.arcs[i - 1].getEnd()){
+                throw new IllegalArgumentException("Burns overlap: " + this.arcs[i - 1] + " and " + this.arcs[i]);
+            }
+        }
+    }
+
+    /**
+     * @return The burns ordered by their start
+     */
+    public ThrustArc[] getArcs(){ return arcs.clone(); }
+
+    /**
+     * @param t - a time
+     * @return The burn during which the engine runs at the time, null while coasting
+     */
+    public ThrustArc arcAt(double t){
+        int low = 0, high = arcs.length - 1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            if (arcs[mid].getEnd() <= t){ low = mid + 1; }
+            else if (arcs[mid].getStart() > t){ high = mid - 1; }
+            else { return arcs[mid]; }
+        }
+        return null;
+    }
+
+    /**
+     * @param t0 - the start of an interval
+     * @param tf - the end of the interval
+     * @return The starts and ends of the burns strictly between t0 and tf, in order and without duplicates
+     */
+    public double[] boundaries(double t0, double tf){
+        List<Double> times = new ArrayList<>();
+        for(ThrustArc arc : arcs){
+            add(times, arc.getStart(), t0, tf);
+            add(times, arc.getEnd(), t0, tf);
+        }
+        double[] result = new double[times.size()];
+        for(int i = 0; i < result.length; i++){ result[i] = times.get(i); }
+        return result;
+    }
+
+    private static void add(List<Double> times, double t, double t0, double tf){
+        if (t <= t0 || t >= tf){ return; }
+        if (!times.isEmpty() && times.get(times.size() - 1) == t){ return; }
+        times.add(t);
+    }
+}
@@ -0,0 +1,37 @@
+package titan.utility;
+
+import interfaces.given.RateInterface;
+
+/**
+ * Rate of change of a FlatState in the layout of BodyArrays: for every body its velocity, acceleration and fuel mass flow,
+ * one array per component
+ */
+public class FlatRate implements RateInterface {
+    private final double[] x, y, z, vx, vy, vz, fuel;
+
+    /**
+     * @param x - dx/dt of every body, as are y and z
+     * @param vx - dvx/dt of every body, as are vy and vz
+     * @param fuel - the fuel mass flow of every body
+     */
+    public FlatRate(double[] x, double[] y, double[] z, double[] vx, double[] vy, double[] vz, double[] fuel){
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.vx = vx;
+        this.vy = vy;
+        this.vz = vz;
+        this.fuel = fuel;
+    }
+
+    /**
+     * The getters below give direct access to the arrays, they must not be changed once the rate is passed to a solver
+     */
+    public double[] getX(){ return x; }
+    public double[] getY(){ return y; }
+    public double[] getZ(){ return z; }
+    public double[] getVx(){ return vx; }
+    public double[] getVy(){ return vy; }
+    public double[] getVz(){ return vz; }
+    public double[] getFuel(){ return fuel; }
+}
@@ -1,10 +1,11 @@
 package titan.utility;
 
-import interfaces.given.StateInterface;
-import interfaces.given.Vector3dInterface;
 import interfaces.own.DataInterface;
+import titan.fileIO.KeyValueParser;
 import titan.math.Vector3d;
-import titan.physics.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 public class InitialState {
     private static final String[] s = {
@@ -20,138 +21,43 @@ public class InitialState {
             "Uranus: { mass=8.6813e25,   x= 2.395195786685187e+12,  y= 1.744450959214586e+12,  z=-2.455116324031639e+10,  vx=-4.059468635313243e+03, vy= 5.187467354884825e+03, vz= 7.182516236837899e+01 }",
             "Neptune: { mass=1.02413e26,   x= 4.382692942729203e+12,  y=-9.093501655486243e+11,  z=-8.227728929479486e+10,  vx= 1.068410720964204e+03, vy= 5.354959501569486e+03, vz=-1.343918199987533e+02 }" };
 
-    public static DataInterface[] getInitialState(){
-        DataInterface[] objects = new DataInterface[s.length];
-
-        String
-                massLabel 	= "mass=",
-                radiusLabel = "radius=",
-                xPosLabel 	= "x=",
-                yPosLabel 	= "y=",
-                zPosLabel 	= "z=",
-                xVelLabel 	= "vx=",
-                yVelLabel 	= "vy=",
-                zVelLabel 	= "vz=";
-
-        Vector3dInterface x, v;
-
-        StringBuilder sb = new StringBuilder();
-
-        try{
-            for(int i = 0; i < s.length; i++){
-                double[] vars = new double[8];
-                int startIndex 	= s[i].indexOf(massLabel);
-                int endIndex = s[i].indexOf(xPosLabel);
-
-                for(int j = startIndex + massLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[0] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(radiusLabel);
-                if (startIndex > -1){
-                    for(int j = startIndex + radiusLabel.length(); j < endIndex; j++){
-                        if (s[i].charAt(j) == ','){ break; }
-                        else if (s[i].charAt(j) == ' '){ continue; }
-                        sb.append(s[i].charAt(j));
-                    }
-
-                    vars[1] = Double.parseDouble(sb.toString());
-
-                    sb = new StringBuilder();
-                }
-                else{ vars[1] = 0.0; }
-
-                startIndex = s[i].indexOf(xPosLabel);
-                endIndex = s[i].indexOf(yPosLabel);
-                for(int j = startIndex + xPosLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[2] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(yPosLabel);
-                endIndex = s[i].indexOf(zPosLabel);
-                for(int j = startIndex + yPosLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
+    private static final String[] names = new String[s.length];
+    private static final double[][] values = new double[s.length][KeyValueParser.FIELDS];
 
-                vars[3] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(zPosLabel);
-                endIndex = s[i].indexOf(xVelLabel);
-                for(int j = startIndex + zPosLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[4] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(xVelLabel);
-                endIndex = s[i].indexOf(yVelLabel);
-                for(int j = startIndex + xVelLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[5] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(yVelLabel);
-                endIndex = s[i].indexOf(zVelLabel);
-                for(int j = startIndex + yVelLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[6] = Double.parseDouble(sb.toString());
-
-                sb = new StringBuilder();
-
-                startIndex = s[i].indexOf(zVelLabel);
-                endIndex = s[i].length();
-                for(int j = startIndex + xVelLabel.length(); j < endIndex; j++){
-                    if (s[i].charAt(j) == ','){ break; }
-                    else if (s[i].charAt(j) == ' '){ continue; }
-                    else if (s[i].charAt(j) == '}'){ break; }
-                    sb.append(s[i].charAt(j));
-                }
-
-                vars[7] = Double.parseDouble(sb.toString());
+    static {
+        // Parsed once; every call to getInitialState() only copies these values into new objects
+        for(int i = 0; i < s.length; i++){
+            ByteBuffer buf = ByteBuffer.wrap(s[i].getBytes(StandardCharsets.US_ASCII));
+            int colon = KeyValueParser.parseLine(buf, 0, buf.limit(), values[i]);
+            names[i] = KeyValueParser.name(buf, 0, colon);
+        }
+    }
 
-                sb = new StringBuilder();
-                
-                x = new Vector3d(vars[2], vars[3], vars[4]);
-                v = new Vector3d(vars[5], vars[6], vars[7]);
-                objects[i] = new Planet(
-                        s[i].substring(0, s[i].indexOf(":")),
-                        vars[0],
-                        vars[1],
-                        x,
-                        v
-                );
-            }
+    /**
+     * Constructs the objects of the initial state (1 April 2020).
+     * The objects are new on every call, so callers are free to modify them.
+     *
+     * @return Data array containing the sun, planets and moons in the order of the data file
+     */
+    public static DataInterface[] getInitialState(){
+        DataInterface[] objects = new DataInterface[s.length];
+        for(int i = 0; i < s.length; i++){
+            double[] d = values[i];
+            objects[i] = new Planet(
+                    names[i],
+                    d[KeyValueParser.MASS],
+                    d[KeyValueParser.RADIUS],
+                    new Vector3d(d[KeyValueParser.X], d[KeyValueParser.Y], d[KeyValueParser.Z]),
+                    new Vector3d(d[KeyValueParser.VX], d[KeyValueParser.VY], d[KeyValueParser.VZ])
+            );
         }
-        catch(Exception e){ e.printStackTrace(); }
         return objects;
     }
+
+    /**
+     * Accesses the number of objects in the initial state
+     *
+     * @return Integer representing the length of the array returned by getInitialState()
+     */
+    public static int size(){ return s.length; }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package titan.utility;
+
+import interfaces.given.Vector3dInterface;
+import interfaces.own.DataInterface;
+import titan.math.Vector3d;
+
+/**
+ * The launch of the probe and the rocket from earth towards titan: where they start, how fast, and how long the transfer takes.
+ *
+ * The craft start on the surface of earth, on the line from earth to titan. They used to start at the centre of earth,
+ * which only worked while Newton.netGravity dropped every gravity: with gravity the distance to earth of 0 makes every
+ * state NaN. From the surface the gravity of earth has to be climbed out of, so the launch velocity was found again
+ * (see VELOCITY), and with it the transfer became a flight of one year.
+ */
+public class Launch {
+    /**
+     * Time the craft need from earth to titan (s)
+     */
+    public static final double TRANSFER_TIME = 365 * 86400;
+
+    /* Velocity found from Newton's method using an adaptive solver
+     * ============================================================
+     * Probe setting: mass = 1.5e5, start on the surface of earth towards titan
+     * Time frame setting: final time tf = TRANSFER_TIME,
+     * solver DormandPrince, absolute tolerance 1e-3, relative tolerance 1e-12, central differences of 1e-2 m/s
+     *
+     * Result:
+     * Distance to Titan: 23753.47492573481 is less than 100000.0
+     * Found velocity: 62829.52271508716
+     *
+     * The rocket flies the same transfer, its mass does not change the flight noticeably
+     * (distance to Titan 23753.475623476956).
+     * The launch from the surface needs small steps: with a fixed step size the craft only pass near titan
+     * when the first minutes of the flight are resolved (Kutta with h = 60 misses by 7.8e6 m), with a step of a day
+     * the gravity of earth at its surface kicks them off course in the first step.
+     */
+    private static final double[] VELOCITY = { 23934.446269701435, -58086.40378937306, -812.9582931092942 };
+
+    /**
+     * Calculates the launch site on the surface of earth, on the line from earth to titan
+     *
+     * @param objects - the objects of the initial state, see InitialState
+     * @return The position the craft start at
+     */
+    public static Vector3dInterface position(DataInterface[] objects){
+        Vector3dInterface xEarth = objects[3].getPosition();
+        Vector3dInterface towardsTitan = objects[8].getPosition().sub(xEarth);
+        return xEarth.addMul(((Planet) objects[3]).getRadius() / towardsTitan.norm(), towardsTitan);
+    }
+
+    /**
+     * @return A new vector of the velocity the craft start with, relative to the barycentre of the solar system
+     */
+    public static Vector3dInterface velocity(){ return new Vector3d(VELOCITY[0], VELOCITY[1], VELOCITY[2]); }
+}
@@ -46,7 +46,7 @@ public class Rocket extends Planet {
     double mass_fuel = 0;
 
     final double thrust_max = 3e7;
-    final double v_exhaust = 4e3;
+    final static double v_exhaust = 4e3;
 
     public Rocket(Vector3dInterface pos, Vector3dInterface vel){
         setPosition(pos);
@@ -65,6 +65,28 @@ public class Rocket extends Planet {
         if (mass_fuel < 0){ throw new RuntimeException("Initial fuel mass wasn't enough for desired launch velocity!"); }
     }
 
+    /**
+     * Copies a rocket with another position and velocity, without running the launch calculation again
+     */
+    private Rocket(Rocket other, Vector3dInterface pos, Vector3dInterface vel){
+        name = other.name;
+        mass_fuel = other.mass_fuel;
+        position = pos;
+        velocity = vel;
+    }
+
+    /**
+     * Calculates the fuel a rocket needs at the start of its launch to still have some fuel left after it,
+     * by inverting the mass loss of the launch (the rocket equation)
+     *
+     * @param vLaunch - the launch velocity
+     * @param fuelLeft - the fuel mass that has to be left after the launch
+     * @return The fuel mass to construct the rocket with, see Rocket(fuelMass, pos, vel)
+     */
+    public static double launchFuel(double vLaunch, double fuelLeft){
+        return (mass_shuttle + mass_lander + fuelLeft) * Math.exp(vLaunch / v_exhaust) - mass_shuttle - mass_lander;
+    }
+
     public static double calculateMassLoss(double vFinal, double v0, double v_exhaust, double m0){
         // vFinal = v0 + vEx ln (m0 / mFinal)
         // vFinal - v0 = vEx ln (m0 / mFinal)
@@ -79,13 +101,25 @@ public class Rocket extends Planet {
     @Override
     public double getMass() { return mass_shuttle + mass_lander + mass_fuel; }
 
+    /**
+     * Accesses the mass of the rocket without fuel
+     *
+     * @return Double representing the mass of the shuttle and lander
+     */
+    public double getDryMass(){ return mass_shuttle + mass_lander; }
+
+    /**
+     * Accesses the fuel mass that is still left in the rocket
+     *
+     * @return Double representing the fuel mass, excluding the mass of the shuttle and lander
+     */
+    public double getFuelMass(){ return mass_fuel; }
+
     @Override
     public void setMass(double fuelMass){ mass_fuel = fuelMass; }
 
     @Override
     public Rocket update(Vector3dInterface x, Vector3dInterface v){
-        Rocket r = new Rocket(x, v);
-        r.mass_fuel = mass_fuel;
-        return r;
+        return new Rocket(this, x, v);
     }
 }
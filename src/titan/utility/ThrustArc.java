@@ -0,0 +1,111 @@
+package titan.utility;
+
+import interfaces.given.Vector3dInterface;
+
+/**
+ * A finite burn of the rocket engine: a constant thrust and exhaust velocity from a start until an end time,
+ * in a fixed direction or along (prograde) or against (retrograde) the velocity of the rocket.
+ * The fuel flows at thrust / exhaust velocity, so the acceleration grows while the rocket gets lighter.
+ */
+public final class ThrustArc {
+    public enum Orientation { Fixed, Prograde, Retrograde };
+
+    private final double start;
+    private final double end;
+    private final double thrust;
+    private final double exhaustVelocity;
+    private final Orientation orientation;
+    private final double dx, dy, dz;                // Unit direction of a fixed burn
+
+    /**
+     * Constructs a burn in a fixed direction of the SSB coordinate system
+     *
+     * @param start - the time the engine starts (s)
+     * @param end - the time the engine stops (s), after start
+     * @param thrust - the thrust of the engine (N), positive
+     * @param exhaustVelocity - the effective exhaust velocity (m/s), positive
+     * @param direction - the direction of the thrust, any length but 0
+     */
+    public ThrustArc(double start, double end, double thrust, double exhaustVelocity, Vector3dInterface direction){
+        this(start, end, thrust, exhaustVelocity, Orientation.Fixed, direction);
+    }
+
+    private ThrustArc(double start, double end, double thrust, double exhaustVelocity, Orientation orientation, Vector3dInterface direction){
+        if (!(end > start)){ throw new IllegalArgumentException("A burn has to end after it starts"); }
+        if (!(thrust > 0) || !(exhaustVelocity > 0)){ throw new IllegalArgumentException("Thrust and exhaust velocity have to be positive"); }
+        this.start = start;
+        this.end = end;
+        this.thrust = thrust;
+        this.exhaustVelocity = exhaustVelocity;
+        this.orientation = orientation;
+        if (orientation == Orientation.Fixed){
+            double norm = direction.norm();
+            if (!(norm > 0)){ throw new IllegalArgumentException("The direction of a burn needs a length"); }
+            dx = direction.getX() / norm;
+            dy = direction.getY() / norm;
+            dz = direction.getZ() / norm;
+        }
+        else { dx = dy = dz = 0; }
+    }
+
+    /**
+     * Constructs a burn along the velocity of the rocket, speeding it up
+     */
+    public static ThrustArc prograde(double start, double end, double thrust, double exhaustVelocity){
+        return new ThrustArc(start, end, thrust, exhaustVelocity, Orientation.Prograde, null);
+    }
+
+    /**
+     * Constructs a burn against the velocity of the rocket, slowing it down
+     */
+    public static ThrustArc retrograde(double start, double end, double thrust, double exhaustVelocity){
+        return new ThrustArc(start, end, thrust, exhaustVelocity, Orientation.Retrograde, null);
+    }
+
+    public double getStart(){ return start; }
+
+    public double getEnd(){ return end; }
+
+    public double getThrust(){ return thrust; }
+
+    public double getExhaustVelocity(){ return exhaustVelocity; }
+
+    public Orientation getOrientation(){ return orientation; }
+
+    /**
+     * @return The fuel used per second (kg/s)
+     */
+    public double getMassFlow(){ return thrust / exhaustVelocity; }
+
+    /**
+     * @param t - a time
+     * @return True if the engine runs at the time, from the start up to but not including the end
+     */
+    public boolean contains(double t){ return t >= start && t < end; }
+
+    /**
+     * Computes the unit direction of the thrust for a velocity of the rocket
+     *
+     * @param vx - velocity of the rocket on the x-axis
+     * @param vy - velocity of the rocket on the y-axis
+     * @param vz - velocity of the rocket on the z-axis
+     * @param out - receives x, y and z of the direction, at least 3 long; all 0 when the rocket stands still and the burn follows the velocity
+     */
+    public void direction(double vx, double vy, double vz, double[] out){
+        if (orientation == Orientation.Fixed){
+            out[0] = dx;
+            out[1] = dy;
+            out[2] = dz;
+            return;
+        }
+        double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+        double s = speed == 0 ? 0 : (orientation == Orientation.Prograde ? 1 : -1) / speed;
+        out[0] = vx * s;
+        out[1] = vy * s;
+        out[2] = vz * s;
+    }
+
+    public String toString(){
+        return orientation + " burn: { start=" + start + ", end=" + end + ", thrust=" + thrust + ", v_exhaust=" + exhaustVelocity + " }";
+    }
+}
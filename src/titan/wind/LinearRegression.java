@@ -1,118 +1,75 @@
 package titan.wind;
 
-import java.util.ArrayList;
-
-import static java.lang.Math.pow;
+import java.util.List;
 
 /**
  * Simple Linear Regression: Find a linear function that represents a set of data points.
+ * The fit is done in a single pass over primitive doubles by a RegressionAccumulator, so slope and intercept
+ * are available in O(1) and in any order. To fit a stream of samples, use a RegressionAccumulator directly.
  * @author Xuan Ngo
  */
 public class LinearRegression {
 
+        private final RegressionAccumulator accumulator;
 
-        private ArrayList<Double> m_aX = new ArrayList<Double>();
-        private ArrayList<Double> m_aY = new ArrayList<Double>();
-
-        private ArrayList<Double> m_aXX = null;
-        private ArrayList<Double> m_aXY = null;
-
-        private double m_dSumOfXs = 0;
-        private double m_dSumOfYs = 0;
-        private double m_dSumOfXXs = 0;
-        private double m_dSumOfXYs = 0;
-
-        private double m_dSlope = 0;
 
-
-        public LinearRegression(final ArrayList<Double> aX, final ArrayList<Double> aY)
+        public LinearRegression(final List<Double> aX, final List<Double> aY)
         {
-            this.m_aX = aX;
-            this.m_aY = aY;
-
-            // Prepare sigma values.
-            this.m_dSumOfXs = this.sum(aX);
-            this.m_dSumOfYs = this.sum(aY);
+            if (aX.size() != aY.size())
+                throw new IllegalArgumentException("Every x value needs exactly 1 y value.");
 
-            this.calculateXX();
-            this.m_dSumOfXXs = this.sum(this.m_aXX);
-
-            this.calculateXY();
-            this.m_dSumOfXYs = this.sum(this.m_aXY);
+            this.accumulator = new RegressionAccumulator();
+            for(int i=0; i<aX.size(); i++)
+            {
+                this.accumulator.add(aX.get(i), aY.get(i));
+            }
         }
 
-        /**
-         * Slope = (NΣXY - (ΣX)(ΣY)) / (NΣ(X^2) - (ΣX)^2)
-         * where, N = number of values.
-         * @return
-         */
-        public double getSlope()
+        public LinearRegression(final double[] aX, final double[] aY)
         {
-            final int iNumOfValues = this.m_aX.size();
-            final double dSlope = ((iNumOfValues*this.m_dSumOfXYs) - (this.m_dSumOfXs*this.m_dSumOfYs)) / ((iNumOfValues*this.m_dSumOfXXs) - pow(this.m_dSumOfXs, 2.0));
+            if (aX.length != aY.length)
+                throw new IllegalArgumentException("Every x value needs exactly 1 y value.");
 
-            this.m_dSlope = dSlope;
-            return this.m_dSlope;
+            this.accumulator = new RegressionAccumulator();
+            for(int i=0; i<aX.length; i++)
+            {
+                this.accumulator.add(aX[i], aY[i]);
+            }
         }
+
         /**
-         * Intercept = (ΣY - b(ΣX)) / N
-         * where, N = number of values.
-         * @return
+         * Fits a line through two columns of a wind dataset, without copying them
+         * @param data - the dataset
+         * @param x - the column of the independent values
+         * @param y - the column of the dependent values
          */
-        public double getIntercept()
+        public LinearRegression(final WindDataset data, final WindDataset.Column x, final WindDataset.Column y)
         {
-            // If slope is 0 throw an exception.
-            if(this.m_dSlope==0)
-                throw new RuntimeException("Run this.getSlope() to calculate the slope first.");
-
-            final int iNumOfValues = this.m_aX.size();
-            final double dConstant = (this.m_dSumOfYs - (this.m_dSlope*this.m_dSumOfXs)) / iNumOfValues;
-
-            return dConstant;
+            this(data.require(x), data.require(y));
         }
+
         /**
-         * Sum all values in the array list.
-         * @param aD
-         * @return
+         * @param accumulator - an accumulator that already holds the samples, e.g. the merged result of parallel chunks
          */
-        private double sum(ArrayList<Double> aD)
+        public LinearRegression(final RegressionAccumulator accumulator)
         {
-            double dSum=0;
-            for(int i=0; i<aD.size(); i++)
-            {
-                dSum+=aD.get(i).doubleValue();
-            }
-            return dSum;
+            this.accumulator = accumulator;
         }
 
         /**
-         * Calculate X*Y for all values.
+         * Slope = Σ(X - mean X)(Y - mean Y) / Σ(X - mean X)^2
+         * @return The slope of the fitted line
          */
-        private void calculateXY()
+        public double getSlope()
         {
-            this.m_aXY = new ArrayList<Double>();
-
-            for(int i=0; i<this.m_aX.size(); i++)
-            {
-                double x = this.m_aX.get(i).doubleValue();
-                double y = this.m_aY.get(i).doubleValue();
-
-                this.m_aXY.add(new Double(x*y));
-            }
+            return this.accumulator.slope();
         }
         /**
-         * Calculate X*X for all values.
+         * Intercept = mean Y - slope * mean X
+         * @return The intercept of the fitted line
          */
-        private void calculateXX()
+        public double getIntercept()
         {
-            this.m_aXX = new ArrayList<Double>();
-
-            for(int i=0; i<this.m_aX.size(); i++)
-            {
-                double x = this.m_aX.get(i).doubleValue();
-                this.m_aXX.add(new Double(x*x));
-            }
+            return this.accumulator.intercept();
         }
     }
-
-
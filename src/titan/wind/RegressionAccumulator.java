@@ -0,0 +1,136 @@
+package titan.wind;
+
+/**
+ * Online (Welford-style) simple linear regression over a stream of weighted samples.
+ *
+ * Instead of the raw sums ΣX, ΣY, ΣXX and ΣXY, which lose precision when X is large compared to its spread,
+ * the accumulator keeps the weighted means and the centred second moments and updates them per sample.
+ * Nothing is stored per sample, so a dataset of any size is fitted in constant memory, and slope() and intercept()
+ * are answered in O(1) at any moment. Partial accumulators of parallel chunks can be combined with merge().
+ * An instance is not thread safe; give every thread its own and merge them afterwards.
+ */
+public class RegressionAccumulator {
+    private long count;         // number of samples
+    private double weight;      // Σw
+    private double meanX;       // Σwx / Σw
+    private double meanY;       // Σwy / Σw
+    private double m2x;         // Σw(x - meanX)^2
+    private double m2y;         // Σw(y - meanY)^2
+    private double cxy;         // Σw(x - meanX)(y - meanY)
+
+    /**
+     * Adds a sample with weight 1
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     */
+    public void add(double x, double y){ add(x, y, 1); }
+
+    /**
+     * Adds a weighted sample
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     * @param w - the weight of the sample, has to be positive
+     */
+    public void add(double x, double y, double w){
+        if (!(w > 0)){ throw new IllegalArgumentException("Weight has to be positive"); }
+        count++;
+        weight += w;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        double f = w / weight;
+        meanX += f * dx;
+        meanY += f * dy;
+        m2x += w * dx * (x - meanX);
+        m2y += w * dy * (y - meanY);
+        cxy += w * dx * (y - meanY);
+    }
+
+    /**
+     * Removes a sample with weight 1 that was added before
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     */
+    public void remove(double x, double y){ remove(x, y, 1); }
+
+    /**
+     * Removes a weighted sample that was added before (used for windowed fits)
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     * @param w - the weight the sample was added with
+     */
+    public void remove(double x, double y, double w){
+        if (count == 0){ throw new IllegalStateException("No samples to remove"); }
+        if (count == 1){
+            clear();
+            return;
+        }
+        count--;
+        double remaining = weight - w;
+        double oldX = (weight * meanX - w * x) / remaining;
+        double oldY = (weight * meanY - w * y) / remaining;
+        m2x -= w * (x - oldX) * (x - meanX);
+        m2y -= w * (y - oldY) * (y - meanY);
+        cxy -= w * (x - oldX) * (y - meanY);
+        meanX = oldX;
+        meanY = oldY;
+        weight = remaining;
+    }
+
+    /**
+     * Adds all samples of another accumulator to this one, e.g. the result of a chunk that was fitted on another thread
+     *
+     * @param other - the accumulator to merge, is not changed
+     */
+    public void merge(RegressionAccumulator other){
+        if (other.count == 0){ return; }
+        if (count == 0){
+            count = other.count; weight = other.weight;
+            meanX = other.meanX; meanY = other.meanY;
+            m2x = other.m2x; m2y = other.m2y; cxy = other.cxy;
+            return;
+        }
+        double total = weight + other.weight;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        double f = weight * other.weight / total;
+        m2x += other.m2x + dx * dx * f;
+        m2y += other.m2y + dy * dy * f;
+        cxy += other.cxy + dx * dy * f;
+        meanX += dx * other.weight / total;
+        meanY += dy * other.weight / total;
+        weight = total;
+        count += other.count;
+    }
+
+    /**
+     * Removes all samples
+     */
+    public void clear(){
+        count = 0;
+        weight = meanX = meanY = m2x = m2y = cxy = 0;
+    }
+
+    /**
+     * @return The slope of the fitted line, NaN if there are fewer than 2 different x values
+     */
+    public double slope(){ return m2x > 0 ? cxy / m2x : Double.NaN; }
+
+    /**
+     * @return The intercept of the fitted line, NaN if there are fewer than 2 different x values
+     */
+    public double intercept(){ return meanY - slope() * meanX; }
+
+    /**
+     * @return The coefficient of determination (R^2) of the fitted line
+     */
+    public double rSquared(){ return m2x > 0 && m2y > 0 ? cxy * cxy / (m2x * m2y) : Double.NaN; }
+
+    public long getCount(){ return count; }
+    public double getWeight(){ return weight; }
+    public double getMeanX(){ return meanX; }
+    public double getMeanY(){ return meanY; }
+}
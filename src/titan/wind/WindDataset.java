@@ -0,0 +1,80 @@
+package titan.wind;
+
+/**
+ * Columnar wind measurements: one primitive array per column, all of the same length.
+ *
+ * Columns that were not selected when the data was read are null. The arrays are shared, not copied,
+ * so they must not be modified by whoever uses the dataset.
+ */
+public class WindDataset {
+    public enum Column { TIME, ALTITUDE, WIND_SPEED, WIND_ERROR }
+
+    private final int size;
+    private final long[] time;
+    private final double[] altitude;
+    private final double[] windSpeed;
+    private final double[] windError;
+
+    /**
+     * Constructs a dataset
+     *
+     * @param time - time of every measurement (ns since 1970-01-01T00:00Z), or null
+     * @param altitude - altitude of every measurement (km), or null
+     * @param windSpeed - measured wind speed (m/s), or null
+     * @param windError - error of the measured wind speed (m/s), or null
+     */
+    public WindDataset(long[] time, double[] altitude, double[] windSpeed, double[] windError){
+        int size = -1;
+        if (time != null){ size = time.length; }
+        for(double[] column : new double[][]{altitude, windSpeed, windError}){
+            if (column == null){ continue; }
+            if (size >= 0 && column.length != size){ throw new IllegalArgumentException("All columns need the same length"); }
+            size = column.length;
+        }
+        this.size = Math.max(size, 0);
+        this.time = time;
+        this.altitude = altitude;
+        this.windSpeed = windSpeed;
+        this.windError = windError;
+    }
+
+    /**
+     * @param column - the column to check
+     * @return True if and only if the column was read
+     */
+    public boolean has(Column column){ return column == Column.TIME ? time != null : get(column) != null; }
+
+    /**
+     * Accesses one of the double columns
+     *
+     * @param column - ALTITUDE, WIND_SPEED or WIND_ERROR
+     * @return The column, or null if it was not read
+     */
+    public double[] get(Column column){
+        switch(column){
+            case ALTITUDE: return altitude;
+            case WIND_SPEED: return windSpeed;
+            case WIND_ERROR: return windError;
+            default: throw new IllegalArgumentException("Column " + column + " does not hold doubles, use getTime()");
+        }
+    }
+
+    /**
+     * Accesses one of the double columns
+     *
+     * @param column - ALTITUDE, WIND_SPEED or WIND_ERROR
+     * @return The column
+     * @throws IllegalStateException if the column was not read
+     */
+    public double[] require(Column column){
+        double[] values = get(column);
+        if (values == null){ throw new IllegalStateException("Column " + column + " was not read"); }
+        return values;
+    }
+
+    public int size(){ return size; }
+    public long[] getTime(){ return time; }
+    public double[] getAltitude(){ return altitude; }
+    public double[] getWindSpeed(){ return windSpeed; }
+    public double[] getWindError(){ return windError; }
+}
@@ -0,0 +1,126 @@
+package titan.wind;
+
+import titan.fileIO.MappedWindDataReader;
+import titan.fileIO.WindDataReader;
+import titan.math.Polynomial;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Measures the cost of a single wind force evaluation (= 1 landing step) before and after caching the wind model,
+ * the cost of a lookup in the wind tables, of evaluating the controller's wind polynomial with Math.pow and with Horner's method
+ * and of reading the wind data file with WindDataReader (Scanner) and MappedWindDataReader.
+ * Must be run from the project root, so that the default wind data location resolves.
+ */
+public class WindExperiment {
+    public static void main(String[] args) throws Exception {
+        // Steps measured for the uncached version, which re-reads and refits the data on every step
+        int uncachedSteps = 50;
+
+        // Steps measured for the cached version
+        int cachedSteps = 10000000;
+
+        double altitude = 120;
+        double sink = 0;
+
+        // Warm up both versions so the measurements do not include JIT compilation
+        WindNoise noise = new WindNoise(42);
+        for(int i = 0; i < 5; i++){ sink += uncachedWindForce(altitude, noise); }
+        WindFunction wind = new WindFunction(WindModel.getDefault(), new WindNoise(42));
+        for(int i = 0; i < 100000; i++){ sink += wind.windForce(altitude + i % 100); }
+
+        long startTime = System.nanoTime();
+        for(int i = 0; i < uncachedSteps; i++){ sink += uncachedWindForce(altitude + i % 100, noise); }
+        double uncached = (double) (System.nanoTime() - startTime) / uncachedSteps;
+
+        startTime = System.nanoTime();
+        for(int i = 0; i < cachedSteps; i++){ sink += wind.windForce(altitude + i % 100); }
+        double cached = (double) (System.nanoTime() - startTime) / cachedSteps;
+
+        WindDataReader windData = new WindDataReader();
+        windData.read();
+        String[] versions = {"Table (linear)", "Table (cubic)", "Polynomial (Math.pow)", "Polynomial (Horner)"};
+        WindTable linear = WindTable.fromData(windData.getAltitude(), windData.getwindSpeed(), 1000, WindTable.Interpolation.LINEAR);
+        WindTable cubic = WindTable.fromData(windData.getAltitude(), windData.getwindSpeed(), 1000, WindTable.Interpolation.CUBIC);
+        Polynomial polynomial = new Polynomial(0.0773, -8.69, 8.69, -2.91, 0.482, -0.0443, 2.42E-03, -8.1E-05, 1.62E-06, -1.8E-08, 8.46E-11);
+        double[] lookups = new double[versions.length];
+        for(int run = 0; run < 2; run++){   // the first run is the warm-up
+            for(int v = 0; v < versions.length; v++){
+                startTime = System.nanoTime();
+                for(int i = 0; i < cachedSteps; i++){
+                    double alt = (i % 1440) * 0.1;
+                    switch(v){
+                        case 0: sink += linear.windSpeed(alt); break;
+                        case 1: sink += cubic.windSpeed(alt); break;
+                        case 2: sink += powPolynomial(alt); break;
+                        default: sink += polynomial.evaluate(alt);
+                    }
+                }
+                lookups[v] = (double) (System.nanoTime() - startTime) / cachedSteps;
+            }
+        }
+
+        int reads = 50;
+        double scannerRead = 0, mappedRead = 0;
+        for(int run = 0; run < 2; run++){   // the first run is the warm-up
+            startTime = System.nanoTime();
+            for(int i = 0; i < reads; i++){ new WindDataReader().read(); }
+            scannerRead = (double) (System.nanoTime() - startTime) / reads;
+
+            startTime = System.nanoTime();
+            for(int i = 0; i < reads; i++){ sink += new MappedWindDataReader().read().size(); }
+            mappedRead = (double) (System.nanoTime() - startTime) / reads;
+        }
+
+        System.out.printf(Locale.ROOT, "Re-read and refit per step: %.1f ns per step%n", uncached);
+        System.out.printf(Locale.ROOT, "Cached wind model:          %.1f ns per step%n", cached);
+        for(int v = 0; v < versions.length; v++){ System.out.printf(Locale.ROOT, "%-27s %.1f ns per lookup%n", versions[v] + ":", lookups[v]); }
+        System.out.printf(Locale.ROOT, "Read file (Scanner):        %.2f ms per read%n", scannerRead / 1e6);
+        System.out.printf(Locale.ROOT, "Read file (mapped):         %.2f ms per read%n", mappedRead / 1e6);
+        System.out.printf(Locale.ROOT, "Speed-up: %.0fx (checksum %e)%n", uncached / cached, sink);
+
+        /*
+         * Current file format/design:
+         * Version,   Nanoseconds per call
+         * Uncached,  t1
+         * Cached,    t2
+         * Table (linear), ...
+         */
+        String columnSeparator = ",";
+        String fileName = DateTimeFormatter.ofPattern("yyyy-MM-dd HH_mm_ss").format(LocalDateTime.now());
+        try(PrintWriter writer = new PrintWriter(new File("src/experiments/" + fileName + " wind.csv"))){
+            writer.println("Version" + columnSeparator + "Nanoseconds per call");
+            writer.println("Uncached" + columnSeparator + uncached);
+            writer.println("Cached" + columnSeparator + cached);
+            for(int v = 0; v < versions.length; v++){ writer.println(versions[v] + columnSeparator + lookups[v]); }
+            writer.println("Read file (Scanner)" + columnSeparator + scannerRead);
+            writer.println("Read file (mapped)" + columnSeparator + mappedRead);
+        }
+        catch(Exception e){ e.printStackTrace(); }
+    }
+
+    /**
+     * The wind force evaluation as it was done before the model was cached:
+     * read the data file, fit the regression and evaluate it, all for one step.
+     */
+    private static double uncachedWindForce(double altitude, WindNoise noise){
+        WindDataReader windData = new WindDataReader();
+        windData.read();
+        ArrayList<Double> aX = windData.getwindSpeed();
+        ArrayList<Double> aY = windData.getAltitude();
+        return WindModel.fit(aX, aY).windForce(altitude, noise.between(0.8, 1.2));
+    }
+
+    /**
+     * The controller's wind polynomial as it was evaluated before, with one call to Math.pow per term
+     */
+    private static double powPolynomial(double alt){
+        return (0.0773 + -8.69*alt + 8.69*Math.pow(alt,2) + -2.91*Math.pow(alt,3) + 0.482*Math.pow(alt,4) + -0.0443*Math.pow(alt,5) + 2.42E-03*Math.pow(alt,6)
+                + -8.1E-05*Math.pow(alt,7) + 1.62E-06*Math.pow(alt,8) + -1.8E-08*Math.pow(alt, 9) + 8.46E-11*Math.pow(alt,10));
+    }
+}
@@ -0,0 +1,116 @@
+package titan.wind;
+
+import interfaces.own.WindInterface;
+import titan.fileIO.MappedWindDataReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Immutable wind model fitted on the Huygens wind data (WindData.txt).
+ *
+ * The data file is read and the linear regression is fitted only once, after which the model answers
+ * windSpeed() and windForce() in constant time. As all fields are final the model can be shared between threads.
+ */
+public class WindModel implements WindInterface {
+    private static final double AIR_DENSITY = 1.92;     // air density of Titan (kg/m^3)
+    private static final double EXPOSED_AREA = 10;      // area of the landing module exposed to the wind (m^2)
+
+    private final double slope;
+    private final double intercept;
+
+    /**
+     * Constructs a wind model: wind speed = slope * altitude + intercept
+     *
+     * @param slope - the slope of the linear function
+     * @param intercept - the intercept of the linear function
+     */
+    public WindModel(double slope, double intercept){
+        this.slope = slope;
+        this.intercept = intercept;
+    }
+
+    /**
+     * Fits a wind model on measured data, in the same way WindFunction has always fitted it
+     *
+     * @param windSpeed - the measured wind speeds
+     * @param altitude - the altitudes the wind speeds were measured at
+     * @return The fitted wind model
+     */
+    public static WindModel fit(ArrayList<Double> windSpeed, ArrayList<Double> altitude){
+        if (windSpeed.isEmpty()){ throw new IllegalStateException("No wind data to fit the wind model on"); }
+        LinearRegression slr = new LinearRegression(windSpeed, altitude);
+        return new WindModel(slr.getSlope(), slr.getIntercept());
+    }
+
+    /**
+     * Fits a wind model on a wind dataset, in the same orientation as above
+     *
+     * @param data - the dataset, needs the WIND_SPEED and ALTITUDE columns
+     * @return The fitted wind model
+     */
+    public static WindModel fit(WindDataset data){
+        if (data.size() == 0){ throw new IllegalStateException("No wind data to fit the wind model on"); }
+        LinearRegression slr = new LinearRegression(data, WindDataset.Column.WIND_SPEED, WindDataset.Column.ALTITUDE);
+        return new WindModel(slr.getSlope(), slr.getIntercept());
+    }
+
+    /**
+     * Fits a wind model on samples that were streamed into an accumulator (x = wind speed, y = altitude, as above)
+     *
+     * @param accumulator - the accumulator holding the samples
+     * @return The fitted wind model
+     */
+    public static WindModel fit(RegressionAccumulator accumulator){
+        if (accumulator.getCount() == 0){ throw new IllegalStateException("No wind data to fit the wind model on"); }
+        return new WindModel(accumulator.slope(), accumulator.intercept());
+    }
+
+    /**
+     * Accesses the model fitted on the default wind data file. The file is read on first access only.
+     *
+     * @return The shared default wind model
+     */
+    public static WindModel getDefault(){ return DefaultHolder.MODEL; }
+
+    /**
+     * Lazily loads the default model; the JVM guarantees this happens once and is visible to all threads
+     */
+    private static class DefaultHolder {
+        private static final WindModel MODEL = load();
+
+        private static WindModel load(){
+            try{
+                return fit(new MappedWindDataReader().read(MappedWindDataReader.DEFAULT_LOCATION,
+                        WindDataset.Column.ALTITUDE, WindDataset.Column.WIND_SPEED));
+            }
+            catch(IOException e){ throw new IllegalStateException("Wind data could not be read | Location: " + MappedWindDataReader.DEFAULT_LOCATION, e); }
+        }
+    }
+
+    public double getSlope(){ return slope; }
+    public double getIntercept(){ return intercept; }
+
+    /**
+     * @param altitude - the altitude of the rocket
+     * @return The wind speed at this altitude according to the model
+     */
+    public double windSpeed(double altitude){ return slope * altitude + intercept; }
+
+    /**
+     * The Drag Equation F = 1/2 * P * v^2 * A, where the wind speed v is scaled with a random factor
+     *
+     * @param altitude - the altitude of the rocket
+     * @param factor - the random factor the wind speed is multiplied with
+     * @return The resulting force based on the wind speed (To be applied only on the X axis)
+     */
+    public double windForce(double altitude, double factor){ return dragForce(factor * windSpeed(altitude)); }
+
+    /**
+     * The Drag Equation F = 1/2 * P * v^2 * A for the landing module on Titan
+     *
+     * @param windSpeed - the wind speed (m/s)
+     * @return The resulting force (N)
+     */
+    public static double dragForce(double windSpeed){ return 0.5 * AIR_DENSITY * windSpeed * windSpeed * EXPOSED_AREA; }
+}
@@ -0,0 +1,59 @@
+package titan.wind;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seedable source of the random numbers that make the wind stochastic, backed by a SplittableRandom stream.
+ *
+ * Every simulation gets its own instance, so parallel landings do not share (and contend on) the global
+ * generator behind Math.random(), and a landing can be repeated exactly by reusing its seed.
+ * For many simulations, create one root from a seed and split() an independent stream off it per simulation:
+ * the whole set of simulations is then reproducible from that single seed.
+ * An instance is not meant to be shared between threads.
+ */
+public class WindNoise {
+    private final SplittableRandom random;
+
+    /**
+     * Constructs an unseeded noise source, every instance produces a different sequence
+     */
+    public WindNoise(){ random = new SplittableRandom(); }
+
+    /**
+     * Constructs a noise source that always produces the same sequence for the same seed
+     *
+     * @param seed - the seed of the sequence
+     */
+    public WindNoise(long seed){ random = new SplittableRandom(seed); }
+
+    private WindNoise(SplittableRandom random){ this.random = random; }
+
+    /**
+     * Splits off a new, statistically independent noise source. Splitting a seeded source the same number of times
+     * always gives the same streams, so split in a fixed order (e.g. on one thread, before starting the simulations).
+     *
+     * @return The new noise source
+     */
+    public WindNoise split(){ return new WindNoise(random.split()); }
+
+    /**
+     * Same distribution as the getRandomDoubleBetweenRange methods it replaces: uniform on [min, max + 1)
+     *
+     * @param min - the lower bound
+     * @param max - the upper bound (see above)
+     * @return The next random double of the sequence
+     */
+    public double between(double min, double max){ return random.nextDouble() * ((max - min) + 1) + min; }
+
+    /**
+     * @return The next random double of the sequence, uniform on [0, 1)
+     */
+    public double nextDouble(){ return random.nextDouble(); }
+
+    /**
+     * @param min - the lower bound (inclusive)
+     * @param max - the upper bound (inclusive)
+     * @return The next random integer of the sequence
+     */
+    public int intBetween(int min, int max){ return (int) (random.nextDouble() * ((max - min) + 1)) + min; }
+}
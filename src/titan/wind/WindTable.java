@@ -0,0 +1,174 @@
+package titan.wind;
+
+import interfaces.own.WindInterface;
+
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Wind profile stored as wind speeds on equally spaced altitude nodes.
+ *
+ * The table is built once, either from measured data or from an analytic profile, after which a lookup
+ * costs one multiplication to find the bin plus a linear or cubic (Catmull-Rom) interpolation inside the bin.
+ * Altitudes outside the table are clamped to the first or last node.
+ * All fields are final, so one table can be shared by all simulations and threads.
+ */
+public class WindTable implements WindInterface {
+    public enum Interpolation { LINEAR, CUBIC }
+
+    private final double min;
+    private final double step;
+    private final double inverseStep;
+    private final double[] speed;
+    private final Interpolation interpolation;
+
+    /**
+     * Constructs a table from the wind speeds on its nodes
+     *
+     * @param min - the altitude of the first node
+     * @param max - the altitude of the last node
+     * @param speed - the wind speed on every node, at least 2
+     * @param interpolation - how to interpolate between the nodes
+     */
+    public WindTable(double min, double max, double[] speed, Interpolation interpolation){
+        if (speed.length < 2){ throw new IllegalArgumentException("A wind table needs at least 2 nodes"); }
+        if (!(max > min)){ throw new IllegalArgumentException("Maximum altitude has to be above the minimum altitude"); }
+        this.min = min;
+        this.step = (max - min) / (speed.length - 1);
+        this.inverseStep = 1 / step;
+        this.speed = speed.clone();
+        this.interpolation = interpolation;
+    }
+
+    /**
+     * Builds a table by sampling a wind profile, e.g. a fitted polynomial, on every node
+     *
+     * @param profile - the wind speed as a function of the altitude
+     * @param min - the altitude of the first node
+     * @param max - the altitude of the last node
+     * @param nodes - the number of nodes
+     * @param interpolation - how to interpolate between the nodes
+     * @return The table
+     */
+    public static WindTable fromFunction(DoubleUnaryOperator profile, double min, double max, int nodes, Interpolation interpolation){
+        if (nodes < 2){ throw new IllegalArgumentException("A wind table needs at least 2 nodes"); }
+        double[] speed = new double[nodes];
+        double step = (max - min) / (nodes - 1);
+        for(int i = 0; i < nodes; i++){ speed[i] = profile.applyAsDouble(min + i * step); }
+        return new WindTable(min, max, speed, interpolation);
+    }
+
+    /**
+     * Builds a table from measured data. Every sample is added to the node closest to its altitude and every node
+     * holds the average of its samples. Nodes without samples are filled in linearly from their neighbours.
+     *
+     * @param altitude - the altitudes the wind speeds were measured at
+     * @param windSpeed - the measured wind speeds
+     * @param min - the altitude of the first node
+     * @param max - the altitude of the last node
+     * @param nodes - the number of nodes
+     * @param interpolation - how to interpolate between the nodes
+     * @return The table
+     */
+    public static WindTable fromData(double[] altitude, double[] windSpeed, double min, double max, int nodes, Interpolation interpolation){
+        if (altitude.length != windSpeed.length){ throw new IllegalArgumentException("Every altitude needs exactly 1 wind speed"); }
+        if (nodes < 2){ throw new IllegalArgumentException("A wind table needs at least 2 nodes"); }
+
+        double[] sum = new double[nodes];
+        int[] count = new int[nodes];
+        double inverseStep = (nodes - 1) / (max - min);
+        for(int i = 0; i < altitude.length; i++){
+            long node = Math.round((altitude[i] - min) * inverseStep);
+            if (node < 0 || node >= nodes){ continue; }
+            sum[(int) node] += windSpeed[i];
+            count[(int) node]++;
+        }
+
+        int previous = -1;
+        for(int i = 0; i < nodes; i++){
+            if (count[i] == 0){ continue; }
+            sum[i] /= count[i];
+            if (previous < 0){
+                // Nodes below the first sample get the first sample's speed
+                for(int j = 0; j < i; j++){ sum[j] = sum[i]; }
+            }
+            else {
+                for(int j = previous + 1; j < i; j++){ sum[j] = sum[previous] + (sum[i] - sum[previous]) * (j - previous) / (i - previous); }
+            }
+            previous = i;
+        }
+        if (previous < 0){ throw new IllegalArgumentException("No wind data inside the altitude range of the table"); }
+        for(int j = previous + 1; j < nodes; j++){ sum[j] = sum[previous]; }
+
+        return new WindTable(min, max, sum, interpolation);
+    }
+
+    /**
+     * Builds a table from a wind dataset that covers exactly the measured altitudes
+     *
+     * @param data - the dataset, needs the ALTITUDE and WIND_SPEED columns
+     * @param nodes - the number of nodes
+     * @param interpolation - how to interpolate between the nodes
+     * @return The table
+     */
+    public static WindTable fromData(WindDataset data, int nodes, Interpolation interpolation){
+        double[] altitude = data.require(WindDataset.Column.ALTITUDE);
+        if (altitude.length == 0){ throw new IllegalArgumentException("No wind data to build the wind table from"); }
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for(double a : altitude){
+            min = Math.min(min, a);
+            max = Math.max(max, a);
+        }
+        return fromData(altitude, data.require(WindDataset.Column.WIND_SPEED), min, max, nodes, interpolation);
+    }
+
+    /**
+     * Builds a table from measured data that covers exactly the measured altitudes
+     *
+     * @param altitude - the altitudes the wind speeds were measured at
+     * @param windSpeed - the measured wind speeds
+     * @param nodes - the number of nodes
+     * @param interpolation - how to interpolate between the nodes
+     * @return The table
+     */
+    public static WindTable fromData(List<Double> altitude, List<Double> windSpeed, int nodes, Interpolation interpolation){
+        double[] a = new double[altitude.size()];
+        double[] w = new double[windSpeed.size()];
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for(int i = 0; i < a.length; i++){
+            a[i] = altitude.get(i);
+            min = Math.min(min, a[i]);
+            max = Math.max(max, a[i]);
+        }
+        for(int i = 0; i < w.length; i++){ w[i] = windSpeed.get(i); }
+        if (a.length == 0){ throw new IllegalArgumentException("No wind data to build the wind table from"); }
+        return fromData(a, w, min, max, nodes, interpolation);
+    }
+
+    /**
+     * @param altitude - the altitude, in the units the table was built with
+     * @return The interpolated wind speed at this altitude (m/s)
+     */
+    public double windSpeed(double altitude){
+        int last = speed.length - 1;
+        double u = (altitude - min) * inverseStep;
+        if (!(u > 0)){ return speed[0]; }
+        if (u >= last){ return speed[last]; }
+
+        int i = (int) u;
+        double t = u - i;
+        double p1 = speed[i];
+        double p2 = speed[i + 1];
+        if (interpolation == Interpolation.LINEAR){ return p1 + t * (p2 - p1); }
+
+        // Catmull-Rom spline through p1 and p2, the end nodes are repeated at the edges of the table
+        double p0 = i > 0 ? speed[i - 1] : p1;
+        double p3 = i + 2 <= last ? speed[i + 2] : p2;
+        return p1 + t * (0.5 * (p2 - p0) + t * ((p0 - 2.5 * p1 + 2 * p2 - 0.5 * p3) + t * (1.5 * (p1 - p2) + 0.5 * (p3 - p0))));
+    }
+
+    public double getMin(){ return min; }
+    public double getMax(){ return min + step * (speed.length - 1); }
+    public int getNodes(){ return speed.length; }
+    public Interpolation getInterpolation(){ return interpolation; }
+}
@@ -0,0 +1,80 @@
+package titan.wind;
+
+/**
+ * Linear regression over the most recent samples of a stream, e.g. the wind measured during the last minutes of a descent.
+ *
+ * The samples of the window are kept in primitive ring buffers; adding a sample to a full window
+ * removes the oldest sample from the accumulator, so every update and every fit is O(1).
+ */
+public class WindowedRegression {
+    // Removing samples slowly accumulates round-off, so the accumulator is rebuilt from the window every this many removals
+    private static final int REBUILD_INTERVAL = 1 << 16;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] w;
+    private final RegressionAccumulator accumulator = new RegressionAccumulator();
+    private int next;
+    private int size;
+    private int removals;
+
+    /**
+     * Constructs an empty window
+     *
+     * @param capacity - the maximum number of samples in the window
+     */
+    public WindowedRegression(int capacity){
+        if (capacity < 1){ throw new IllegalArgumentException("Window has to hold at least 1 sample"); }
+        x = new double[capacity];
+        y = new double[capacity];
+        w = new double[capacity];
+    }
+
+    /**
+     * Adds a sample with weight 1, removing the oldest sample if the window is full
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     */
+    public void add(double x, double y){ add(x, y, 1); }
+
+    /**
+     * Adds a weighted sample, removing the oldest sample if the window is full
+     *
+     * @param x - the independent value
+     * @param y - the dependent value
+     * @param w - the weight of the sample, has to be positive
+     */
+    public void add(double x, double y, double w){
+        if (size == this.x.length){
+            accumulator.remove(this.x[next], this.y[next], this.w[next]);
+            removals++;
+        }
+        else { size++; }
+        this.x[next] = x;
+        this.y[next] = y;
+        this.w[next] = w;
+        next = (next + 1) % this.x.length;
+        accumulator.add(x, y, w);
+
+        if (removals >= REBUILD_INTERVAL){ rebuild(); }
+    }
+
+    /**
+     * Refits the accumulator on the samples in the window
+     */
+    private void rebuild(){
+        accumulator.clear();
+        int oldest = (next - size + x.length) % x.length;
+        for(int i = 0; i < size; i++){
+            int j = (oldest + i) % x.length;
+            accumulator.add(x[j], y[j], w[j]);
+        }
+        removals = 0;
+    }
+
+    public double slope(){ return accumulator.slope(); }
+    public double intercept(){ return accumulator.intercept(); }
+    public int size(){ return size; }
+    public int capacity(){ return x.length; }
+}